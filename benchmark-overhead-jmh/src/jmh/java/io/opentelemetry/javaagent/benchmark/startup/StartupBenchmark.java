@@ -0,0 +1,155 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.startup;
+
+import io.opentelemetry.javaagent.benchmark.servlet.app.HelloWorldApplication;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time from launching a JVM with the agent attached until the first request to the
+ * hello world application succeeds, with the type matcher cache disabled, empty (cold) or populated
+ * by a previous run (warm). The application is started in a new JVM for every measurement, the
+ * agent jar is the one the benchmark JVM itself runs with.
+ */
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  private static final int PORT = 8090;
+
+  @Param({"DISABLED", "COLD", "WARM"})
+  CacheState cacheState;
+
+  private Path cacheDirectory;
+  private Process process;
+
+  @Setup(Level.Trial)
+  public void setupTrial() throws Exception {
+    cacheDirectory = Files.createTempDirectory("type-matcher-cache");
+    if (cacheState == CacheState.WARM) {
+      // the cache is written when the application shuts down
+      startApplication().destroy();
+      process.waitFor();
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() throws IOException {
+    if (cacheState == CacheState.COLD) {
+      deleteCacheFiles();
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDownInvocation() throws InterruptedException {
+    process.destroy();
+    process.waitFor();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTrial() throws IOException {
+    deleteCacheFiles();
+    Files.delete(cacheDirectory);
+  }
+
+  @Benchmark
+  public Process timeToFirstRequest() throws Exception {
+    return startApplication();
+  }
+
+  private Process startApplication() throws Exception {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add(agentArgument());
+    command.add("-Dotel.traces.exporter=none");
+    command.add("-Dotel.metrics.exporter=none");
+    command.add("-Dotel.logs.exporter=none");
+    if (cacheState != CacheState.DISABLED) {
+      command.add("-Dotel.javaagent.experimental.type-matcher-cache.directory=" + cacheDirectory);
+    }
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(HelloWorldApplication.class.getName());
+    command.add("--server.port=" + PORT);
+    process = new ProcessBuilder(command).redirectErrorStream(true).inheritIO().start();
+    awaitFirstRequest();
+    return process;
+  }
+
+  private void awaitFirstRequest() throws InterruptedException {
+    URL url;
+    try {
+      url = new URL("http://localhost:" + PORT);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    while (process.isAlive()) {
+      try {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try (InputStream ignored = connection.getInputStream()) {
+          return;
+        } finally {
+          connection.disconnect();
+        }
+      } catch (IOException e) {
+        // not started yet
+        Thread.sleep(10);
+      }
+    }
+    throw new IllegalStateException("application exited with " + process.exitValue());
+  }
+
+  private static String agentArgument() {
+    for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      if (argument.startsWith("-javaagent:")) {
+        return argument;
+      }
+    }
+    throw new IllegalStateException("the benchmark must be run with the agent attached");
+  }
+
+  private void deleteCacheFiles() throws IOException {
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  public enum CacheState {
+    DISABLED,
+    COLD,
+    WARM
+  }
+}
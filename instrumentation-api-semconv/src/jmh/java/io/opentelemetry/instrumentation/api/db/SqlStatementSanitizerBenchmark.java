@@ -0,0 +1,129 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SqlStatementSanitizer} under two workloads: a hot set of statements that fits in
+ * the cache, and a long tail of ORM generated statements (with multi-KB {@code IN (...)} lists) that
+ * does not. Change the cache properties passed to the forked JVM to compare cache sizes.
+ */
+@Fork(
+    value = 3,
+    jvmArgsAppend = {
+      "-Dotel.instrumentation.common.db-statement-sanitizer.cache.size=1000",
+      "-Dotel.instrumentation.common.db-statement-sanitizer.cache.max-characters=1000000"
+    })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Threads(4)
+public class SqlStatementSanitizerBenchmark {
+
+  private static final SqlStatementSanitizer SANITIZER = SqlStatementSanitizer.create(true);
+
+  @State(Scope.Benchmark)
+  public static class Workload {
+
+    @Param({"HOT_SET", "LONG_TAIL"})
+    Distribution distribution;
+
+    String[] statements;
+    int[] sequence;
+
+    @Setup
+    public void setup() {
+      Random random = new Random(42);
+      statements = new String[distribution.distinctStatements];
+      for (int i = 0; i < statements.length; i++) {
+        statements[i] = generateStatement(random, i);
+      }
+      sequence = new int[1 << 16];
+      for (int i = 0; i < sequence.length; i++) {
+        sequence[i] = distribution.next(random, statements.length);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int position;
+
+    int next(int length) {
+      position = (position + 1) & (length - 1);
+      return position;
+    }
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitize(Workload workload, Cursor cursor) {
+    String statement = workload.statements[workload.sequence[cursor.next(workload.sequence.length)]];
+    return SANITIZER.sanitize(statement);
+  }
+
+  static String generateStatement(Random random, int index) {
+    StringBuilder sb = new StringBuilder("SELECT t.id, t.name, t.status FROM table_");
+    sb.append(index % 50).append(" t WHERE t.tenant_id = ").append(random.nextInt(1000));
+    // every 4th statement is an ORM generated IN (...) list, a few KB long
+    if (index % 4 == 0) {
+      sb.append(" AND t.id IN (");
+      int elements = 200 + random.nextInt(800);
+      for (int i = 0; i < elements; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(random.nextInt(1_000_000));
+      }
+      sb.append(')');
+    }
+    sb.append(" AND t.column_").append(index).append(" = 'value'");
+    return sb.toString();
+  }
+
+  public enum Distribution {
+    /** 200 statements accessed uniformly, all of them fit in the cache. */
+    HOT_SET(200) {
+      @Override
+      int next(Random random, int distinctStatements) {
+        return random.nextInt(distinctStatements);
+      }
+    },
+    /**
+     * 20k statements with a zipf-like access pattern: a few statements are very frequent, most of
+     * them are seen only rarely.
+     */
+    LONG_TAIL(20_000) {
+      @Override
+      int next(Random random, int distinctStatements) {
+        double u = random.nextDouble();
+        return (int) (distinctStatements * u * u * u);
+      }
+    };
+
+    final int distinctStatements;
+
+    Distribution(int distinctStatements) {
+      this.distinctStatements = distinctStatements;
+    }
+
+    abstract int next(Random random, int distinctStatements);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.semconv.SemanticAttributes;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures recording the duration of a single HTTP request with {@link HttpServerMetrics} and
+ * {@link HttpClientMetrics}, backed by the SDK. Compare {@code gc.alloc.rate.norm} reported by the
+ * {@code gc} profiler (enabled by default), the bytes allocated per recorded request. Run it again
+ * with {@code -Dotel.instrumentation.http.metrics.experimental.advised-attributes-only=true} in the
+ * forked JVM to measure the attributes projected onto the advised keys. The {@code MANY_ROUTES}
+ * distribution uses more routes than the attributes cache holds.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Threads(4)
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
+public class HttpMetricsBenchmark {
+
+  public enum Distribution {
+    FEW_ROUTES(16),
+    MANY_ROUTES(4096);
+
+    final int routes;
+
+    Distribution(int routes) {
+      this.routes = routes;
+    }
+  }
+
+  @Param({"FEW_ROUTES", "MANY_ROUTES"})
+  Distribution distribution;
+
+  private SdkMeterProvider meterProvider;
+  private OperationListener serverMetrics;
+  private OperationListener clientMetrics;
+  private Attributes[] serverStartAttributes;
+  private Attributes[] serverEndAttributes;
+  private Attributes clientStartAttributes;
+  private Attributes clientEndAttributes;
+
+  @Setup
+  public void setup() {
+    meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(InMemoryMetricReader.create()).build();
+    serverMetrics = HttpServerMetrics.get().create(meterProvider.get("benchmark"));
+    clientMetrics = HttpClientMetrics.get().create(meterProvider.get("benchmark"));
+
+    serverStartAttributes = new Attributes[distribution.routes];
+    serverEndAttributes = new Attributes[distribution.routes];
+    for (int i = 0; i < distribution.routes; i++) {
+      serverStartAttributes[i] =
+          Attributes.builder()
+              .put(SemanticAttributes.HTTP_METHOD, "GET")
+              .put(SemanticAttributes.HTTP_SCHEME, "https")
+              .put(SemanticAttributes.HTTP_TARGET, "/api/items/" + i + "?q=" + i)
+              .put(SemanticAttributes.NET_HOST_NAME, "localhost")
+              .put(SemanticAttributes.NET_HOST_PORT, 8080)
+              .put(SemanticAttributes.NET_PROTOCOL_NAME, "http")
+              .put(SemanticAttributes.NET_PROTOCOL_VERSION, "1.1")
+              .put(SemanticAttributes.NET_SOCK_PEER_ADDR, "10.0.0.1")
+              .put(SemanticAttributes.NET_SOCK_PEER_PORT, 51234)
+              .put(SemanticAttributes.USER_AGENT_ORIGINAL, "benchmark")
+              .build();
+      serverEndAttributes[i] =
+          Attributes.builder()
+              .put(SemanticAttributes.HTTP_ROUTE, "/api/items" + i + "/{id}")
+              .put(SemanticAttributes.HTTP_STATUS_CODE, 200)
+              .put(SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH, 1024)
+              .build();
+    }
+
+    clientStartAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_METHOD, "GET")
+            .put(SemanticAttributes.HTTP_URL, "https://example.com/api/items/1")
+            .put(SemanticAttributes.NET_PEER_NAME, "example.com")
+            .put(SemanticAttributes.NET_PEER_PORT, 443)
+            .put(SemanticAttributes.NET_PROTOCOL_NAME, "http")
+            .put(SemanticAttributes.NET_PROTOCOL_VERSION, "1.1")
+            .build();
+    clientEndAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_STATUS_CODE, 200)
+            .put(SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH, 1024)
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    meterProvider.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int position;
+
+    int next(int length) {
+      position = (position + 1) & (length - 1);
+      return position;
+    }
+  }
+
+  @Benchmark
+  public Context recordServerRequest(Cursor cursor) {
+    int route = cursor.next(distribution.routes);
+    Context context = serverMetrics.onStart(Context.root(), serverStartAttributes[route], 0);
+    serverMetrics.onEnd(context, serverEndAttributes[route], 1_000_000);
+    return context;
+  }
+
+  @Benchmark
+  public Context recordClientRequest() {
+    Context context = clientMetrics.onStart(Context.root(), clientStartAttributes, 0);
+    clientMetrics.onEnd(context, clientEndAttributes, 1_000_000);
+    return context;
+  }
+}
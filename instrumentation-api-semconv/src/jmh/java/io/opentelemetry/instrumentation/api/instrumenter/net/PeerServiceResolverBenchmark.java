@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.net;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves peer services with a mapping of thousands of hosts, ports, paths and wildcard domains,
+ * the way a service mesh is mapped.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class PeerServiceResolverBenchmark {
+
+  private static final int SERVICES = 1000;
+  private static final Supplier<String> PATH = () -> "/api/v2/users";
+
+  private PeerServiceResolver resolver;
+
+  @Setup
+  public void setup() {
+    Map<String, String> mapping = new HashMap<>();
+    for (int i = 0; i < SERVICES; i++) {
+      mapping.put("service-" + i + ".mesh.local", "service-" + i);
+      mapping.put("service-" + i + ".mesh.local:8443", "service-" + i + "-tls");
+      mapping.put("service-" + i + ".mesh.local:8080/api", "service-" + i + "-api");
+      mapping.put("service-" + i + ".mesh.local:8080/api/v2", "service-" + i + "-api-v2");
+      mapping.put("*.zone-" + i + ".mesh.local", "zone-" + i);
+    }
+    resolver = PeerServiceResolver.create(mapping);
+  }
+
+  @Benchmark
+  public String exactHost() {
+    return resolver.resolveService("service-500.mesh.local", 8443, null);
+  }
+
+  @Benchmark
+  public String pathPrefix() {
+    return resolver.resolveService("service-500.mesh.local", 8080, PATH);
+  }
+
+  @Benchmark
+  public String wildcardHost() {
+    return resolver.resolveService("pod-1.zone-500.mesh.local", 8080, PATH);
+  }
+
+  @Benchmark
+  public String unknownHost() {
+    return resolver.resolveService("example.com", 443, PATH);
+  }
+}
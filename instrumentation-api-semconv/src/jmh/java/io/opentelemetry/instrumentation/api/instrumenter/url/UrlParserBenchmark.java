@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.url;
+
+import io.opentelemetry.instrumentation.api.instrumenter.url.internal.UrlComponents;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Extracts the host, port and path of client request URLs, with query strings of a typical tracked
+ * link and of a search request carrying a redirect URL and an encoded filter.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class UrlParserBenchmark {
+
+  @Param({"short", "tracking", "search"})
+  public String query;
+
+  private String url;
+
+  @Setup
+  public void setup() {
+    StringBuilder sb = new StringBuilder("https://api.example.com:8443/v2/catalog/items/search");
+    if (query.equals("tracking")) {
+      sb.append("?utm_source=newsletter&utm_medium=email&utm_campaign=spring_sale_2023")
+          .append("&utm_content=hero_banner&utm_term=running+shoes")
+          .append("&gclid=EAIaIQobChMI5vK7mM3s_wIVh-7tCh0Q3gTxEAAYASAAEgK8hvD_BwE");
+    } else if (query.equals("search")) {
+      sb.append("?redirect_uri=https%3A%2F%2Fwww.example.com%2Fcallback%2Fsearch")
+          .append("&continue=/account/orders/history&page=3&size=50&sort=price,desc");
+      for (int i = 0; i < 40; i++) {
+        sb.append("&filter%5B").append(i).append("%5D=category%3Dshoes%2Fsize%3D").append(i);
+      }
+    } else {
+      sb.append("?page=1");
+    }
+    sb.append("#results");
+    url = sb.toString();
+  }
+
+  @Benchmark
+  public void urlParser(Blackhole blackhole) {
+    blackhole.consume(UrlParser.getHost(url));
+    blackhole.consume(UrlParser.getPort(url));
+    blackhole.consume(UrlParser.getPath(url));
+  }
+
+  @Benchmark
+  public void urlComponents(Blackhole blackhole) {
+    UrlComponents urlComponents = UrlComponents.parse(url);
+    blackhole.consume(urlComponents.getHost());
+    blackhole.consume(urlComponents.getPort());
+    blackhole.consume(urlComponents.getPath());
+  }
+
+  @Benchmark
+  public String urlQuery() {
+    return UrlComponents.parse(url).getQuery();
+  }
+}
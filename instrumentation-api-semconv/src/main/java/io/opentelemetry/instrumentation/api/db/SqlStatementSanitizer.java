@@ -8,8 +8,11 @@ package io.opentelemetry.instrumentation.api.db;
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.db.internal.SqlStatementSanitizerMetrics;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.EntryWeigher;
 import javax.annotation.Nullable;
 
 /**
@@ -19,8 +22,35 @@ import javax.annotation.Nullable;
 public final class SqlStatementSanitizer {
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
+  // maximum number of cached statements
+  private static final int CACHE_SIZE =
+      Math.max(
+          1,
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.common.db-statement-sanitizer.cache.size", 1000));
+  // maximum number of characters (original and sanitized statements) held by the cache
+  private static final long CACHE_MAX_CHARACTERS =
+      Math.max(
+          CACHE_SIZE,
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.common.db-statement-sanitizer.cache.max-characters",
+              1_000_000));
+  // when positive, statements are sanitized in the bounded scan mode: lists of literals are
+  // collapsed and scanning stops after this many characters once the operation and the table are
+  // known, see AutoSqlSanitizer
+  private static final int MAX_SCAN_LENGTH =
+      ConfigPropertiesUtil.getInt(
+          "otel.instrumentation.common.db-statement-sanitizer.max-scan-length", 0);
+  // in the bounded scan mode, statements longer than this are sanitized without being cached: a
+  // single one of them would evict a large part of the cache, while sanitizing it again is cheap
+  private static final long MAX_CACHED_STATEMENT_LENGTH =
+      MAX_SCAN_LENGTH > 0 ? CACHE_MAX_CHARACTERS / 16 : Long.MAX_VALUE;
+
   private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.bounded(1000);
+      Cache.weighted(
+          CACHE_SIZE,
+          new CacheWeigher(CACHE_SIZE, CACHE_MAX_CHARACTERS),
+          (key, value) -> SqlStatementSanitizerMetrics.recordEviction());
 
   public static SqlStatementSanitizer create(boolean statementSanitizationEnabled) {
     return new SqlStatementSanitizer(statementSanitizationEnabled);
@@ -40,11 +70,18 @@ public final class SqlStatementSanitizer {
     if (!statementSanitizationEnabled || statement == null) {
       return SqlStatementInfo.create(statement, null, null);
     }
+    SqlStatementSanitizerMetrics.recordLookup();
+    if (statement.length() > MAX_CACHED_STATEMENT_LENGTH) {
+      supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
+      SqlStatementSanitizerMetrics.recordMiss();
+      return AutoSqlSanitizer.sanitize(statement, dialect, MAX_SCAN_LENGTH);
+    }
     return sqlToStatementInfoCache.computeIfAbsent(
         CacheKey.create(statement, dialect),
         k -> {
           supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
-          return AutoSqlSanitizer.sanitize(statement, dialect);
+          SqlStatementSanitizerMetrics.recordMiss();
+          return AutoSqlSanitizer.sanitize(statement, dialect, MAX_SCAN_LENGTH);
         });
   }
 
@@ -59,4 +96,28 @@ public final class SqlStatementSanitizer {
 
     abstract SqlDialect getDialect();
   }
+
+  /**
+   * Bounds both the number of entries and the total number of characters held by the cache: an
+   * entry weighs one unit per started {@code maxCharacters / size} characters of the original and
+   * sanitized statement, and at least one unit.
+   */
+  // visible for testing
+  static final class CacheWeigher implements EntryWeigher<CacheKey, SqlStatementInfo> {
+
+    private final long charactersPerUnit;
+
+    CacheWeigher(int size, long maxCharacters) {
+      this.charactersPerUnit = Math.max(1, maxCharacters / size);
+    }
+
+    @Override
+    public int weightOf(CacheKey key, SqlStatementInfo value) {
+      String sanitized = value.getFullStatement();
+      long characters =
+          key.getStatement().length() + (sanitized == null ? 0 : (long) sanitized.length());
+      long units = (characters + charactersPerUnit - 1) / charactersPerUnit;
+      return (int) Math.min(Integer.MAX_VALUE, Math.max(1, units));
+    }
+  }
 }
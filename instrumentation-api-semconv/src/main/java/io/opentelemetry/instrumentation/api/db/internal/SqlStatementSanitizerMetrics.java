@@ -0,0 +1,61 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db.internal;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the cache used by {@link io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer},
+ * which can be exported as metrics with {@link #registerObservers(OpenTelemetry)}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class SqlStatementSanitizerMetrics {
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.sql-statement-sanitizer";
+
+  // hits are not counted separately, so that a hit does not need to be told apart from a miss
+  private static final LongAdder lookups = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+  private static final LongAdder evictions = new LongAdder();
+
+  public static void recordLookup() {
+    lookups.increment();
+  }
+
+  public static void recordMiss() {
+    misses.increment();
+  }
+
+  public static void recordEviction() {
+    evictions.increment();
+  }
+
+  /** Registers observable counters reporting the sanitizer cache statistics. */
+  public static void registerObservers(OpenTelemetry openTelemetry) {
+    Meter meter = openTelemetry.getMeter(INSTRUMENTATION_NAME);
+    meter
+        .counterBuilder("otel.sql_statement_sanitizer.cache.lookups")
+        .setUnit("{lookups}")
+        .setDescription("Number of SQL statements looked up in the cache.")
+        .buildWithCallback(measurement -> measurement.record(lookups.sum()));
+    meter
+        .counterBuilder("otel.sql_statement_sanitizer.cache.misses")
+        .setUnit("{lookups}")
+        .setDescription("Number of SQL statements that had to be sanitized.")
+        .buildWithCallback(measurement -> measurement.record(misses.sum()));
+    meter
+        .counterBuilder("otel.sql_statement_sanitizer.cache.evictions")
+        .setUnit("{entries}")
+        .setDescription("Number of sanitized SQL statements evicted from the cache.")
+        .buildWithCallback(measurement -> measurement.record(evictions.sum()));
+  }
+
+  private SqlStatementSanitizerMetrics() {}
+}
@@ -97,7 +97,10 @@ public abstract class DbClientSpanNameExtractor<REQUEST> implements SpanNameExtr
     @Override
     public String extract(REQUEST request) {
       String dbName = getter.getName(request);
-      SqlStatementInfo sanitizedStatement = sanitizer.sanitize(getter.getRawStatement(request));
+      SqlStatementInfo sanitizedStatement = getter.getSanitizedStatement(request);
+      if (sanitizedStatement == null) {
+        sanitizedStatement = sanitizer.sanitize(getter.getRawStatement(request));
+      }
       return computeSpanName(dbName, sanitizedStatement.getOperation(), sanitizedStatement.getMainIdentifier());
     }
   }
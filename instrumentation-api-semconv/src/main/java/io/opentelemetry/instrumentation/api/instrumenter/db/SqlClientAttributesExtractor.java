@@ -48,21 +48,23 @@ public final class SqlClientAttributesExtractor<REQUEST, RESPONSE>
 
   private final AttributeKey<String> dbTableAttribute;
   private final SqlStatementSanitizer sanitizer;
+  private final boolean statementSanitizationEnabled;
 
   SqlClientAttributesExtractor(
       SqlClientAttributesGetter<REQUEST> getter,
       AttributeKey<String> dbTableAttribute,
-      SqlStatementSanitizer sanitizer) {
+      boolean statementSanitizationEnabled) {
     super(getter);
     this.dbTableAttribute = dbTableAttribute;
-    this.sanitizer = sanitizer;
+    this.sanitizer = SqlStatementSanitizer.create(statementSanitizationEnabled);
+    this.statementSanitizationEnabled = statementSanitizationEnabled;
   }
 
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
     super.onStart(attributes, parentContext, request);
 
-    SqlStatementInfo sanitizedStatement = sanitizer.sanitize(getter.getRawStatement(request));
+    SqlStatementInfo sanitizedStatement = sanitize(request);
     String operation = sanitizedStatement.getOperation();
     internalSet(attributes, SemanticAttributes.DB_STATEMENT, sanitizedStatement.getFullStatement());
     internalSet(attributes, SemanticAttributes.DB_OPERATION, operation);
@@ -70,4 +72,14 @@ public final class SqlClientAttributesExtractor<REQUEST, RESPONSE>
       internalSet(attributes, dbTableAttribute, sanitizedStatement.getMainIdentifier());
     }
   }
+
+  private SqlStatementInfo sanitize(REQUEST request) {
+    if (statementSanitizationEnabled) {
+      SqlStatementInfo sanitizedStatement = getter.getSanitizedStatement(request);
+      if (sanitizedStatement != null) {
+        return sanitizedStatement;
+      }
+    }
+    return sanitizer.sanitize(getter.getRawStatement(request));
+  }
 }
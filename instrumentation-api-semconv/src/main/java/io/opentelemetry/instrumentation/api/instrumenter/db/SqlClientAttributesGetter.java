@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter.db;
 
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import javax.annotation.Nullable;
 
 /**
@@ -27,4 +28,15 @@ public interface SqlClientAttributesGetter<REQUEST>
    */
   @Nullable
   String getRawStatement(REQUEST request);
+
+  /**
+   * Get the statement returned by {@link #getRawStatement(Object)} already sanitized, e.g. when the
+   * instrumentation sanitized it once when a prepared statement was created. When this method
+   * returns a non-null value it is used instead of sanitizing the raw statement again; it is ignored
+   * when statement sanitization is disabled.
+   */
+  @Nullable
+  default SqlStatementInfo getSanitizedStatement(REQUEST request) {
+    return null;
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorUtil.internalSet;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * The header names configured to be captured with their precomputed attribute keys, and a hash
+ * table that finds the configured name matching a header name ignoring case without allocating.
+ */
+final class CapturedHttpHeaders {
+
+  private final String[] names;
+  private final AttributeKey<List<String>>[] keys;
+  // open addressing, holds index + 1 of the name, 0 for empty slots
+  private final int[] table;
+  private final int mask;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  CapturedHttpHeaders(
+      List<String> lowercaseNames, Function<String, AttributeKey<List<String>>> keyFunction) {
+    List<String> distinctNames = new ArrayList<>(lowercaseNames.size());
+    for (String name : lowercaseNames) {
+      if (!distinctNames.contains(name)) {
+        distinctNames.add(name);
+      }
+    }
+    names = distinctNames.toArray(new String[0]);
+    keys = new AttributeKey[names.length];
+    int capacity = Integer.highestOneBit(Math.max(names.length, 1) * 4);
+    table = new int[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < names.length; i++) {
+      keys[i] = keyFunction.apply(names[i]);
+      int slot = hash(names[i]) & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = i + 1;
+    }
+  }
+
+  boolean isEmpty() {
+    return names.length == 0;
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  String name(int index) {
+    return names[index];
+  }
+
+  AttributeKey<List<String>> key(int index) {
+    return keys[index];
+  }
+
+  /** Returns the index of the configured name that matches the header name, or -1. */
+  int indexOf(String headerName) {
+    int slot = hash(headerName) & mask;
+    while (true) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      String name = names[entry - 1];
+      if (name.length() == headerName.length()
+          && name.regionMatches(true, 0, headerName, 0, name.length())) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /** Returns a consumer that collects the values of the captured headers from a header scan. */
+  Values newValues() {
+    return new Values();
+  }
+
+  // case insensitive for ascii, which header names are limited to
+  private static int hash(String name) {
+    int hash = 0;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        c = (char) (c + ('a' - 'A'));
+      }
+      hash = 31 * hash + c;
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  final class Values implements BiConsumer<String, String> {
+
+    @Nullable private List<String>[] values;
+
+    private Values() {}
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void accept(String headerName, String value) {
+      int index = indexOf(headerName);
+      if (index < 0) {
+        return;
+      }
+      List<String>[] values = this.values;
+      if (values == null) {
+        values = new List[names.length];
+        this.values = values;
+      }
+      List<String> headerValues = values[index];
+      if (headerValues == null) {
+        headerValues = new ArrayList<>(1);
+        values[index] = headerValues;
+      }
+      headerValues.add(value);
+    }
+
+    void setAttributes(AttributesBuilder attributes) {
+      List<String>[] values = this.values;
+      if (values == null) {
+        return;
+      }
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          internalSet(attributes, keys[i], values[i]);
+        }
+      }
+    }
+  }
+}
@@ -8,19 +8,19 @@ package io.opentelemetry.instrumentation.api.instrumenter.http;
 import static java.util.Collections.unmodifiableList;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 final class CapturedHttpHeadersUtil {
 
-  // these are naturally bounded because they only store keys listed in
-  // otel.instrumentation.http.capture-headers.server.request and
-  // otel.instrumentation.http.capture-headers.server.response
-  private static final ConcurrentMap<String, AttributeKey<List<String>>> requestKeysCache = new ConcurrentHashMap<>();
-  private static final ConcurrentMap<String, AttributeKey<List<String>>> responseKeysCache = new ConcurrentHashMap<>();
+  // extractors precompute the keys of the headers they capture, these only share keys between
+  // extractors; bounded in case extractors are created with ever changing header names
+  private static final Cache<String, AttributeKey<List<String>>> requestKeysCache =
+      Cache.bounded(256);
+  private static final Cache<String, AttributeKey<List<String>>> responseKeysCache =
+      Cache.bounded(256);
 
   static List<String> lowercase(List<String> names) {
     return unmodifiableList(names.stream().map(s -> s.toLowerCase(Locale.ROOT)).collect(Collectors.toList()));
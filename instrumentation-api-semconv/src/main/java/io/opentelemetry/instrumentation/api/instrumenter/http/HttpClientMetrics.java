@@ -49,6 +49,12 @@ public final class HttpClientMetrics implements OperationListener {
 
   @Nullable private final DoubleHistogram stableDuration;
   @Nullable private final DoubleHistogram oldDuration;
+  // when enabled, each histogram is recorded with a cached attribute set holding only its advised
+  // attributes; null when all attributes are recorded
+  @Nullable private final HttpMetricsAttributesCache stableAttributes =
+      HttpMetricsAttributesCache.forClient(HttpMetricsAdvice.STABLE_CLIENT_DURATION_KEYS);
+  @Nullable private final HttpMetricsAttributesCache oldAttributes =
+      HttpMetricsAttributesCache.forClient(HttpMetricsAdvice.OLD_CLIENT_DURATION_KEYS);
 
   private HttpClientMetrics(Meter meter) {
     // 默认emitStableHttpSemconv为false
@@ -87,16 +93,29 @@ public final class HttpClientMetrics implements OperationListener {
       return;
     }
 
-    Attributes attributes = mergeClientAttributes(state.startAttributes(), endAttributes);
+    Attributes attributes = null;
+    if (stableAttributes == null || oldAttributes == null) {
+      attributes = mergeClientAttributes(state.startAttributes(), endAttributes);
+    }
 
     // stableDuration默认为null
     if (stableDuration != null) {
-      stableDuration.record((endNanos - state.startTimeNanos()) / NANOS_PER_S, attributes, context);
+      stableDuration.record(
+          (endNanos - state.startTimeNanos()) / NANOS_PER_S,
+          stableAttributes != null
+              ? stableAttributes.get(state.startAttributes(), endAttributes)
+              : attributes,
+          context);
     }
 
     // 默认走该分支
     if (oldDuration != null) {
-      oldDuration.record((endNanos - state.startTimeNanos()) / NANOS_PER_MS, attributes, context);
+      oldDuration.record(
+          (endNanos - state.startTimeNanos()) / NANOS_PER_MS,
+          oldAttributes != null
+              ? oldAttributes.get(state.startAttributes(), endAttributes)
+              : attributes,
+          context);
     }
   }
 
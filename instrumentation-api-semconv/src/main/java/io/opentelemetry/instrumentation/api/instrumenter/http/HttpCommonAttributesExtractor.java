@@ -6,8 +6,6 @@
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
 import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.lowercase;
-import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.requestAttributeKey;
-import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.responseAttributeKey;
 import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorUtil.internalSet;
 import static io.opentelemetry.instrumentation.api.internal.HttpConstants._OTHER;
 
@@ -32,8 +30,8 @@ abstract class HttpCommonAttributesExtractor<REQUEST, RESPONSE, GETTER extends H
 
   final GETTER getter;
   private final HttpStatusCodeConverter statusCodeConverter;
-  private final List<String> capturedRequestHeaders;
-  private final List<String> capturedResponseHeaders;
+  private final CapturedHttpHeaders capturedRequestHeaders;
+  private final CapturedHttpHeaders capturedResponseHeaders;
   private final Set<String> knownMethods;
 
   HttpCommonAttributesExtractor(GETTER getter,
@@ -43,8 +41,12 @@ abstract class HttpCommonAttributesExtractor<REQUEST, RESPONSE, GETTER extends H
       Set<String> knownMethods) {
     this.getter = getter;
     this.statusCodeConverter = statusCodeConverter;
-    this.capturedRequestHeaders = lowercase(capturedRequestHeaders);
-    this.capturedResponseHeaders = lowercase(capturedResponseHeaders);
+    this.capturedRequestHeaders =
+        new CapturedHttpHeaders(
+            lowercase(capturedRequestHeaders), CapturedHttpHeadersUtil::requestAttributeKey);
+    this.capturedResponseHeaders =
+        new CapturedHttpHeaders(
+            lowercase(capturedResponseHeaders), CapturedHttpHeadersUtil::responseAttributeKey);
     this.knownMethods = new HashSet<>(knownMethods);
   }
 
@@ -70,10 +72,18 @@ abstract class HttpCommonAttributesExtractor<REQUEST, RESPONSE, GETTER extends H
     // 从HttpServletRequest的header中提取user_agent.original并设置到attributes属性中
     internalSet(attributes, SemanticAttributes.USER_AGENT_ORIGINAL, userAgent(request));
 
-    for (String name : capturedRequestHeaders) {
-      List<String> values = getter.getHttpRequestHeader(request, name);
-      if (!values.isEmpty()) {
-        internalSet(attributes, requestAttributeKey(name), values);
+    if (!capturedRequestHeaders.isEmpty()) {
+      CapturedHttpHeaders.Values values = capturedRequestHeaders.newValues();
+      if (getter.forEachHttpRequestHeader(request, values)) {
+        values.setAttributes(attributes);
+      } else {
+        for (int i = 0; i < capturedRequestHeaders.size(); i++) {
+          List<String> headerValues =
+              getter.getHttpRequestHeader(request, capturedRequestHeaders.name(i));
+          if (!headerValues.isEmpty()) {
+            internalSet(attributes, capturedRequestHeaders.key(i), headerValues);
+          }
+        }
       }
     }
   }
@@ -121,10 +131,18 @@ abstract class HttpCommonAttributesExtractor<REQUEST, RESPONSE, GETTER extends H
         internalSet(attributes, SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH, responseBodySize);
       }
 
-      for (String name : capturedResponseHeaders) {
-        List<String> values = getter.getHttpResponseHeader(request, response, name);
-        if (!values.isEmpty()) {
-          internalSet(attributes, responseAttributeKey(name), values);
+      if (!capturedResponseHeaders.isEmpty()) {
+        CapturedHttpHeaders.Values values = capturedResponseHeaders.newValues();
+        if (getter.forEachHttpResponseHeader(request, response, values)) {
+          values.setAttributes(attributes);
+        } else {
+          for (int i = 0; i < capturedResponseHeaders.size(); i++) {
+            List<String> headerValues =
+                getter.getHttpResponseHeader(request, response, capturedResponseHeaders.name(i));
+            if (!headerValues.isEmpty()) {
+              internalSet(attributes, capturedResponseHeaders.key(i), headerValues);
+            }
+          }
         }
       }
     }
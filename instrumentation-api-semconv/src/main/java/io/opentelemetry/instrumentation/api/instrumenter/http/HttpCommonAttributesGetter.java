@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.instrumenter.http;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.List;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 
 /** An interface for getting HTTP attributes common to clients and servers. */
@@ -30,6 +31,19 @@ public interface HttpCommonAttributesGetter<REQUEST, RESPONSE> {
    */
   List<String> getHttpRequestHeader(REQUEST request, String name);
 
+  /**
+   * Passes the name and value of every header of the request to the {@code consumer}, once per
+   * value. This lets the captured request headers be collected in a single pass over the headers,
+   * instead of calling {@link #getHttpRequestHeader(Object, String)} for every captured header.
+   *
+   * <p>Returns {@code false} without calling the {@code consumer} if iterating over the headers is
+   * not supported, which is the default.
+   */
+  default boolean forEachHttpRequestHeader(
+      REQUEST request, BiConsumer<String, String> consumer) {
+    return false;
+  }
+
   /**
    * Returns the <a href="https://tools.ietf.org/html/rfc7231#section-6">HTTP response status
    * code</a>.
@@ -54,6 +68,23 @@ public interface HttpCommonAttributesGetter<REQUEST, RESPONSE> {
    */
   List<String> getHttpResponseHeader(REQUEST request, RESPONSE response, String name);
 
+  /**
+   * Passes the name and value of every header of the response to the {@code consumer}, once per
+   * value. This lets the captured response headers be collected in a single pass over the headers,
+   * instead of calling {@link #getHttpResponseHeader(Object, Object, String)} for every captured
+   * header.
+   *
+   * <p>This is called from {@link Instrumenter#end(Context, Object, Object, Throwable)}, only when
+   * {@code response} is non-{@code null}.
+   *
+   * <p>Returns {@code false} without calling the {@code consumer} if iterating over the headers is
+   * not supported, which is the default.
+   */
+  default boolean forEachHttpResponseHeader(
+      REQUEST request, RESPONSE response, BiConsumer<String, String> consumer) {
+    return false;
+  }
+
   /**
    * Returns a description of a class of error the operation ended with.
    *
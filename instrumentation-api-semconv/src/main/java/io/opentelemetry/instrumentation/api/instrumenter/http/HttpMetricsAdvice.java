@@ -6,7 +6,9 @@
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.LongHistogramBuilder;
 import io.opentelemetry.api.metrics.LongUpDownCounterBuilder;
@@ -15,41 +17,70 @@ import io.opentelemetry.extension.incubator.metrics.ExtendedLongHistogramBuilder
 import io.opentelemetry.extension.incubator.metrics.ExtendedLongUpDownCounterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.internal.HttpAttributes;
 import io.opentelemetry.semconv.SemanticAttributes;
+import java.util.List;
 
 final class HttpMetricsAdvice {
 
+  static final List<AttributeKey<?>> STABLE_CLIENT_DURATION_KEYS =
+      unmodifiableList(
+          asList(
+              SemanticAttributes.HTTP_REQUEST_METHOD,
+              SemanticAttributes.HTTP_RESPONSE_STATUS_CODE,
+              HttpAttributes.ERROR_TYPE,
+              SemanticAttributes.NETWORK_PROTOCOL_NAME,
+              SemanticAttributes.NETWORK_PROTOCOL_VERSION,
+              SemanticAttributes.SERVER_ADDRESS,
+              SemanticAttributes.SERVER_PORT,
+              SemanticAttributes.URL_SCHEME));
+
+  @SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
+  static final List<AttributeKey<?>> OLD_CLIENT_DURATION_KEYS =
+      unmodifiableList(
+          asList(
+              SemanticAttributes.HTTP_METHOD,
+              SemanticAttributes.HTTP_STATUS_CODE,
+              SemanticAttributes.NET_PEER_NAME,
+              SemanticAttributes.NET_PEER_PORT,
+              SemanticAttributes.NET_PROTOCOL_NAME,
+              SemanticAttributes.NET_PROTOCOL_VERSION,
+              SemanticAttributes.NET_SOCK_PEER_ADDR));
+
+  static final List<AttributeKey<?>> STABLE_SERVER_DURATION_KEYS =
+      unmodifiableList(
+          asList(
+              SemanticAttributes.HTTP_ROUTE,
+              SemanticAttributes.HTTP_REQUEST_METHOD,
+              SemanticAttributes.HTTP_RESPONSE_STATUS_CODE,
+              HttpAttributes.ERROR_TYPE,
+              SemanticAttributes.NETWORK_PROTOCOL_NAME,
+              SemanticAttributes.NETWORK_PROTOCOL_VERSION,
+              SemanticAttributes.URL_SCHEME));
+
+  @SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
+  static final List<AttributeKey<?>> OLD_SERVER_DURATION_KEYS =
+      unmodifiableList(
+          asList(
+              SemanticAttributes.HTTP_SCHEME,
+              SemanticAttributes.HTTP_ROUTE,
+              SemanticAttributes.HTTP_METHOD,
+              SemanticAttributes.HTTP_STATUS_CODE,
+              SemanticAttributes.NET_HOST_NAME,
+              SemanticAttributes.NET_HOST_PORT,
+              SemanticAttributes.NET_PROTOCOL_NAME,
+              SemanticAttributes.NET_PROTOCOL_VERSION));
+
   static void applyStableClientDurationAdvice(DoubleHistogramBuilder builder) {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                SemanticAttributes.HTTP_REQUEST_METHOD,
-                SemanticAttributes.HTTP_RESPONSE_STATUS_CODE,
-                HttpAttributes.ERROR_TYPE,
-                SemanticAttributes.NETWORK_PROTOCOL_NAME,
-                SemanticAttributes.NETWORK_PROTOCOL_VERSION,
-                SemanticAttributes.SERVER_ADDRESS,
-                SemanticAttributes.SERVER_PORT,
-                SemanticAttributes.URL_SCHEME));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(STABLE_CLIENT_DURATION_KEYS);
   }
 
-  @SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
   static void applyOldClientDurationAdvice(DoubleHistogramBuilder builder) {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                SemanticAttributes.HTTP_METHOD,
-                SemanticAttributes.HTTP_STATUS_CODE,
-                SemanticAttributes.NET_PEER_NAME,
-                SemanticAttributes.NET_PEER_PORT,
-                SemanticAttributes.NET_PROTOCOL_NAME,
-                SemanticAttributes.NET_PROTOCOL_VERSION,
-                SemanticAttributes.NET_SOCK_PEER_ADDR));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(OLD_CLIENT_DURATION_KEYS);
   }
 
   @SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
@@ -83,34 +114,14 @@ final class HttpMetricsAdvice {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                SemanticAttributes.HTTP_ROUTE,
-                SemanticAttributes.HTTP_REQUEST_METHOD,
-                SemanticAttributes.HTTP_RESPONSE_STATUS_CODE,
-                HttpAttributes.ERROR_TYPE,
-                SemanticAttributes.NETWORK_PROTOCOL_NAME,
-                SemanticAttributes.NETWORK_PROTOCOL_VERSION,
-                SemanticAttributes.URL_SCHEME));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(STABLE_SERVER_DURATION_KEYS);
   }
 
-  @SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
   static void applyOldServerDurationAdvice(DoubleHistogramBuilder builder) {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                SemanticAttributes.HTTP_SCHEME,
-                SemanticAttributes.HTTP_ROUTE,
-                SemanticAttributes.HTTP_METHOD,
-                SemanticAttributes.HTTP_STATUS_CODE,
-                SemanticAttributes.NET_HOST_NAME,
-                SemanticAttributes.NET_HOST_PORT,
-                SemanticAttributes.NET_PROTOCOL_NAME,
-                SemanticAttributes.NET_PROTOCOL_VERSION));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(OLD_SERVER_DURATION_KEYS);
   }
 
   @SuppressWarnings("deprecation") // until old http semconv are dropped in 2.0
@@ -0,0 +1,167 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.semconv.SemanticAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * Projects the start and end attributes of an HTTP request onto the advised attribute keys of a
+ * duration histogram, and hands out the same {@link Attributes} instance for every request with the
+ * same projected values. Looking up an already seen attribute set only allocates the array of the
+ * projected values, instead of an {@link Attributes} instance holding all request attributes.
+ *
+ * <p>Projecting drops all other attributes, including the ones a user's view may want to keep, so
+ * it is only done when {@code
+ * otel.instrumentation.http.metrics.experimental.advised-attributes-only} is enabled. The cache
+ * does not limit the cardinality of the recorded metrics, that is left to the SDK: once it holds
+ * as many attribute sets as {@code
+ * otel.instrumentation.http.metrics.experimental.attributes-cache-size} allows, it is emptied and
+ * starts over.
+ */
+final class HttpMetricsAttributesCache {
+
+  private static final boolean ENABLED =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.http.metrics.experimental.advised-attributes-only", false);
+
+  private static final int DEFAULT_MAX_SIZE =
+      Math.max(
+          1,
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.http.metrics.experimental.attributes-cache-size", 1000));
+
+  private final AttributeKey<?>[] keys;
+  private final boolean schemeFromUrl;
+  private final int maxSize;
+  private volatile Table table;
+
+  /** Returns {@code null} when the recorded attributes should not be projected. */
+  @Nullable
+  static HttpMetricsAttributesCache forServer(List<AttributeKey<?>> keys) {
+    return ENABLED ? new HttpMetricsAttributesCache(keys, false, DEFAULT_MAX_SIZE) : null;
+  }
+
+  /**
+   * Like {@link #forServer(List)}, but the {@code url.scheme} is taken from {@code url.full} when
+   * present, as in {@link HttpMetricsUtil#mergeClientAttributes(Attributes, Attributes)}.
+   */
+  @Nullable
+  static HttpMetricsAttributesCache forClient(List<AttributeKey<?>> keys) {
+    return ENABLED ? new HttpMetricsAttributesCache(keys, true, DEFAULT_MAX_SIZE) : null;
+  }
+
+  HttpMetricsAttributesCache(List<AttributeKey<?>> keys, boolean schemeFromUrl, int maxSize) {
+    this.keys = keys.toArray(new AttributeKey<?>[0]);
+    this.schemeFromUrl = schemeFromUrl;
+    this.maxSize = maxSize;
+    this.table = new Table(Integer.highestOneBit(Math.max(1, maxSize - 1)) << 1);
+  }
+
+  /**
+   * Returns the cached attribute set holding the advised attributes of the request, end attributes
+   * take precedence over start attributes.
+   */
+  Attributes get(Attributes startAttributes, Attributes endAttributes) {
+    Object[] values = new Object[keys.length];
+    int hash = 1;
+    for (int i = 0; i < keys.length; i++) {
+      values[i] = value(keys[i], startAttributes, endAttributes);
+      hash = 31 * hash + Objects.hashCode(values[i]);
+    }
+    hash ^= hash >>> 16;
+
+    Table table = this.table;
+    int index = hash & (table.entries.length() - 1);
+    Entry head = table.entries.get(index);
+    for (Entry entry = head; entry != null; entry = entry.next) {
+      if (entry.hash == hash && Arrays.equals(entry.values, values)) {
+        return entry.attributes;
+      }
+    }
+
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < keys.length; i++) {
+      if (values[i] != null) {
+        put(builder, keys[i], values[i]);
+      }
+    }
+    Attributes attributes = builder.build();
+    if (table.size.incrementAndGet() > maxSize) {
+      // start over instead of keeping only the attribute sets that were seen first
+      this.table = new Table(table.entries.length());
+    } else {
+      // concurrent inserts into the same bucket may drop an entry, which only causes another miss
+      table.entries.set(index, new Entry(hash, values, attributes, head));
+    }
+    return attributes;
+  }
+
+  @Nullable
+  private Object value(AttributeKey<?> key, Attributes startAttributes, Attributes endAttributes) {
+    if (schemeFromUrl && key.equals(SemanticAttributes.URL_SCHEME)) {
+      String scheme = schemeFromUrl(startAttributes.get(SemanticAttributes.URL_FULL));
+      if (scheme != null) {
+        return scheme;
+      }
+    }
+    Object value = endAttributes.get(key);
+    return value != null ? value : startAttributes.get(key);
+  }
+
+  @Nullable
+  private static String schemeFromUrl(@Nullable String url) {
+    if (url == null) {
+      return null;
+    }
+    // avoid allocating a substring for the common schemes
+    if (url.startsWith("https://")) {
+      return "https";
+    }
+    if (url.startsWith("http://")) {
+      return "http";
+    }
+    int index = url.indexOf("://");
+    return index > 0 ? url.substring(0, index) : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void put(AttributesBuilder builder, AttributeKey<?> key, Object value) {
+    builder.put((AttributeKey<Object>) key, value);
+  }
+
+  private static final class Table {
+    final AtomicReferenceArray<Entry> entries;
+    final AtomicInteger size = new AtomicInteger();
+
+    Table(int length) {
+      entries = new AtomicReferenceArray<>(length);
+    }
+  }
+
+  private static final class Entry {
+    final int hash;
+    final Object[] values;
+    final Attributes attributes;
+    @Nullable final Entry next;
+
+    Entry(int hash, Object[] values, Attributes attributes, @Nullable Entry next) {
+      this.hash = hash;
+      this.values = values;
+      this.attributes = attributes;
+      this.next = next;
+    }
+  }
+}
@@ -48,6 +48,12 @@ public final class HttpServerMetrics implements OperationListener {
 
   @Nullable private final DoubleHistogram stableDuration;
   @Nullable private final DoubleHistogram oldDuration;
+  // when enabled, each histogram is recorded with a cached attribute set holding only its advised
+  // attributes; null when all attributes are recorded
+  @Nullable private final HttpMetricsAttributesCache stableAttributes =
+      HttpMetricsAttributesCache.forServer(HttpMetricsAdvice.STABLE_SERVER_DURATION_KEYS);
+  @Nullable private final HttpMetricsAttributesCache oldAttributes =
+      HttpMetricsAttributesCache.forServer(HttpMetricsAdvice.OLD_SERVER_DURATION_KEYS);
 
   private HttpServerMetrics(Meter meter) {
     if (SemconvStability.emitStableHttpSemconv()) {
@@ -89,14 +95,27 @@ public final class HttpServerMetrics implements OperationListener {
       return;
     }
 
-    Attributes attributes = state.startAttributes().toBuilder().putAll(endAttributes).build();
+    Attributes attributes = null;
+    if (stableAttributes == null || oldAttributes == null) {
+      attributes = state.startAttributes().toBuilder().putAll(endAttributes).build();
+    }
 
     if (stableDuration != null) {
-      stableDuration.record((endNanos - state.startTimeNanos()) / NANOS_PER_S, attributes, context);
+      stableDuration.record(
+          (endNanos - state.startTimeNanos()) / NANOS_PER_S,
+          stableAttributes != null
+              ? stableAttributes.get(state.startAttributes(), endAttributes)
+              : attributes,
+          context);
     }
 
     if (oldDuration != null) {
-      oldDuration.record((endNanos - state.startTimeNanos()) / NANOS_PER_MS, attributes, context);
+      oldDuration.record(
+          (endNanos - state.startTimeNanos()) / NANOS_PER_MS,
+          oldAttributes != null
+              ? oldAttributes.get(state.startAttributes(), endAttributes)
+              : attributes,
+          context);
     }
   }
 
@@ -5,92 +5,265 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter.net;
 
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.naturalOrder;
-import static java.util.Comparator.nullsFirst;
-
-import com.google.auto.value.AutoValue;
-import io.opentelemetry.instrumentation.api.instrumenter.url.UrlParser;
-import java.util.Comparator;
+import io.opentelemetry.instrumentation.api.instrumenter.url.internal.UrlComponents;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
+/**
+ * Compiles the peer service mapping into an index: a hash map for exact hosts, a trie of domain
+ * labels for wildcard hosts like {@code *.example.com}, and for every host a table per port and a
+ * table of path prefixes.
+ */
 class PeerServiceResolverImpl implements PeerServiceResolver {
 
-  private static final Comparator<ServiceMatcher> matcherComparator = nullsFirst(
-          comparing(ServiceMatcher::getPort, nullsFirst(naturalOrder()))
-              .thenComparing(comparing(ServiceMatcher::getPath, nullsFirst(naturalOrder()))));
+  private static final String WILDCARD_PREFIX = "*.";
+  private static final HostMatchers[] NO_MATCHERS = new HostMatchers[0];
 
-  private final Map<String, Map<ServiceMatcher, String>> mapping = new HashMap<>();
+  private final Map<String, HostMatchers> exactHosts = new HashMap<>();
+  @Nullable private final DomainNode wildcardHosts;
+  // wildcard lookups split the host into labels, remember the result for recently seen hosts
+  @Nullable private final Cache<String, HostMatchers[]> wildcardMatchersCache;
 
   PeerServiceResolverImpl(Map<String, String> peerServiceMapping) {
+    Map<String, HostMatchers.Builder> exactBuilders = new HashMap<>();
+    Map<String, HostMatchers.Builder> wildcardBuilders = new HashMap<>();
     peerServiceMapping.forEach(
         (key, serviceName) -> {
-          String url = "https://" + key;
-          String host = UrlParser.getHost(url);
-          Integer port = UrlParser.getPort(url);
-          String path = UrlParser.getPath(url);
-          Map<ServiceMatcher, String> matchers = mapping.computeIfAbsent(host, x -> new HashMap<>());
-          matchers.putIfAbsent(ServiceMatcher.create(port, path), serviceName);
+          UrlComponents url = UrlComponents.parse("https://" + key);
+          String host = url.getHost();
+          if (host == null) {
+            return;
+          }
+          Integer port = url.getPort();
+          String path = url.getPath();
+          Map<String, HostMatchers.Builder> builders = exactBuilders;
+          if (host.startsWith(WILDCARD_PREFIX) && host.length() > WILDCARD_PREFIX.length()) {
+            builders = wildcardBuilders;
+            host = host.substring(WILDCARD_PREFIX.length());
+          }
+          builders
+              .computeIfAbsent(host, x -> new HostMatchers.Builder())
+              .add(port, path, serviceName);
         });
+
+    exactBuilders.forEach((host, builder) -> exactHosts.put(host, builder.build()));
+    if (wildcardBuilders.isEmpty()) {
+      wildcardHosts = null;
+      wildcardMatchersCache = null;
+    } else {
+      DomainNode root = new DomainNode();
+      wildcardBuilders.forEach((domain, builder) -> root.add(domain, builder.build()));
+      wildcardHosts = root;
+      wildcardMatchersCache = Cache.bounded(1000);
+    }
   }
 
   @Override
   public boolean isEmpty() {
-    return mapping.isEmpty();
+    return exactHosts.isEmpty() && wildcardHosts == null;
   }
 
   @Override
   @Nullable
-  public String resolveService(String host, @Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
-    Map<ServiceMatcher, String> matchers = mapping.get(host);
-    if (matchers == null) {
+  public String resolveService(
+      String host, @Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
+    HostMatchers matchers = exactHosts.get(host);
+    if (matchers != null) {
+      String serviceName = matchers.resolve(port, pathSupplier);
+      if (serviceName != null) {
+        return serviceName;
+      }
+    }
+    if (wildcardHosts == null || wildcardMatchersCache == null) {
       return null;
     }
-    return matchers.entrySet().stream()
-        .filter(entry -> entry.getKey().matches(port, pathSupplier))
-        .max((o1, o2) -> matcherComparator.compare(o1.getKey(), o2.getKey()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
+    // most specific domain first
+    for (HostMatchers wildcardMatchers :
+        wildcardMatchersCache.computeIfAbsent(host, wildcardHosts::find)) {
+      String serviceName = wildcardMatchers.resolve(port, pathSupplier);
+      if (serviceName != null) {
+        return serviceName;
+      }
+    }
+    return null;
   }
 
-  @AutoValue
-  abstract static class ServiceMatcher {
+  /** The mapping entries of a single host. */
+  private static final class HostMatchers {
+
+    private final Map<Integer, PathMatchers> portMatchers;
+    @Nullable private final PathMatchers anyPortMatchers;
 
-    static ServiceMatcher create(Integer port, String path) {
-      return new AutoValue_PeerServiceResolverImpl_ServiceMatcher(port, path);
+    private HostMatchers(
+        Map<Integer, PathMatchers> portMatchers, @Nullable PathMatchers anyPortMatchers) {
+      this.portMatchers = portMatchers;
+      this.anyPortMatchers = anyPortMatchers;
     }
 
     @Nullable
-    abstract Integer getPort();
+    String resolve(@Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
+      if (port != null) {
+        // entries with a port take precedence over entries without one
+        PathMatchers matchers = portMatchers.get(port);
+        if (matchers != null) {
+          String serviceName = matchers.resolve(pathSupplier);
+          if (serviceName != null) {
+            return serviceName;
+          }
+        }
+      }
+      if (anyPortMatchers == null) {
+        return null;
+      }
+      // entries with a path but without a port only apply when the port is not known either
+      return anyPortMatchers.resolve(port == null ? pathSupplier : null);
+    }
+
+    static final class Builder {
+
+      private final Map<Integer, PathMatchers.Builder> portBuilders = new HashMap<>();
+      @Nullable private PathMatchers.Builder anyPortBuilder;
+
+      void add(@Nullable Integer port, @Nullable String path, String serviceName) {
+        PathMatchers.Builder builder;
+        if (port == null) {
+          if (anyPortBuilder == null) {
+            anyPortBuilder = new PathMatchers.Builder();
+          }
+          builder = anyPortBuilder;
+        } else {
+          builder = portBuilders.computeIfAbsent(port, x -> new PathMatchers.Builder());
+        }
+        builder.add(path, serviceName);
+      }
+
+      HostMatchers build() {
+        Map<Integer, PathMatchers> portMatchers = new HashMap<>();
+        portBuilders.forEach((port, builder) -> portMatchers.put(port, builder.build()));
+        return new HostMatchers(
+            portMatchers, anyPortBuilder == null ? null : anyPortBuilder.build());
+      }
+    }
+  }
+
+  /** The mapping entries of a single host and port. */
+  private static final class PathMatchers {
+
+    private static final int[] NO_LENGTHS = new int[0];
+
+    @Nullable private final String serviceName;
+    private final Map<String, String> pathPrefixes;
+    // the distinct lengths of the path prefixes, longest first
+    private final int[] pathPrefixLengths;
+
+    private PathMatchers(
+        @Nullable String serviceName, Map<String, String> pathPrefixes, int[] pathPrefixLengths) {
+      this.serviceName = serviceName;
+      this.pathPrefixes = pathPrefixes;
+      this.pathPrefixLengths = pathPrefixLengths;
+    }
 
     @Nullable
-    abstract String getPath();
+    String resolve(@Nullable Supplier<String> pathSupplier) {
+      if (pathPrefixLengths.length > 0 && pathSupplier != null) {
+        String path = pathSupplier.get();
+        if (path != null) {
+          // the longest matching prefix wins
+          for (int length : pathPrefixLengths) {
+            if (length <= path.length()) {
+              String serviceName = pathPrefixes.get(path.substring(0, length));
+              if (serviceName != null) {
+                return serviceName;
+              }
+            }
+          }
+        }
+      }
+      return serviceName;
+    }
+
+    static final class Builder {
 
-    public boolean matches(Integer port, Supplier<String> pathSupplier) {
-      if (this.getPort() != null) {
-        if (!this.getPort().equals(port)) {
-          return false;
+      @Nullable private String serviceName;
+      private final Map<String, String> pathPrefixes = new HashMap<>();
+
+      void add(@Nullable String path, String serviceName) {
+        if (path == null || path.isEmpty()) {
+          if (this.serviceName == null) {
+            this.serviceName = serviceName;
+          }
+        } else {
+          pathPrefixes.putIfAbsent(path, serviceName);
         }
       }
-      if (this.getPath() != null && this.getPath().length() > 0) {
-        if (pathSupplier == null) {
-          return false;
+
+      PathMatchers build() {
+        if (pathPrefixes.isEmpty()) {
+          return new PathMatchers(serviceName, pathPrefixes, NO_LENGTHS);
         }
-        String path = pathSupplier.get();
-        if (path == null) {
-          return false;
+        TreeSet<Integer> lengths = new TreeSet<>();
+        pathPrefixes.keySet().forEach(path -> lengths.add(path.length()));
+        int[] pathPrefixLengths = new int[lengths.size()];
+        int i = 0;
+        for (int length : lengths.descendingSet()) {
+          pathPrefixLengths[i++] = length;
         }
-        if (!path.startsWith(this.getPath())) {
-          return false;
+        return new PathMatchers(serviceName, pathPrefixes, pathPrefixLengths);
+      }
+    }
+  }
+
+  /**
+   * A trie of domain labels, starting with the top level domain. A node holds the entries of the
+   * wildcard host that matches all subdomains of the domain the node stands for.
+   */
+  private static final class DomainNode {
+
+    private final Map<String, DomainNode> children = new HashMap<>();
+    @Nullable private HostMatchers wildcardMatchers;
+
+    void add(String domain, HostMatchers matchers) {
+      DomainNode node = this;
+      int end = domain.length();
+      while (end > 0) {
+        int start = domain.lastIndexOf('.', end - 1) + 1;
+        node = node.children.computeIfAbsent(domain.substring(start, end), x -> new DomainNode());
+        end = start - 1;
+      }
+      node.wildcardMatchers = matchers;
+    }
+
+    HostMatchers[] find(String host) {
+      List<HostMatchers> matchers = new ArrayList<>();
+      DomainNode node = this;
+      int end = host.length();
+      while (end > 0) {
+        int start = host.lastIndexOf('.', end - 1) + 1;
+        node = node.children.get(host.substring(start, end));
+        // a wildcard only matches when there is at least one more label
+        if (node == null || start == 0) {
+          break;
         }
-        if (port != null) {
-          return port.equals(this.getPort());
+        if (node.wildcardMatchers != null) {
+          matchers.add(node.wildcardMatchers);
         }
+        end = start - 1;
+      }
+      if (matchers.isEmpty()) {
+        return NO_MATCHERS;
+      }
+      HostMatchers[] result = new HostMatchers[matchers.size()];
+      // most specific domain first
+      for (int i = 0; i < result.length; i++) {
+        result[i] = matchers.get(result.length - 1 - i);
       }
-      return true;
+      return result;
     }
   }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.url.internal;
+
+import javax.annotation.Nullable;
+
+/**
+ * The components of a URL, found in a single pass over the scheme, authority and path. Only the
+ * offsets of the components are kept, the strings are created when a component is asked for. The
+ * query and fragment are not scanned unless the query is asked for, which keeps parsing cheap for
+ * URLs with long query strings.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class UrlComponents {
+
+  private final String url;
+  // index of the ':' that ends the scheme, -1 if there is none
+  private final int schemeEnd;
+  // the remaining indexes are -1 when the url has no authority component
+  private final int authorityStart;
+  private final int authorityEnd;
+  // index of the '@' that ends the user info, -1 if there is none
+  private final int userInfoEnd;
+  private final int hostStart;
+  private final int hostEnd;
+  // the port is between hostEnd + 1 and authorityEnd when hostEnd < authorityEnd
+  private final int pathStart;
+  private final int pathEnd;
+  // index of the first character after the '?', -1 if there is no query
+  private final int queryStart;
+
+  private UrlComponents(
+      String url,
+      int schemeEnd,
+      int authorityStart,
+      int authorityEnd,
+      int userInfoEnd,
+      int hostStart,
+      int hostEnd,
+      int pathStart,
+      int pathEnd,
+      int queryStart) {
+    this.url = url;
+    this.schemeEnd = schemeEnd;
+    this.authorityStart = authorityStart;
+    this.authorityEnd = authorityEnd;
+    this.userInfoEnd = userInfoEnd;
+    this.hostStart = hostStart;
+    this.hostEnd = hostEnd;
+    this.pathStart = pathStart;
+    this.pathEnd = pathEnd;
+    this.queryStart = queryStart;
+  }
+
+  public static UrlComponents parse(String url) {
+    int schemeEnd = url.indexOf(':');
+    if (schemeEnd == -1 || !url.startsWith("//", schemeEnd + 1)) {
+      // not a valid url, or has no authority component
+      return new UrlComponents(url, schemeEnd, -1, -1, -1, -1, -1, -1, -1, -1);
+    }
+
+    // look for the end of the authority component:
+    //   '/', '?', '#' ==> start of path
+    int authorityStart = schemeEnd + 3;
+    int len = url.length();
+    int userInfoEnd = -1;
+    int portSeparator = -1;
+    int index;
+    for (index = authorityStart; index < len; index++) {
+      char c = url.charAt(index);
+      if (c == '/' || c == '?' || c == '#') {
+        break;
+      }
+      if (c == '@') {
+        userInfoEnd = index;
+        portSeparator = -1;
+      } else if (c == ']') {
+        // the colons of an ip v6 address do not start the port
+        portSeparator = -1;
+      } else if (c == ':' && portSeparator == -1) {
+        portSeparator = index;
+      }
+    }
+    int authorityEnd = index;
+    int hostStart = userInfoEnd == -1 ? authorityStart : userInfoEnd + 1;
+    int hostEnd = portSeparator == -1 ? authorityEnd : portSeparator;
+
+    int pathStart = -1;
+    int pathEnd = -1;
+    if (authorityEnd < len && url.charAt(authorityEnd) == '/') {
+      // look for the end of the path:
+      //   '?', '#' ==> end of path
+      pathStart = authorityEnd;
+      for (index = pathStart + 1; index < len; index++) {
+        char c = url.charAt(index);
+        if (c == '?' || c == '#') {
+          break;
+        }
+      }
+      pathEnd = index;
+    }
+
+    int queryEnd = pathEnd == -1 ? authorityEnd : pathEnd;
+    int queryStart = queryEnd < len && url.charAt(queryEnd) == '?' ? queryEnd + 1 : -1;
+
+    return new UrlComponents(
+        url,
+        schemeEnd,
+        authorityStart,
+        authorityEnd,
+        userInfoEnd,
+        hostStart,
+        hostEnd,
+        pathStart,
+        pathEnd,
+        queryStart);
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  /** Returns the index of the first character of the authority, or -1 if there is none. */
+  public int getAuthorityStartIndex() {
+    return authorityStart;
+  }
+
+  /** Returns the index of the '@' that ends the user info, or -1 if there is none. */
+  public int getUserInfoEndIndex() {
+    return userInfoEnd;
+  }
+
+  @Nullable
+  public String getScheme() {
+    return schemeEnd > 0 ? url.substring(0, schemeEnd) : null;
+  }
+
+  @Nullable
+  public String getHost() {
+    if (!hasHost()) {
+      return null;
+    }
+    return url.substring(hostStart, hostEnd);
+  }
+
+  @Nullable
+  public Integer getPort() {
+    if (!hasHost()) {
+      return null;
+    }
+    int portStart = hostEnd + 1;
+    if (portStart >= authorityEnd) {
+      return null;
+    }
+    int length = authorityEnd - portStart;
+    if (length <= 9) {
+      int port = 0;
+      for (int i = portStart; i < authorityEnd; i++) {
+        char c = url.charAt(i);
+        if (c < '0' || c > '9') {
+          return safeParse(url.substring(portStart, authorityEnd));
+        }
+        port = port * 10 + (c - '0');
+      }
+      return port;
+    }
+    return safeParse(url.substring(portStart, authorityEnd));
+  }
+
+  @Nullable
+  public String getPath() {
+    if (!hasHost() || pathStart == -1) {
+      return null;
+    }
+    return url.substring(pathStart, pathEnd);
+  }
+
+  @Nullable
+  public String getQuery() {
+    if (!hasHost() || queryStart == -1) {
+      return null;
+    }
+    int queryEnd = url.indexOf('#', queryStart);
+    return url.substring(queryStart, queryEnd == -1 ? url.length() : queryEnd);
+  }
+
+  private boolean hasHost() {
+    return authorityStart != -1 && hostEnd > hostStart;
+  }
+
+  @Nullable
+  private static Integer safeParse(String port) {
+    try {
+      return Integer.valueOf(port);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -111,6 +111,94 @@ public class SqlStatementSanitizerTest {
     }
   }
 
+  @Test
+  void cacheWeightBoundsEntriesAndCharacters() {
+    // 100 characters per unit of capacity
+    SqlStatementSanitizer.CacheWeigher weigher = new SqlStatementSanitizer.CacheWeigher(10, 1000);
+
+    SqlStatementSanitizer.CacheKey shortKey =
+        SqlStatementSanitizer.CacheKey.create("SELECT 1", SqlDialect.DEFAULT);
+    assertThat(weigher.weightOf(shortKey, SqlStatementInfo.create("SELECT ?", "SELECT", null)))
+        .isEqualTo(1);
+
+    StringBuilder longStatement = new StringBuilder("SELECT * FROM TABLE WHERE ID IN (0");
+    while (longStatement.length() < 250) {
+      longStatement.append(", 0");
+    }
+    longStatement.setLength(250);
+    SqlStatementSanitizer.CacheKey longKey =
+        SqlStatementSanitizer.CacheKey.create(longStatement.toString(), SqlDialect.DEFAULT);
+    assertThat(
+            weigher.weightOf(
+                longKey, SqlStatementInfo.create(longStatement.toString(), "SELECT", "TABLE")))
+        .isEqualTo(5);
+  }
+
+  @Test
+  void boundedScanCollapsesLiteralLists() {
+    SqlStatementInfo result =
+        AutoSqlSanitizer.sanitize(
+            "SELECT * FROM t WHERE id IN (1, 2, 3) AND x = 'a'", SqlDialect.DEFAULT, 1000);
+    assertThat(result.getFullStatement()).isEqualTo("SELECT * FROM t WHERE id IN (?) AND x = ?");
+    assertThat(result.getTable()).isEqualTo("t");
+
+    result =
+        AutoSqlSanitizer.sanitize(
+            "INSERT INTO t (a, b) VALUES (1, 'x'), (2, 'y'), (3, 'z') ON DUPLICATE KEY UPDATE b = 'w'",
+            SqlDialect.DEFAULT,
+            1000);
+    assertThat(result.getFullStatement())
+        .isEqualTo("INSERT INTO t (a, b) VALUES (?) ON DUPLICATE KEY UPDATE b = ?");
+    assertThat(result.getOperation()).isEqualTo("INSERT");
+    assertThat(result.getTable()).isEqualTo("t");
+
+    // lists that are not made of literals only are kept
+    result =
+        AutoSqlSanitizer.sanitize(
+            "SELECT * FROM t WHERE id IN (1, 2, f(3))", SqlDialect.DEFAULT, 1000);
+    assertThat(result.getFullStatement()).isEqualTo("SELECT * FROM t WHERE id IN (?, ?, f(?))");
+  }
+
+  @Test
+  void boundedScanStopsAfterOperationAndTable() {
+    StringBuilder statement = new StringBuilder("SELECT * FROM t WHERE id IN (0");
+    for (int i = 1; i < 100_000; i++) {
+      statement.append(", ").append(i);
+    }
+    statement.append(')');
+
+    SqlStatementInfo result =
+        AutoSqlSanitizer.sanitize(statement.toString(), SqlDialect.DEFAULT, 100);
+    assertThat(result.getFullStatement())
+        .isEqualTo("SELECT * FROM t WHERE id IN (" + AutoSqlSanitizer.TRUNCATION_MARKER);
+    assertThat(result.getOperation()).isEqualTo("SELECT");
+    assertThat(result.getTable()).isEqualTo("t");
+  }
+
+  @Test
+  void boundedScanCutsInput() {
+    StringBuilder statement = new StringBuilder("SELECT ");
+    for (int i = 0; i < 1000; i++) {
+      statement.append("c, ");
+    }
+    statement.append("d FROM t");
+
+    // the table is not found within the first 40 characters
+    SqlStatementInfo result = AutoSqlSanitizer.sanitize(statement.toString(), SqlDialect.DEFAULT, 10);
+    assertThat(result.getFullStatement())
+        .isEqualTo(statement.substring(0, 40) + AutoSqlSanitizer.TRUNCATION_MARKER);
+    assertThat(result.getTable()).isNull();
+
+    // a literal cut in the middle is not copied
+    StringBuilder literal = new StringBuilder("SELECT '");
+    for (int i = 0; i < 1000; i++) {
+      literal.append("secret");
+    }
+    literal.append("' FROM t");
+    result = AutoSqlSanitizer.sanitize(literal.toString(), SqlDialect.DEFAULT, 10);
+    assertThat(result.getFullStatement()).isEqualTo("SELECT " + AutoSqlSanitizer.TRUNCATION_MARKER);
+  }
+
   static class SqlArgs implements ArgumentsProvider {
 
     @Override
@@ -11,6 +11,7 @@ import static org.assertj.core.api.Assertions.entry;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.semconv.SemanticAttributes;
 import java.util.Collections;
@@ -20,7 +21,7 @@ import org.junit.jupiter.api.Test;
 
 class SqlClientAttributesExtractorTest {
 
-  static final class TestAttributesGetter
+  static class TestAttributesGetter
       implements SqlClientAttributesGetter<Map<String, String>> {
 
     @Override
@@ -85,6 +86,45 @@ class SqlClientAttributesExtractorTest {
     assertThat(endAttributes.build().isEmpty()).isTrue();
   }
 
+  @Test
+  void shouldUseSanitizedStatementFromGetter() {
+    // given
+    Map<String, String> request = new HashMap<>();
+    request.put("db.statement", "SELECT * FROM potato WHERE id=12345");
+
+    SqlClientAttributesGetter<Map<String, String>> getter =
+        new TestAttributesGetter() {
+          @Override
+          public SqlStatementInfo getSanitizedStatement(Map<String, String> map) {
+            return SqlStatementInfo.create("SELECT * FROM tomato WHERE id=?", "SELECT", "tomato");
+          }
+        };
+
+    Context context = Context.root();
+
+    AttributesExtractor<Map<String, String>, Void> underTest =
+        SqlClientAttributesExtractor.create(getter);
+    AttributesExtractor<Map<String, String>, Void> notSanitizing =
+        SqlClientAttributesExtractor.<Map<String, String>, Void>builder(getter)
+            .setStatementSanitizationEnabled(false)
+            .build();
+
+    // when
+    AttributesBuilder attributes = Attributes.builder();
+    underTest.onStart(attributes, context, request);
+    AttributesBuilder notSanitizedAttributes = Attributes.builder();
+    notSanitizing.onStart(notSanitizedAttributes, context, request);
+
+    // then
+    assertThat(attributes.build())
+        .containsOnly(
+            entry(SemanticAttributes.DB_STATEMENT, "SELECT * FROM tomato WHERE id=?"),
+            entry(SemanticAttributes.DB_OPERATION, "SELECT"),
+            entry(SemanticAttributes.DB_SQL_TABLE, "tomato"));
+    assertThat(notSanitizedAttributes.build())
+        .containsEntry(SemanticAttributes.DB_STATEMENT, "SELECT * FROM potato WHERE id=12345");
+  }
+
   @Test
   void shouldNotExtractTableIfAttributeIsNotSet() {
     // given
@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import org.junit.jupiter.api.Test;
+
+class CapturedHttpHeadersTest {
+
+  @Test
+  void findsNamesIgnoringCase() {
+    CapturedHttpHeaders headers =
+        new CapturedHttpHeaders(
+            asList("x-request-id", "content-type", "x-request-id"),
+            CapturedHttpHeadersUtil::requestAttributeKey);
+
+    assertThat(headers.size()).isEqualTo(2);
+    assertThat(headers.indexOf("X-Request-Id")).isEqualTo(0);
+    assertThat(headers.indexOf("CONTENT-TYPE")).isEqualTo(1);
+    assertThat(headers.indexOf("content-length")).isEqualTo(-1);
+    assertThat(headers.indexOf("x-request")).isEqualTo(-1);
+    assertThat(headers.key(0))
+        .isEqualTo(AttributeKey.stringArrayKey("http.request.header.x_request_id"));
+  }
+
+  @Test
+  void collectsValues() {
+    CapturedHttpHeaders headers =
+        new CapturedHttpHeaders(
+            asList("x-request-id", "accept"), CapturedHttpHeadersUtil::responseAttributeKey);
+
+    CapturedHttpHeaders.Values values = headers.newValues();
+    values.accept("Accept", "text/html");
+    values.accept("Host", "example.com");
+    values.accept("accept", "application/json");
+
+    AttributesBuilder attributes = Attributes.builder();
+    values.setAttributes(attributes);
+    assertThat(attributes.build().asMap())
+        .containsOnly(
+            entry(
+                AttributeKey.stringArrayKey("http.response.header.accept"),
+                asList("text/html", "application/json")));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.semconv.SemanticAttributes;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HttpMetricsAttributesCacheTest {
+
+  private static final List<AttributeKey<?>> KEYS =
+      asList(
+          SemanticAttributes.HTTP_REQUEST_METHOD,
+          SemanticAttributes.HTTP_RESPONSE_STATUS_CODE,
+          SemanticAttributes.URL_SCHEME);
+  private static final Attributes OK =
+      Attributes.of(SemanticAttributes.HTTP_RESPONSE_STATUS_CODE, 200L);
+
+  @Test
+  void projectsAdvisedAttributes() {
+    HttpMetricsAttributesCache cache = new HttpMetricsAttributesCache(KEYS, false, 10);
+
+    Attributes attributes =
+        cache.get(
+            Attributes.builder()
+                .put(SemanticAttributes.HTTP_REQUEST_METHOD, "GET")
+                .put(SemanticAttributes.URL_SCHEME, "http")
+                .put(SemanticAttributes.URL_PATH, "/users/1234")
+                .build(),
+            Attributes.builder()
+                .put(SemanticAttributes.HTTP_RESPONSE_STATUS_CODE, 200)
+                .put(SemanticAttributes.URL_SCHEME, "https")
+                .build());
+
+    assertThat(attributes)
+        .isEqualTo(
+            Attributes.builder()
+                .put(SemanticAttributes.HTTP_REQUEST_METHOD, "GET")
+                .put(SemanticAttributes.HTTP_RESPONSE_STATUS_CODE, 200)
+                .put(SemanticAttributes.URL_SCHEME, "https")
+                .build());
+  }
+
+  @Test
+  void returnsSameInstanceForSameValues() {
+    HttpMetricsAttributesCache cache = new HttpMetricsAttributesCache(KEYS, false, 10);
+
+    Attributes first = cache.get(request("GET", "/users/1"), OK);
+    Attributes second = cache.get(request("GET", "/users/2"), OK);
+    Attributes other = cache.get(request("POST", "/users/1"), OK);
+
+    assertThat(second).isSameAs(first);
+    assertThat(other).isNotEqualTo(first);
+  }
+
+  @Test
+  void startsOverWhenFull() {
+    HttpMetricsAttributesCache cache = new HttpMetricsAttributesCache(KEYS, false, 2);
+
+    Attributes get = cache.get(request("GET", "/"), Attributes.empty());
+    cache.get(request("POST", "/"), Attributes.empty());
+    assertThat(cache.get(request("GET", "/"), Attributes.empty())).isSameAs(get);
+
+    // new attribute sets are never replaced with an overflow attribute set
+    assertThat(cache.get(request("PUT", "/"), Attributes.empty()))
+        .isEqualTo(Attributes.of(SemanticAttributes.HTTP_REQUEST_METHOD, "PUT"));
+    Attributes put = cache.get(request("PUT", "/"), Attributes.empty());
+    assertThat(put).isEqualTo(Attributes.of(SemanticAttributes.HTTP_REQUEST_METHOD, "PUT"));
+    assertThat(cache.get(request("PUT", "/"), Attributes.empty())).isSameAs(put);
+    // the cache was emptied, the attribute sets seen first are created again
+    assertThat(cache.get(request("GET", "/"), Attributes.empty())).isEqualTo(get).isNotSameAs(get);
+  }
+
+  @Test
+  void takesClientSchemeFromUrl() {
+    HttpMetricsAttributesCache cache = new HttpMetricsAttributesCache(KEYS, true, 10);
+
+    Attributes attributes =
+        cache.get(
+            Attributes.builder()
+                .put(SemanticAttributes.URL_FULL, "ftp://example.com/file")
+                .put(SemanticAttributes.URL_SCHEME, "http")
+                .build(),
+            Attributes.empty());
+
+    assertThat(attributes).isEqualTo(Attributes.of(SemanticAttributes.URL_SCHEME, "ftp"));
+  }
+
+  private static Attributes request(String method, String path) {
+    return Attributes.builder()
+        .put(SemanticAttributes.HTTP_REQUEST_METHOD, method)
+        .put(SemanticAttributes.URL_PATH, path)
+        .build();
+  }
+}
@@ -21,6 +21,7 @@ import io.opentelemetry.semconv.SemanticAttributes;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -188,6 +189,73 @@ class HttpServerAttributesExtractorTest {
                 asList("654", "321")));
   }
 
+  @Test
+  void captureHeadersInSinglePass() {
+    Map<String, Object> request = new HashMap<>();
+    request.put("header.Custom-Request-Header", "123,456");
+    request.put("header.Other-Header", "abc");
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("header.CUSTOM-RESPONSE-HEADER", "654");
+
+    AttributesExtractor<Map<String, Object>, Map<String, Object>> extractor =
+        HttpServerAttributesExtractor.builder(new HeaderIteratingHttpServerAttributesGetter())
+            .setCapturedRequestHeaders(asList("custom-request-header", "missing-header"))
+            .setCapturedResponseHeaders(singletonList("Custom-Response-Header"))
+            .build();
+
+    AttributesBuilder startAttributes = Attributes.builder();
+    extractor.onStart(startAttributes, Context.root(), request);
+    assertThat(startAttributes.build())
+        .containsEntry(
+            AttributeKey.stringArrayKey("http.request.header.custom_request_header"),
+            asList("123", "456"))
+        .doesNotContainKey(AttributeKey.stringArrayKey("http.request.header.other_header"))
+        .doesNotContainKey(AttributeKey.stringArrayKey("http.request.header.missing_header"));
+
+    AttributesBuilder endAttributes = Attributes.builder();
+    extractor.onEnd(endAttributes, Context.root(), request, response, null);
+    assertThat(endAttributes.build())
+        .containsEntry(
+            AttributeKey.stringArrayKey("http.response.header.custom_response_header"),
+            singletonList("654"));
+  }
+
+  static class HeaderIteratingHttpServerAttributesGetter extends TestHttpServerAttributesGetter {
+
+    @Override
+    public List<String> getHttpRequestHeader(Map<String, Object> request, String name) {
+      return emptyList();
+    }
+
+    @Override
+    public boolean forEachHttpRequestHeader(
+        Map<String, Object> request, BiConsumer<String, String> consumer) {
+      forEach(request, consumer);
+      return true;
+    }
+
+    @Override
+    public boolean forEachHttpResponseHeader(
+        Map<String, Object> request,
+        Map<String, Object> response,
+        BiConsumer<String, String> consumer) {
+      forEach(response, consumer);
+      return true;
+    }
+
+    private static void forEach(Map<String, Object> message, BiConsumer<String, String> consumer) {
+      message.forEach(
+          (key, values) -> {
+            if (key.startsWith("header.")) {
+              for (String value : ((String) values).split(",")) {
+                consumer.accept(key.substring("header.".length()), value);
+              }
+            }
+          });
+    }
+  }
+
   @Test
   void extractClientIpFromX_Forwarded_For() {
     Map<String, Object> request = new HashMap<>();
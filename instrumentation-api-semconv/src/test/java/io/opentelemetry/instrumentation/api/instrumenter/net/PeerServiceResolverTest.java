@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.instrumenter.net;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -35,4 +36,47 @@ class PeerServiceResolverTest {
     assertEquals(
         "someOtherServiceAPI", peerServiceResolver.resolveService("1.2.3.4", null, () -> "/api"));
   }
+
+  @Test
+  void testLongestPathPrefix() {
+    Map<String, String> peerServiceMapping = new HashMap<>();
+    peerServiceMapping.put("example.com:8080/api", "api");
+    peerServiceMapping.put("example.com:8080/api/v2", "apiV2");
+    peerServiceMapping.put("example.com:8080/apis", "apis");
+
+    PeerServiceResolver peerServiceResolver = PeerServiceResolver.create(peerServiceMapping);
+
+    assertEquals("api", peerServiceResolver.resolveService("example.com", 8080, () -> "/api/v1"));
+    assertEquals(
+        "apiV2", peerServiceResolver.resolveService("example.com", 8080, () -> "/api/v2/users"));
+    assertEquals("apis", peerServiceResolver.resolveService("example.com", 8080, () -> "/apis"));
+    assertNull(peerServiceResolver.resolveService("example.com", 8080, () -> "/ap"));
+    assertNull(peerServiceResolver.resolveService("example.com", 9000, () -> "/api"));
+  }
+
+  @Test
+  void testWildcardHost() {
+    Map<String, String> peerServiceMapping = new HashMap<>();
+    peerServiceMapping.put("*.example.com", "example");
+    peerServiceMapping.put("*.internal.example.com", "internal");
+    peerServiceMapping.put("*.internal.example.com:8080", "internal8080");
+    peerServiceMapping.put("db.internal.example.com:5432", "db");
+
+    PeerServiceResolver peerServiceResolver = PeerServiceResolver.create(peerServiceMapping);
+
+    assertEquals("example", peerServiceResolver.resolveService("www.example.com", null, null));
+    assertEquals(
+        "internal", peerServiceResolver.resolveService("a.b.internal.example.com", null, null));
+    assertEquals(
+        "internal8080", peerServiceResolver.resolveService("a.internal.example.com", 8080, null));
+    assertEquals("db", peerServiceResolver.resolveService("db.internal.example.com", 5432, null));
+    // exact host entries that don't match fall back to the wildcard entries
+    assertEquals(
+        "internal", peerServiceResolver.resolveService("db.internal.example.com", null, null));
+    assertEquals(
+        "internal8080", peerServiceResolver.resolveService("db.internal.example.com", 8080, null));
+    assertEquals("example", peerServiceResolver.resolveService("internal.example.com", null, null));
+    assertNull(peerServiceResolver.resolveService("example.com", null, null));
+    assertNull(peerServiceResolver.resolveService("www.example.org", null, null));
+  }
 }
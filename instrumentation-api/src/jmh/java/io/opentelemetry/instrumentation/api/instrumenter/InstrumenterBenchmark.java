@@ -21,7 +21,9 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -33,24 +35,35 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Thread)
 public class InstrumenterBenchmark {
 
-  private static final Instrumenter<Void, Void> INSTRUMENTER =
-      Instrumenter.<Void, Void>builder(
-              OpenTelemetry.noop(),
-              "benchmark",
-              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
-          .addAttributesExtractor(
-              HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
-          .buildInstrumenter();
+  // compare the allocation rate of both attributes storages with the gc profiler, which is enabled
+  // by default in the jmh conventions (gc.alloc.rate.norm is the number of bytes per operation)
+  @Param({"false", "true"})
+  boolean compactAttributes;
+
+  Instrumenter<Void, Void> instrumenter;
+
+  @Setup
+  public void setup() {
+    instrumenter =
+        Instrumenter.<Void, Void>builder(
+                OpenTelemetry.noop(),
+                "benchmark",
+                HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+            .addAttributesExtractor(
+                HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+            .setCompactAttributesEnabled(compactAttributes)
+            .buildInstrumenter();
+  }
 
   @Benchmark
   public Context start() {
-    return INSTRUMENTER.start(Context.root(), null);
+    return instrumenter.start(Context.root(), null);
   }
 
   @Benchmark
   public Context startEnd() {
-    Context context = INSTRUMENTER.start(Context.root(), null);
-    INSTRUMENTER.end(context, null, null, null);
+    Context context = instrumenter.start(Context.root(), null);
+    instrumenter.end(context, null, null, null);
     return context;
   }
 
@@ -0,0 +1,211 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * An array backed alternative to {@link UnsafeAttributes}. Keys and values are kept in two parallel
+ * arrays using open addressing with linear probing, so that adding an attribute does not allocate
+ * a map entry. Just like {@link UnsafeAttributes}, the same storage is used both as the builder and
+ * as the built attributes; in addition, an instance can be {@linkplain #clear() cleared} and reused
+ * for another operation.
+ */
+final class CompactAttributes implements Attributes, AttributesBuilder {
+
+  private static final int MIN_CAPACITY = 8;
+
+  private AttributeKey<?>[] keys;
+  private Object[] values;
+  private int size;
+
+  CompactAttributes(int expectedSize) {
+    int capacity = tableSizeFor(expectedSize);
+    keys = new AttributeKey<?>[capacity];
+    values = new Object[capacity];
+  }
+
+  /**
+   * Returns a table size that keeps the load factor at or below 0.5 for the given number of
+   * attributes.
+   */
+  static int tableSizeFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2 && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /** Removes all attributes, keeping the already allocated storage. */
+  void clear() {
+    if (size != 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+      size = 0;
+    }
+  }
+
+  // Attributes
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> T get(AttributeKey<T> key) {
+    if (key == null) {
+      return null;
+    }
+    AttributeKey<?>[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+      AttributeKey<?> existing = keys[i];
+      if (existing == null) {
+        return null;
+      }
+      if (existing.equals(key)) {
+        return (T) values[i];
+      }
+    }
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
+    AttributeKey<?>[] keys = this.keys;
+    Object[] values = this.values;
+    for (int i = 0; i < keys.length; i++) {
+      AttributeKey<?> key = keys[i];
+      if (key != null) {
+        action.accept(key, values[i]);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // This can be called by user code in a RequestListener so copy. In practice, it should not be
+  // called as there is no real use case.
+  @Override
+  public Map<AttributeKey<?>, Object> asMap() {
+    Map<AttributeKey<?>, Object> map = new HashMap<>(size * 2);
+    forEach(map::put);
+    return Collections.unmodifiableMap(map);
+  }
+
+  // This can be called by user code in a RequestListener so copy. In practice, it should not be
+  // called as there is no real use case.
+  @Override
+  public AttributesBuilder toBuilder() {
+    return Attributes.builder().putAll(this);
+  }
+
+  // AttributesBuilder
+
+  // This can be called by user code in an AttributesExtractor so copy. In practice, it should not
+  // be called as there is no real use case.
+  @Override
+  public Attributes build() {
+    return toBuilder().build();
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  public <T> AttributesBuilder put(AttributeKey<Long> key, int value) {
+    return put(key, (long) value);
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  public <T> AttributesBuilder put(AttributeKey<T> key, T value) {
+    if (key == null) {
+      return this;
+    }
+    if ((size + 1) * 2 > keys.length) {
+      resize();
+    }
+    int mask = keys.length - 1;
+    for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+      AttributeKey<?> existing = keys[i];
+      if (existing == null) {
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return this;
+      }
+      if (existing.equals(key)) {
+        values[i] = value;
+        return this;
+      }
+    }
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  public AttributesBuilder putAll(Attributes attributes) {
+    attributes.forEach(this::putUnchecked);
+    return this;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void putUnchecked(AttributeKey<?> key, Object value) {
+    put((AttributeKey<Object>) key, value);
+  }
+
+  private void resize() {
+    AttributeKey<?>[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new AttributeKey<?>[oldKeys.length * 2];
+    values = new Object[oldKeys.length * 2];
+    int mask = keys.length - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      AttributeKey<?> key = oldKeys[j];
+      if (key == null) {
+        continue;
+      }
+      int i = hash(key) & mask;
+      while (keys[i] != null) {
+        i = (i + 1) & mask;
+      }
+      keys[i] = key;
+      values[i] = oldValues[j];
+    }
+  }
+
+  private static int hash(AttributeKey<?> key) {
+    int h = key.hashCode();
+    // spread the higher bits, the table size is always a power of two
+    return h ^ (h >>> 16);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    forEach(
+        (key, value) -> {
+          if (sb.length() > 1) {
+            sb.append(", ");
+          }
+          sb.append(key).append('=').append(value);
+        });
+    return sb.append('}').toString();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Fuses all {@link AttributesExtractor}s of an {@link Instrumenter} into a single extractor that is
+ * precomputed when the {@link Instrumenter} is built. The extractors are kept in an array, so that
+ * calling them does not go through the {@link List} interface and its iterator on every request.
+ */
+final class CompositeAttributesExtractor<REQUEST, RESPONSE>
+    implements AttributesExtractor<REQUEST, RESPONSE> {
+
+  /**
+   * Returns a single extractor calling all passed extractors in order; {@code null} if there are
+   * none, so that the caller can skip the call altogether.
+   */
+  @Nullable
+  static <REQUEST, RESPONSE> AttributesExtractor<? super REQUEST, ? super RESPONSE> compose(
+      List<? extends AttributesExtractor<? super REQUEST, ? super RESPONSE>> extractors) {
+    switch (extractors.size()) {
+      case 0:
+        return null;
+      case 1:
+        return extractors.get(0);
+      default:
+        return new CompositeAttributesExtractor<>(extractors);
+    }
+  }
+
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] extractors;
+
+  @SuppressWarnings("unchecked")
+  private CompositeAttributesExtractor(
+      List<? extends AttributesExtractor<? super REQUEST, ? super RESPONSE>> extractors) {
+    this.extractors = extractors.toArray(new AttributesExtractor[0]);
+  }
+
+  @Override
+  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
+    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : extractors) {
+      extractor.onStart(attributes, parentContext, request);
+    }
+  }
+
+  @Override
+  public void onEnd(
+      AttributesBuilder attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error) {
+    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : extractors) {
+      extractor.onEnd(attributes, context, request, response, error);
+    }
+  }
+}
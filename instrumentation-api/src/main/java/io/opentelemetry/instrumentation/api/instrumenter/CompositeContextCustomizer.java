@@ -0,0 +1,52 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Fuses all {@link ContextCustomizer}s of an {@link Instrumenter} into a single customizer, each one
+ * receiving the context returned by the previous one.
+ */
+final class CompositeContextCustomizer<REQUEST> implements ContextCustomizer<REQUEST> {
+
+  /**
+   * Returns a single customizer calling all passed customizers in order; {@code null} if there are
+   * none, so that the caller can skip the call altogether.
+   */
+  @Nullable
+  static <REQUEST> ContextCustomizer<? super REQUEST> compose(
+      List<? extends ContextCustomizer<? super REQUEST>> customizers) {
+    switch (customizers.size()) {
+      case 0:
+        return null;
+      case 1:
+        return customizers.get(0);
+      default:
+        return new CompositeContextCustomizer<>(customizers);
+    }
+  }
+
+  private final ContextCustomizer<? super REQUEST>[] customizers;
+
+  @SuppressWarnings("unchecked")
+  private CompositeContextCustomizer(
+      List<? extends ContextCustomizer<? super REQUEST>> customizers) {
+    this.customizers = customizers.toArray(new ContextCustomizer[0]);
+  }
+
+  @Override
+  public Context onStart(Context parentContext, REQUEST request, Attributes startAttributes) {
+    Context context = parentContext;
+    for (ContextCustomizer<? super REQUEST> customizer : customizers) {
+      context = customizer.onStart(context, request, startAttributes);
+    }
+    return context;
+  }
+}
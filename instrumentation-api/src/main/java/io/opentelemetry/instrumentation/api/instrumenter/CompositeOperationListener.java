@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Fuses all {@link OperationListener}s of an {@link Instrumenter} into a single listener. Listeners
+ * are started in order and ended in the reverse order.
+ */
+final class CompositeOperationListener implements OperationListener {
+
+  /**
+   * Returns a single listener calling all passed listeners; {@code null} if there are none, so that
+   * the caller can skip reading the clock.
+   */
+  @Nullable
+  static OperationListener compose(List<? extends OperationListener> listeners) {
+    switch (listeners.size()) {
+      case 0:
+        return null;
+      case 1:
+        return listeners.get(0);
+      default:
+        return new CompositeOperationListener(listeners);
+    }
+  }
+
+  private final OperationListener[] listeners;
+
+  private CompositeOperationListener(List<? extends OperationListener> listeners) {
+    this.listeners = listeners.toArray(new OperationListener[0]);
+  }
+
+  @Override
+  public Context onStart(Context parentContext, Attributes startAttributes, long startNanos) {
+    Context context = parentContext;
+    for (OperationListener listener : listeners) {
+      context = listener.onStart(context, startAttributes, startNanos);
+    }
+    return context;
+  }
+
+  @Override
+  public void onEnd(Context context, Attributes endAttributes, long endNanos) {
+    for (int i = listeners.length - 1; i >= 0; i--) {
+      listeners[i].onEnd(context, endAttributes, endNanos);
+    }
+  }
+}
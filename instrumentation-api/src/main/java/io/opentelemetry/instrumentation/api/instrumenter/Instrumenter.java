@@ -6,6 +6,9 @@
 package io.opentelemetry.instrumentation.api.instrumenter;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanKind;
@@ -13,11 +16,11 @@ import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterAccess;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
+import io.opentelemetry.instrumentation.api.internal.StackTraceFormatter;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
@@ -79,19 +82,34 @@ public class Instrumenter<REQUEST, RESPONSE> {
 
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
+  // used to pre-size the compact attributes storage, most extractors set just a few attributes
+  private static final int EXPECTED_ATTRIBUTES_PER_EXTRACTOR = 4;
+
+  private static final AttributeKey<String> EXCEPTION_TYPE =
+      AttributeKey.stringKey("exception.type");
+  private static final AttributeKey<String> EXCEPTION_MESSAGE =
+      AttributeKey.stringKey("exception.message");
+  private static final AttributeKey<String> EXCEPTION_STACKTRACE =
+      AttributeKey.stringKey("exception.stacktrace");
+
   private final String instrumentationName;
   private final Tracer tracer;
   private final SpanNameExtractor<? super REQUEST> spanNameExtractor;
   private final SpanKindExtractor<? super REQUEST> spanKindExtractor;
   private final SpanStatusExtractor<? super REQUEST, ? super RESPONSE> spanStatusExtractor;
   private final List<? extends SpanLinksExtractor<? super REQUEST>> spanLinksExtractors;
-  private final List<? extends AttributesExtractor<? super REQUEST, ? super RESPONSE>> attributesExtractors;
-  private final List<? extends ContextCustomizer<? super REQUEST>> contextCustomizers;
+  // extractors, customizers and listeners are each fused into a single instance when the
+  // instrumenter is built, null when none were registered
+  @Nullable private final AttributesExtractor<? super REQUEST, ? super RESPONSE> attributesExtractor;
+  @Nullable private final ContextCustomizer<? super REQUEST> contextCustomizer;
   // 处理Metrics的逻辑
-  private final List<? extends OperationListener> operationListeners;
+  @Nullable private final OperationListener operationListener;
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean enabled;
   private final SpanSuppressor spanSuppressor;
+  // 开启后使用基于数组的CompactAttributes，并在end时复用线程本地的属性存储
+  private final boolean compactAttributes;
+  private final int expectedAttributes;
 
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
     this.instrumentationName = builder.instrumentationName;
@@ -100,12 +118,15 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.spanKindExtractor = builder.spanKindExtractor;
     this.spanStatusExtractor = builder.spanStatusExtractor;
     this.spanLinksExtractors = new ArrayList<>(builder.spanLinksExtractors);
-    this.attributesExtractors = new ArrayList<>(builder.attributesExtractors);
-    this.contextCustomizers = new ArrayList<>(builder.contextCustomizers);
-    this.operationListeners = builder.buildOperationListeners();
+    this.attributesExtractor = builder.buildAttributesExtractor();
+    this.contextCustomizer = builder.buildContextCustomizer();
+    this.operationListener = builder.buildOperationListener();
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.enabled = builder.enabled;
     this.spanSuppressor = builder.buildSpanSuppressor();
+    this.compactAttributes = builder.compactAttributes;
+    this.expectedAttributes =
+        builder.attributesExtractors.size() * EXPECTED_ATTRIBUTES_PER_EXTRACTOR;
   }
 
   /**
@@ -173,6 +194,17 @@ public class Instrumenter<REQUEST, RESPONSE> {
   }
 
   private Context doStart(Context parentContext, REQUEST request, @Nullable Instant startTime) {
+    // start attributes may be retained by operation listeners (e.g. the metrics listeners store them
+    // in the context), so they are never reused
+    if (compactAttributes) {
+      return startSpan(
+          parentContext, request, startTime, new CompactAttributes(expectedAttributes));
+    }
+    return startSpan(parentContext, request, startTime, new UnsafeAttributes());
+  }
+
+  private <A extends Attributes & AttributesBuilder> Context startSpan(
+      Context parentContext, REQUEST request, @Nullable Instant startTime, A attributes) {
     /*
      * 默认是SpanKind.INTERNAL 在build时被设置为SpanKind.CLIENT，其实就是标识Span的类型
      *  - server 用于服务器操作，例如 HTTP 服务器处理程序。
@@ -191,9 +223,11 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
     // jedis对应的spanLinksExtractors为空
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (!spanLinksExtractors.isEmpty()) {
+      SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
+      for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+        spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+      }
     }
 
     /*
@@ -209,9 +243,8 @@ public class Instrumenter<REQUEST, RESPONSE> {
      *    - server.address
      *    - server.port
      */
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onStart(attributes, parentContext, request);
+    if (attributesExtractor != null) {
+      attributesExtractor.onStart(attributes, parentContext, request);
     }
 
     Context context = parentContext;
@@ -221,7 +254,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     /*
      * contextCustomizers是在span start之前执行，因此可以访问span的父context，且contextCustomizers添加的属性对span可见
      */
-    for (ContextCustomizer<? super REQUEST> contextCustomizer : contextCustomizers) {
+    if (contextCustomizer != null) {
       context = contextCustomizer.onStart(context, request, attributes);
     }
     // 这里判断context为空或父Span是一个远程Span，则localRoot返回true
@@ -234,14 +267,12 @@ public class Instrumenter<REQUEST, RESPONSE> {
     context = context.with(span);
 
     // 处理Metrics逻辑
-    if (!operationListeners.isEmpty()) {
+    if (operationListener != null) {
       // operation listeners run after span start, so that they have access to the current span
       // for capturing exemplars
       long startNanos = getNanos(startTime);
       // 这里是对Metrics进行处理
-      for (OperationListener operationListener : operationListeners) {
-        context = operationListener.onStart(context, attributes, startNanos);
-      }
+      context = operationListener.onStart(context, attributes, startNanos);
     }
 
     if (localRoot) {  // 这里也是调用context.with(span)
@@ -265,25 +296,49 @@ public class Instrumenter<REQUEST, RESPONSE> {
       // 这里是对方法执行异常提取异常堆栈信息，并通过recordException生成Event添加到Span中
       // errorCauseExtractor默认为DefaultErrorCauseExtractor
       error = errorCauseExtractor.extract(error);
-      span.recordException(error);
+      recordException(span, error);
+    }
+
+    if (compactAttributes) {
+      ReusableEndState state = ReusableEndState.acquire(span, expectedAttributes);
+      try {
+        endSpan(context, span, request, response, error, endTime, state.attributes(), state);
+      } finally {
+        state.release();
+      }
+    } else {
+      endSpan(
+          context,
+          span,
+          request,
+          response,
+          error,
+          endTime,
+          new UnsafeAttributes(),
+          new SpanStatusBuilderImpl(span));
     }
+  }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onEnd(attributes, context, request, response, error);
+  private <A extends Attributes & AttributesBuilder> void endSpan(
+      Context context,
+      Span span,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      @Nullable Instant endTime,
+      A attributes,
+      SpanStatusBuilder spanStatusBuilder) {
+    if (attributesExtractor != null) {
+      attributesExtractor.onEnd(attributes, context, request, response, error);
     }
     span.setAllAttributes(attributes);
 
     // 处理Metrics逻辑
-    if (!operationListeners.isEmpty()) {
+    if (operationListener != null) {
       long endNanos = getNanos(endTime);
-      ListIterator<? extends OperationListener> i = operationListeners.listIterator(operationListeners.size());
-      while (i.hasPrevious()) {
-        i.previous().onEnd(context, attributes, endNanos);
-      }
+      operationListener.onEnd(context, attributes, endNanos);
     }
 
-    SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
     spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
 
     // 这里调用span.end，从而调用SdkSpan的end方法，最终调用SpanProcessor的onEnd方法
@@ -295,6 +350,26 @@ public class Instrumenter<REQUEST, RESPONSE> {
     }
   }
 
+  private static void recordException(Span span, Throwable error) {
+    if (!StackTraceFormatter.isCustomized()) {
+      span.recordException(error);
+      return;
+    }
+    // the same event that Span.recordException() adds, with the cached and possibly limited stack
+    // trace
+    AttributesBuilder attributes = Attributes.builder();
+    String type = error.getClass().getCanonicalName();
+    if (type != null) {
+      attributes.put(EXCEPTION_TYPE, type);
+    }
+    String message = error.getMessage();
+    if (message != null) {
+      attributes.put(EXCEPTION_MESSAGE, message);
+    }
+    attributes.put(EXCEPTION_STACKTRACE, StackTraceFormatter.format(error));
+    span.addEvent("exception", attributes.build());
+  }
+
   private static long getNanos(@Nullable Instant time) {
     if (time == null) {
       return System.nanoTime();
@@ -48,6 +48,10 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
   private static final SpanSuppressionStrategy spanSuppressionStrategy = SpanSuppressionStrategy.fromConfig(
           ConfigPropertiesUtil.getString("otel.instrumentation.experimental.span-suppression-strategy"));
 
+  // 开启后Instrumenter使用基于数组的属性存储，并复用end阶段的属性存储以减少内存分配
+  private static final boolean compactAttributesEnabled = ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.compact-attributes.enabled", false);
+
   final OpenTelemetry openTelemetry;
   final String instrumentationName;
   final SpanNameExtractor<? super REQUEST> spanNameExtractor;
@@ -70,6 +74,7 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
   SpanStatusExtractor<? super REQUEST, ? super RESPONSE> spanStatusExtractor = SpanStatusExtractor.getDefault();
   ErrorCauseExtractor errorCauseExtractor = ErrorCauseExtractor.getDefault();
   boolean enabled = true;
+  boolean compactAttributes = compactAttributesEnabled;
 
   InstrumenterBuilder(
       OpenTelemetry openTelemetry,
@@ -195,6 +200,18 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  /**
+   * Enables or disables the compact, array backed attributes storage. When enabled, the {@link
+   * Instrumenter} also reuses a thread-local storage for the end attributes and the {@link
+   * SpanStatusBuilder}. Defaults to the value of the {@code
+   * otel.instrumentation.experimental.compact-attributes.enabled} property.
+   */
+  @CanIgnoreReturnValue
+  InstrumenterBuilder<REQUEST, RESPONSE> setCompactAttributesEnabled(boolean compactAttributes) {
+    this.compactAttributes = compactAttributes;
+    return this;
+  }
+
   /**
    * Returns a new {@link Instrumenter} which will create {@linkplain SpanKind#CLIENT client} spans
    * and inject context into requests with the passed {@link TextMapSetter}.
@@ -301,6 +318,33 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return tracerBuilder.build();
   }
 
+  /**
+   * Fuses all {@link AttributesExtractor}s into a single one, so that the {@link Instrumenter} makes
+   * exactly one call per request phase; returns {@code null} when there are no extractors.
+   */
+  @Nullable
+  AttributesExtractor<? super REQUEST, ? super RESPONSE> buildAttributesExtractor() {
+    return CompositeAttributesExtractor.compose(attributesExtractors);
+  }
+
+  /**
+   * Fuses all {@link ContextCustomizer}s into a single one; returns {@code null} when there are no
+   * customizers.
+   */
+  @Nullable
+  ContextCustomizer<? super REQUEST> buildContextCustomizer() {
+    return CompositeContextCustomizer.compose(contextCustomizers);
+  }
+
+  /**
+   * Fuses all {@link OperationListener}s, including the ones created by the registered {@link
+   * OperationMetrics}, into a single one; returns {@code null} when there are no listeners.
+   */
+  @Nullable
+  OperationListener buildOperationListener() {
+    return CompositeOperationListener.compose(buildOperationListeners());
+  }
+
   /**
    * 构建Metrics处理的Meter
    */
@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import javax.annotation.Nullable;
+
+/**
+ * Thread-local scratch space used by {@link Instrumenter} to end an operation without allocating.
+ * Holds the end {@link CompactAttributes} and doubles as the {@link SpanStatusBuilder} passed to the
+ * {@link SpanStatusExtractor}.
+ *
+ * <p>Nothing stored here may escape the {@code Instrumenter.end()} call: the SDK copies attributes
+ * in {@link Span#setAllAttributes(io.opentelemetry.api.common.Attributes)}, and {@link
+ * OperationListener#onEnd} implementations only read the end attributes synchronously. When the
+ * state of the current thread is already in use (e.g. a nested {@code end()} called from an
+ * extractor or a listener) a new, non-pooled instance is returned instead.
+ */
+final class ReusableEndState implements SpanStatusBuilder {
+
+  private static final int DEFAULT_EXPECTED_ATTRIBUTES = 16;
+
+  private static final ThreadLocal<ReusableEndState> CURRENT =
+      new ThreadLocal<ReusableEndState>() {
+        @Override
+        protected ReusableEndState initialValue() {
+          return new ReusableEndState(true, DEFAULT_EXPECTED_ATTRIBUTES);
+        }
+      };
+
+  private final boolean pooled;
+  private final CompactAttributes attributes;
+  private boolean inUse;
+  @Nullable private Span span;
+
+  private ReusableEndState(boolean pooled, int expectedAttributes) {
+    this.pooled = pooled;
+    this.attributes = new CompactAttributes(expectedAttributes);
+  }
+
+  static ReusableEndState acquire(Span span, int expectedAttributes) {
+    ReusableEndState state = CURRENT.get();
+    if (state.inUse) {
+      state = new ReusableEndState(false, expectedAttributes);
+    }
+    state.inUse = true;
+    state.span = span;
+    return state;
+  }
+
+  CompactAttributes attributes() {
+    return attributes;
+  }
+
+  void release() {
+    span = null;
+    if (pooled) {
+      attributes.clear();
+      inUse = false;
+    }
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  public SpanStatusBuilder setStatus(StatusCode statusCode, String description) {
+    if (span != null) {
+      span.setStatus(statusCode, description);
+    }
+    return this;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hands items over to a single daemon thread that processes them in batches. Items are stored in a
+ * bounded queue that is allocated up front; when the queue is full the item is dropped instead of
+ * blocking the calling thread, see {@link #getDroppedCount()}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AsyncBatchProcessor<T> {
+
+  private static final Logger logger = Logger.getLogger(AsyncBatchProcessor.class.getName());
+
+  private final BlockingQueue<T> queue;
+  private final int maxBatchSize;
+  private final Consumer<T> processor;
+  private final LongAdder droppedCount = new LongAdder();
+  private final Thread worker;
+  private volatile boolean shutdown;
+
+  /**
+   * Creates a processor and starts its worker thread.
+   *
+   * @param threadName the name of the worker thread
+   * @param capacity the maximum number of items waiting to be processed
+   * @param maxBatchSize the maximum number of items the worker takes from the queue at once
+   * @param processor processes a single item, called on the worker thread
+   */
+  public static <T> AsyncBatchProcessor<T> create(
+      String threadName, int capacity, int maxBatchSize, Consumer<T> processor) {
+    AsyncBatchProcessor<T> batchProcessor =
+        new AsyncBatchProcessor<>(threadName, capacity, maxBatchSize, processor);
+    batchProcessor.worker.start();
+    return batchProcessor;
+  }
+
+  private AsyncBatchProcessor(
+      String threadName, int capacity, int maxBatchSize, Consumer<T> processor) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.maxBatchSize = maxBatchSize;
+    this.processor = processor;
+    this.worker = new Thread(this::run, threadName);
+    this.worker.setDaemon(true);
+  }
+
+  /**
+   * Queues the item for processing. Returns {@code false} and counts the item as dropped when the
+   * queue is full or the processor was shut down.
+   */
+  public boolean offer(T item) {
+    if (shutdown || !queue.offer(item)) {
+      droppedCount.increment();
+      return false;
+    }
+    return true;
+  }
+
+  /** Returns the number of items that were dropped since this processor was created. */
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  /**
+   * Stops accepting new items and waits up to {@code timeout} for the worker to process the items
+   * that are already queued. A {@code timeout} shorter than a millisecond does not wait, the worker
+   * then processes the queued items in the background.
+   */
+  public void shutdown(long timeout, TimeUnit unit) {
+    shutdown = true;
+    worker.interrupt();
+    long timeoutMillis = unit.toMillis(timeout);
+    if (timeoutMillis <= 0) {
+      // Thread.join(0) would wait forever
+      return;
+    }
+    try {
+      worker.join(timeoutMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    List<T> batch = new ArrayList<>(maxBatchSize);
+    while (!shutdown) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        // shutdown was requested
+        continue;
+      }
+      queue.drainTo(batch, maxBatchSize - 1);
+      process(batch);
+    }
+    while (queue.drainTo(batch, maxBatchSize) > 0) {
+      process(batch);
+    }
+  }
+
+  private void process(List<T> batch) {
+    for (T item : batch) {
+      try {
+        processor.accept(item);
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "Failed to process item on " + worker.getName(), e);
+      }
+    }
+    batch.clear();
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static java.util.Collections.emptyList;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Renders the stack trace of a {@link Throwable} the way {@link Throwable#printStackTrace()} does.
+ *
+ * <p>By default the stack trace is printed by the throwable itself. The experimental properties
+ * below switch to an equivalent renderer that can limit the number of frames printed for every
+ * throwable of the cause chain, limit the length of the rendered string, and reuse the rendered
+ * frames for throwables with the same types and frames, as thrown over and over again when a
+ * dependency is down. Only the messages, which often vary, are inserted in the cached rendering:
+ *
+ * <ul>
+ *   <li>{@code otel.instrumentation.common.experimental.stacktrace.max-frames}
+ *   <li>{@code otel.instrumentation.common.experimental.stacktrace.max-length}
+ *   <li>{@code otel.instrumentation.common.experimental.stacktrace.cache-size}
+ * </ul>
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class StackTraceFormatter {
+
+  private static final String CAUSE_CAPTION = "Caused by: ";
+  private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+  private static final StackTraceFormatter INSTANCE =
+      new StackTraceFormatter(
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.common.experimental.stacktrace.max-frames", 0),
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.common.experimental.stacktrace.max-length", 0),
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.common.experimental.stacktrace.cache-size", 0));
+
+  private final int maxFrames;
+  private final int maxLength;
+  @Nullable private final Cache<ThrowableNode, String[]> cache;
+  private final String lineSeparator = System.lineSeparator();
+
+  // visible for testing
+  StackTraceFormatter(int maxFrames, int maxLength, int cacheSize) {
+    this.maxFrames = maxFrames;
+    this.maxLength = maxLength;
+    this.cache = cacheSize > 0 ? Cache.bounded(cacheSize) : null;
+  }
+
+  /**
+   * Returns whether any of the experimental properties is set, in which case the stack trace
+   * rendered by this class may differ from the one rendered by {@link Throwable#printStackTrace()}.
+   */
+  public static boolean isCustomized() {
+    return INSTANCE.customized();
+  }
+
+  /** Returns the stack trace of the given {@link Throwable}. */
+  public static String format(Throwable throwable) {
+    return INSTANCE.render(throwable);
+  }
+
+  private boolean customized() {
+    return maxFrames > 0 || maxLength > 0 || cache != null;
+  }
+
+  // visible for testing
+  String render(Throwable throwable) {
+    if (!customized()) {
+      StringWriter writer = new StringWriter();
+      throwable.printStackTrace(new PrintWriter(writer));
+      return writer.toString();
+    }
+
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<String> descriptions = new ArrayList<>();
+    ThrowableNode node = ThrowableNode.create(throwable, "", seen, descriptions);
+    String[] template = cache != null ? cache.computeIfAbsent(node, this::render) : render(node);
+    return fill(template, descriptions);
+  }
+
+  // visible for testing
+  boolean isCached(Throwable throwable) {
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    ThrowableNode node = ThrowableNode.create(throwable, "", seen, new ArrayList<>());
+    return cache != null && cache.get(node) != null;
+  }
+
+  // inserts the descriptions, which include the messages, between the rendered parts
+  private String fill(String[] template, List<String> descriptions) {
+    StringBuilder sb = new StringBuilder(1024);
+    for (int i = 0; i < template.length; i++) {
+      sb.append(template[i]);
+      if (i < descriptions.size()) {
+        sb.append(descriptions.get(i));
+      }
+      if (maxLength > 0 && sb.length() >= maxLength) {
+        break;
+      }
+    }
+    if (maxLength > 0 && sb.length() > maxLength) {
+      sb.setLength(maxLength);
+    }
+    return sb.toString();
+  }
+
+  // renders the parts of the stack trace before, between and after the descriptions
+  private String[] render(ThrowableNode node) {
+    List<String> parts = new ArrayList<>();
+    StringBuilder sb = new StringBuilder(1024);
+    render(sb, parts, node, new StackTraceElement[0], "");
+    parts.add(sb.toString());
+    return parts.toArray(new String[0]);
+  }
+
+  private static void endPart(StringBuilder sb, List<String> parts) {
+    parts.add(sb.toString());
+    sb.setLength(0);
+  }
+
+  // same output as Throwable.printEnclosedStackTrace(), except for the frame limit
+  private void render(
+      StringBuilder sb,
+      List<String> parts,
+      ThrowableNode node,
+      StackTraceElement[] enclosingTrace,
+      String prefix) {
+    if (node.trace == null) {
+      sb.append(prefix).append(node.caption).append("[CIRCULAR REFERENCE: ");
+      endPart(sb, parts);
+      sb.append(']').append(lineSeparator);
+      return;
+    }
+
+    StackTraceElement[] trace = node.trace;
+    // compute the number of frames in common with the enclosing trace
+    int m = trace.length - 1;
+    int n = enclosingTrace.length - 1;
+    while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+      m--;
+      n--;
+    }
+    int framesInCommon = trace.length - 1 - m;
+    int uniqueFrames = m + 1;
+    int printedFrames = maxFrames > 0 ? Math.min(uniqueFrames, maxFrames) : uniqueFrames;
+
+    sb.append(prefix).append(node.caption);
+    endPart(sb, parts);
+    sb.append(lineSeparator);
+    for (int i = 0; i < printedFrames; i++) {
+      if (maxLength > 0 && sb.length() >= maxLength) {
+        break;
+      }
+      sb.append(prefix).append("\tat ").append(trace[i]).append(lineSeparator);
+    }
+    int omittedFrames = uniqueFrames - printedFrames + framesInCommon;
+    if (omittedFrames != 0) {
+      sb.append(prefix)
+          .append("\t... ")
+          .append(omittedFrames)
+          .append(" more")
+          .append(lineSeparator);
+    }
+
+    for (ThrowableNode enclosed : node.enclosed) {
+      String enclosedPrefix = enclosed.caption.equals(SUPPRESSED_CAPTION) ? prefix + "\t" : prefix;
+      render(sb, parts, enclosed, trace, enclosedPrefix);
+    }
+  }
+
+  /**
+   * The parts of a throwable and its suppressed and cause throwables that determine the rendered
+   * stack trace apart from the messages, used as the cache key: the class name of every throwable
+   * and its frames. The messages are collected separately, in rendering order, so that throwables
+   * that differ only by their messages share the cached rendering. Neither class names nor frames
+   * hold on to the classes of the application, so cached keys don't pin their class loaders.
+   */
+  private static final class ThrowableNode {
+
+    private final String caption;
+    private final String type;
+    // null for a circular reference
+    @Nullable private final StackTraceElement[] trace;
+    private final long fingerprint;
+    private final List<ThrowableNode> enclosed;
+    private final int hashCode;
+
+    static ThrowableNode create(
+        Throwable throwable, String caption, Set<Throwable> seen, List<String> descriptions) {
+      descriptions.add(throwable.toString());
+      if (!seen.add(throwable)) {
+        return new ThrowableNode(caption, throwable.getClass().getName(), null, emptyList());
+      }
+
+      StackTraceElement[] trace = throwable.getStackTrace();
+      Throwable[] suppressed = throwable.getSuppressed();
+      Throwable cause = throwable.getCause();
+      List<ThrowableNode> enclosed = emptyList();
+      if (suppressed.length > 0 || cause != null) {
+        enclosed = new ArrayList<>(suppressed.length + 1);
+        for (Throwable se : suppressed) {
+          enclosed.add(create(se, SUPPRESSED_CAPTION, seen, descriptions));
+        }
+        if (cause != null) {
+          enclosed.add(create(cause, CAUSE_CAPTION, seen, descriptions));
+        }
+      }
+      return new ThrowableNode(caption, throwable.getClass().getName(), trace, enclosed);
+    }
+
+    private ThrowableNode(
+        String caption,
+        String type,
+        @Nullable StackTraceElement[] trace,
+        List<ThrowableNode> enclosed) {
+      this.caption = caption;
+      this.type = type;
+      this.trace = trace;
+      this.fingerprint = fingerprint(trace);
+      this.enclosed = enclosed;
+      int hashCode = caption.hashCode();
+      hashCode = 31 * hashCode + type.hashCode();
+      hashCode = 31 * hashCode + Long.hashCode(fingerprint);
+      hashCode = 31 * hashCode + enclosed.hashCode();
+      this.hashCode = hashCode;
+    }
+
+    // a 64-bit hash of the frames and their number, checked before comparing the frames
+    private static long fingerprint(@Nullable StackTraceElement[] trace) {
+      if (trace == null) {
+        return -1;
+      }
+      long fingerprint = trace.length;
+      for (StackTraceElement element : trace) {
+        fingerprint = fingerprint * 0x9E3779B97F4A7C15L + element.hashCode();
+        fingerprint ^= fingerprint >>> 29;
+      }
+      return fingerprint;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ThrowableNode)) {
+        return false;
+      }
+      ThrowableNode other = (ThrowableNode) obj;
+      return hashCode == other.hashCode
+          && fingerprint == other.fingerprint
+          && type.equals(other.type)
+          && caption.equals(other.caption)
+          && Arrays.equals(trace, other.trace)
+          && enclosed.equals(other.enclosed);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
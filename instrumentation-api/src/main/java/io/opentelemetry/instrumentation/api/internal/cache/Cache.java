@@ -6,6 +6,8 @@
 package io.opentelemetry.instrumentation.api.internal.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.EntryWeigher;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.EvictionListener;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
@@ -38,6 +40,26 @@ public interface Cache<K, V> {
     return new MapBackedCache<>(map);
   }
 
+  /**
+   * Returns new bounded cache in which every entry consumes as many units of {@code capacity} as
+   * computed by the {@code weigher}. The {@code evictionListener} is notified of every entry that
+   * is evicted to keep the total weight within the capacity.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> weighted(
+      long capacity,
+      EntryWeigher<? super K, ? super V> weigher,
+      EvictionListener<K, V> evictionListener) {
+    ConcurrentLinkedHashMap<K, V> map =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(capacity)
+            .weigher(weigher)
+            .listener(evictionListener)
+            .build();
+    return new MapBackedCache<>(map);
+  }
+
   /**
    * Returns the cached value associated with the provided {@code key}. If no value is cached yet,
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import org.junit.jupiter.api.Test;
+
+class CompactAttributesTest {
+
+  @Test
+  void buildAndUse() {
+    Attributes previous =
+        new CompactAttributes(2).put("world", "earth").put("country", "japan").build();
+
+    CompactAttributes attributes = new CompactAttributes(2);
+    attributes.put(AttributeKey.stringKey("animal"), "cat");
+    attributes.put("needs_catnip", false);
+    // Overwrites
+    attributes.put("needs_catnip", true);
+    attributes.put(AttributeKey.longKey("lives"), 9);
+    attributes.putAll(previous);
+
+    assertThat((Attributes) attributes)
+        .containsOnly(
+            attributeEntry("world", "earth"),
+            attributeEntry("country", "japan"),
+            attributeEntry("animal", "cat"),
+            attributeEntry("needs_catnip", true),
+            attributeEntry("lives", 9L));
+    assertThat(attributes.get(AttributeKey.stringKey("animal"))).isEqualTo("cat");
+    assertThat(attributes.get(AttributeKey.stringKey("missing"))).isNull();
+
+    Attributes built = attributes.build();
+    attributes.put("clothes", "fur");
+
+    // Unmodified
+    assertThat(built)
+        .containsOnly(
+            attributeEntry("world", "earth"),
+            attributeEntry("country", "japan"),
+            attributeEntry("animal", "cat"),
+            attributeEntry("needs_catnip", true),
+            attributeEntry("lives", 9L));
+    assertThat(attributes.size()).isEqualTo(6);
+  }
+
+  @Test
+  void growsBeyondExpectedSize() {
+    CompactAttributes attributes = new CompactAttributes(1);
+    for (int i = 0; i < 100; i++) {
+      attributes.put(AttributeKey.longKey("key" + i), (long) i);
+    }
+
+    assertThat(attributes.size()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(attributes.get(AttributeKey.longKey("key" + i))).isEqualTo((long) i);
+    }
+  }
+
+  @Test
+  void clearAndReuse() {
+    CompactAttributes attributes = new CompactAttributes(4);
+    attributes.put("animal", "cat");
+    attributes.put("lives", 9L);
+
+    attributes.clear();
+    assertThat(attributes.isEmpty()).isTrue();
+    assertThat(attributes.get(AttributeKey.stringKey("animal"))).isNull();
+
+    attributes.put("animal", "dog");
+    assertThat((Attributes) attributes).containsOnly(attributeEntry("animal", "dog"));
+  }
+}
@@ -32,8 +32,10 @@ import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.StatusData;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -215,6 +217,51 @@ class InstrumenterTest {
                                 equalTo(AttributeKey.stringKey("resp3"), "resp3_value"))));
   }
 
+  @Test
+  void server_compactAttributes() {
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(new AttributesExtractor2())
+            .setCompactAttributesEnabled(true)
+            .buildServerInstrumenter(new MapGetter());
+
+    // the end attributes storage is reused, make sure nothing leaks between operations
+    for (int i = 0; i < 2; i++) {
+      Context context = instrumenter.start(Context.root(), REQUEST);
+      instrumenter.end(context, REQUEST, RESPONSE, i == 0 ? null : new IllegalStateException());
+    }
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasStatus(StatusData.unset())
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("req1"), "req1_value"),
+                                equalTo(AttributeKey.stringKey("req2"), "req2_2_value"),
+                                equalTo(AttributeKey.stringKey("req3"), "req3_value"),
+                                equalTo(AttributeKey.stringKey("resp1"), "resp1_value"),
+                                equalTo(AttributeKey.stringKey("resp2"), "resp2_2_value"),
+                                equalTo(AttributeKey.stringKey("resp3"), "resp3_value"))),
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasStatus(StatusData.error())
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("req1"), "req1_value"),
+                                equalTo(AttributeKey.stringKey("req2"), "req2_2_value"),
+                                equalTo(AttributeKey.stringKey("req3"), "req3_value"),
+                                equalTo(AttributeKey.stringKey("resp1"), "resp1_value"),
+                                equalTo(AttributeKey.stringKey("resp2"), "resp2_2_value"),
+                                equalTo(AttributeKey.stringKey("resp3"), "resp3_value"))));
+  }
+
   @Test
   void server_error() {
     Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
@@ -471,6 +518,44 @@ class InstrumenterTest {
     assertThat(endContext.get()).isTrue();
   }
 
+  @Test
+  void operationListeners_endedInReverseOrder() {
+    List<String> calls = new ArrayList<>();
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addOperationListener(new RecordingOperationListener("first", calls))
+            .addOperationListener(new RecordingOperationListener("second", calls))
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(calls)
+        .containsExactly("first.onStart", "second.onStart", "second.onEnd", "first.onEnd");
+  }
+
+  static class RecordingOperationListener implements OperationListener {
+    private final String name;
+    private final List<String> calls;
+
+    RecordingOperationListener(String name, List<String> calls) {
+      this.name = name;
+      this.calls = calls;
+    }
+
+    @Override
+    public Context onStart(Context context, Attributes startAttributes, long startNanos) {
+      calls.add(name + ".onStart");
+      return context;
+    }
+
+    @Override
+    public void onEnd(Context context, Attributes endAttributes, long endNanos) {
+      calls.add(name + ".onEnd");
+    }
+  }
+
   @Test
   void operationMetrics() {
     AtomicReference<Context> startContext = new AtomicReference<>();
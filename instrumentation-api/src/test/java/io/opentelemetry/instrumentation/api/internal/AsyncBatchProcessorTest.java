@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncBatchProcessorTest {
+
+  @Test
+  void processesQueuedItemsOnShutdown() {
+    List<String> processed = new CopyOnWriteArrayList<>();
+    AsyncBatchProcessor<String> processor =
+        AsyncBatchProcessor.create("test-worker", 10, 2, processed::add);
+
+    assertThat(processor.offer("a")).isTrue();
+    assertThat(processor.offer("b")).isTrue();
+    assertThat(processor.offer("c")).isTrue();
+    processor.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(processed).containsExactly("a", "b", "c");
+    assertThat(processor.offer("d")).isFalse();
+    assertThat(processor.getDroppedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void dropsItemsWhenFull() throws InterruptedException {
+    CountDownLatch processing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> processed = new CopyOnWriteArrayList<>();
+    AsyncBatchProcessor<String> processor =
+        AsyncBatchProcessor.create(
+            "test-worker",
+            1,
+            1,
+            item -> {
+              processing.countDown();
+              awaitUninterruptibly(release);
+              processed.add(item);
+            });
+
+    // the worker takes the first item from the queue and blocks processing it
+    processor.offer("a");
+    assertThat(processing.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(processor.offer("b")).isTrue();
+    assertThat(processor.offer("c")).isFalse();
+    assertThat(processor.getDroppedCount()).isEqualTo(1);
+
+    release.countDown();
+    processor.shutdown(10, TimeUnit.SECONDS);
+    assertThat(processed).containsExactly("a", "b");
+  }
+
+  @Test
+  void doesNotWaitOnShutdownWithoutTimeout() throws InterruptedException {
+    CountDownLatch processing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> processed = new CopyOnWriteArrayList<>();
+    AsyncBatchProcessor<String> processor =
+        AsyncBatchProcessor.create(
+            "test-worker",
+            10,
+            1,
+            item -> {
+              processing.countDown();
+              awaitUninterruptibly(release);
+              processed.add(item);
+            });
+
+    processor.offer("a");
+    assertThat(processing.await(10, TimeUnit.SECONDS)).isTrue();
+    processor.offer("b");
+    // returns while the worker is still blocked processing the first item
+    processor.shutdown(0, TimeUnit.SECONDS);
+    assertThat(processed).isEmpty();
+
+    release.countDown();
+    processor.shutdown(10, TimeUnit.SECONDS);
+    assertThat(processed).containsExactly("a", "b");
+  }
+
+  @Test
+  void continuesAfterFailure() {
+    List<String> processed = new CopyOnWriteArrayList<>();
+    AsyncBatchProcessor<String> processor =
+        AsyncBatchProcessor.create(
+            "test-worker",
+            10,
+            10,
+            item -> {
+              if (item.equals("fail")) {
+                throw new IllegalStateException("test");
+              }
+              processed.add(item);
+            });
+
+    processor.offer("fail");
+    processor.offer("a");
+    processor.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(processed).containsExactly("a");
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class StackTraceFormatterTest {
+
+  @Test
+  void defaultUsesPrintStackTrace() {
+    Throwable throwable = nested(3);
+
+    assertThat(new StackTraceFormatter(0, 0, 0).render(throwable))
+        .isEqualTo(printStackTrace(throwable));
+  }
+
+  @Test
+  void sameOutputAsPrintStackTrace() {
+    Exception cause = new IllegalArgumentException("cause");
+    Exception exception = new IllegalStateException("exception", cause);
+    exception.addSuppressed(new RuntimeException("suppressed", new Error("suppressed cause")));
+    // circular reference
+    cause.addSuppressed(exception);
+
+    StackTraceFormatter formatter = new StackTraceFormatter(0, 0, 10);
+
+    assertThat(formatter.render(exception)).isEqualTo(printStackTrace(exception));
+    Throwable throwable = nested(5);
+    assertThat(formatter.render(throwable)).isEqualTo(printStackTrace(throwable));
+  }
+
+  @Test
+  void cachesRenderedStackTrace() {
+    StackTraceFormatter formatter = new StackTraceFormatter(0, 0, 10);
+
+    // created at the same call site, so that they have the same frames
+    Throwable[] throwables = new Throwable[2];
+    for (int i = 0; i < throwables.length; i++) {
+      throwables[i] = new IllegalStateException("timed out after " + i + " ms", nested(2));
+    }
+    Throwable other = nested(3);
+
+    assertThat(formatter.isCached(throwables[0])).isFalse();
+    assertThat(formatter.render(throwables[0])).isEqualTo(printStackTrace(throwables[0]));
+    // a different message does not prevent reusing the rendered frames
+    assertThat(formatter.isCached(throwables[1])).isTrue();
+    assertThat(formatter.render(throwables[1])).isEqualTo(printStackTrace(throwables[1]));
+
+    assertThat(formatter.isCached(other)).isFalse();
+    assertThat(formatter.render(other)).isEqualTo(printStackTrace(other));
+  }
+
+  @Test
+  void doesNotShareRenderingOfFramesWithSameHash() {
+    StackTraceFormatter formatter = new StackTraceFormatter(0, 0, 10);
+    // "Aa" and "BB" have the same hash code, and so do these frames
+    Throwable first = new IllegalStateException("failed");
+    first.setStackTrace(new StackTraceElement[] {new StackTraceElement("C", "m", "Aa", 1)});
+    Throwable second = new IllegalStateException("failed");
+    second.setStackTrace(new StackTraceElement[] {new StackTraceElement("C", "m", "BB", 1)});
+
+    assertThat(formatter.render(first)).isEqualTo(printStackTrace(first));
+    assertThat(formatter.isCached(second)).isFalse();
+    assertThat(formatter.render(second)).isEqualTo(printStackTrace(second));
+  }
+
+  @Test
+  void limitsFrames() {
+    Throwable throwable = nested(2);
+    int frames = throwable.getStackTrace().length;
+
+    String stackTrace = new StackTraceFormatter(1, 0, 0).render(throwable);
+
+    String[] lines = stackTrace.split(System.lineSeparator());
+    assertThat(lines).hasSize(9);
+    assertThat(lines[0]).isEqualTo("java.lang.IllegalStateException: level 2");
+    assertThat(lines[1]).startsWith("\tat ");
+    assertThat(lines[2]).isEqualTo("\t... " + (frames - 1) + " more");
+    assertThat(lines[3]).isEqualTo("Caused by: java.lang.IllegalStateException: level 1");
+    assertThat(lines[4]).startsWith("\tat ");
+    assertThat(lines[5]).isEqualTo("\t... " + frames + " more");
+    assertThat(lines[6]).isEqualTo("Caused by: java.lang.IllegalStateException: level 0");
+    assertThat(lines[8]).isEqualTo("\t... " + (frames + 1) + " more");
+  }
+
+  @Test
+  void limitsLength() {
+    Throwable throwable = nested(5);
+
+    String stackTrace = new StackTraceFormatter(0, 100, 0).render(throwable);
+
+    assertThat(stackTrace).hasSize(100);
+    assertThat(printStackTrace(throwable)).startsWith(stackTrace);
+  }
+
+  private static Throwable nested(int level) {
+    if (level == 0) {
+      return new IllegalStateException("level 0");
+    }
+    return new IllegalStateException("level " + level, nested(level - 1));
+  }
+
+  private static String printStackTrace(Throwable throwable) {
+    StringWriter writer = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(writer));
+    return writer.toString();
+  }
+}
@@ -8,6 +8,8 @@ package io.opentelemetry.instrumentation.api.internal.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +37,28 @@ class CacheTest {
       assertThat(mapBackedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void weighted() {
+      List<String> evicted = new ArrayList<>();
+      Cache<String, String> cache =
+          Cache.weighted(
+              5, (key, value) -> value.length(), (key, value) -> evicted.add(key));
+
+      MapBackedCache<?, ?> mapBackedCache = ((MapBackedCache<?, ?>) cache);
+      cache.put("cat", "meow");
+      assertThat(mapBackedCache.size()).isEqualTo(1);
+
+      // "meow" and "roar" weigh 8 together, more than the capacity of 5
+      cache.put("bear", "roar");
+      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(cache.get("bear")).isEqualTo("roar");
+      assertThat(evicted).containsExactly("cat");
+
+      cache.put("dog", "w");
+      assertThat(mapBackedCache.size()).isEqualTo(2);
+      assertThat(evicted).containsExactly("cat");
+    }
   }
 
   @Nested
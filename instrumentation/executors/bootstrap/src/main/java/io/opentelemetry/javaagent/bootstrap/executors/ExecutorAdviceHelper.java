@@ -67,6 +67,39 @@ public final class ExecutorAdviceHelper {
     return propagatedContext;
   }
 
+  /**
+   * Fast path of {@link #attachContextToTask(Context, VirtualField, Object)} for the JDK task types
+   * that the agent instruments itself ({@link java.util.concurrent.FutureTask} and {@link
+   * java.util.concurrent.ForkJoinTask}): the context is stored in the virtual field directly, no
+   * {@link PropagatedContext} is allocated. {@link
+   * TaskAdviceHelper#makeInlineContextCurrent(VirtualField, Object)} must be used to make it
+   * current when the task runs.
+   *
+   * <p>Just like {@link PropagatedContext}, the context attached first wins; unlike it, the slot is
+   * not updated atomically, which is fine since a task is handed over to a single executor.
+   */
+  public static <T> void attachContextToTaskInline(
+      Context context, VirtualField<T, Context> virtualField, T task) {
+    // either a nested call to execute that already attached this context, or the task has already
+    // been submitted with a different one
+    if (virtualField.get(task) == null) {
+      virtualField.set(task, ContextPropagationDebug.addDebugInfo(context, task));
+    }
+  }
+
+  /**
+   * Clean up the context attached with {@link #attachContextToTaskInline(Context, VirtualField,
+   * Object)} in case of any submission errors. Call this method after the submission method has
+   * exited.
+   */
+  public static <T> void cleanUpInlineAfterSubmit(
+      VirtualField<T, Context> virtualField, T task, @Nullable Throwable throwable) {
+    // the same caveat as in cleanUpAfterSubmit() applies
+    if (throwable != null) {
+      virtualField.set(task, null);
+    }
+  }
+
   /**
    * Clean up {@code propagatedContext} in case of any submission errors. Call this method after the
    * submission method has exited.
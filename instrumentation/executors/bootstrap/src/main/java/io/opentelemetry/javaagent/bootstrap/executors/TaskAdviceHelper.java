@@ -30,5 +30,21 @@ public final class TaskAdviceHelper {
     return null;
   }
 
+  /**
+   * Make the {@link Context} attached with {@link
+   * ExecutorAdviceHelper#attachContextToTaskInline(Context, VirtualField, Object)} current and
+   * return the resulting scope. Will return {@code null} if there's no context attached to this
+   * {@code task}.
+   */
+  @Nullable
+  public static <T> Scope makeInlineContextCurrent(VirtualField<T, Context> virtualField, T task) {
+    Context context = virtualField.get(task);
+    if (context != null) {
+      virtualField.set(task, null);
+      return context.makeCurrent();
+    }
+    return null;
+  }
+
   private TaskAdviceHelper() {}
 }
@@ -10,6 +10,7 @@ import static java.util.logging.Level.FINE;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.returns;
 
+import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
 import io.opentelemetry.javaagent.bootstrap.executors.PropagatedContext;
@@ -19,7 +20,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Logger;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
@@ -107,6 +110,15 @@ public class FutureInstrumentation implements TypeInstrumentation {
       VirtualField<Future<?>, PropagatedContext> virtualField =
           VirtualField.find(Future.class, PropagatedContext.class);
       ExecutorAdviceHelper.cleanPropagatedContext(virtualField, future);
+      if (future instanceof FutureTask) {
+        VirtualField<FutureTask<?>, Context> inlineVirtualField =
+            VirtualField.find(FutureTask.class, Context.class);
+        inlineVirtualField.set((FutureTask<?>) future, null);
+      } else if (future instanceof ForkJoinTask) {
+        VirtualField<ForkJoinTask<?>, Context> inlineVirtualField =
+            VirtualField.find(ForkJoinTask.class, Context.class);
+        inlineVirtualField.set((ForkJoinTask<?>) future, null);
+      }
     }
   }
 }
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -102,6 +103,21 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
         task = ContextPropagatingRunnable.propagateContext(task, context);
         return null;
       }
+      // JDK tasks instrumented by this module (including CompletableFuture completions) keep the
+      // context in their own slot, without allocating a PropagatedContext
+      if (task instanceof FutureTask) {
+        VirtualField<FutureTask<?>, Context> virtualField =
+            VirtualField.find(FutureTask.class, Context.class);
+        ExecutorAdviceHelper.attachContextToTaskInline(context, virtualField, (FutureTask<?>) task);
+        return null;
+      }
+      if (task instanceof ForkJoinTask) {
+        VirtualField<ForkJoinTask<?>, Context> virtualField =
+            VirtualField.find(ForkJoinTask.class, Context.class);
+        ExecutorAdviceHelper.attachContextToTaskInline(
+            context, virtualField, (ForkJoinTask<?>) task);
+        return null;
+      }
       VirtualField<Runnable, PropagatedContext> virtualField =
           VirtualField.find(Runnable.class, PropagatedContext.class);
       // 非lambdas匿名类，这里是将Runnable与PropagatedContext绑定，并将context设置到PropagatedContext中
@@ -109,7 +125,23 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
     }
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
-    public static void exitJobSubmit(@Advice.Enter PropagatedContext propagatedContext, @Advice.Thrown Throwable throwable) {
+    public static void exitJobSubmit(
+        @Advice.Argument(0) Runnable task,
+        @Advice.Enter PropagatedContext propagatedContext,
+        @Advice.Thrown Throwable throwable) {
+      if (throwable != null) {
+        if (task instanceof FutureTask) {
+          VirtualField<FutureTask<?>, Context> virtualField =
+              VirtualField.find(FutureTask.class, Context.class);
+          ExecutorAdviceHelper.cleanUpInlineAfterSubmit(
+              virtualField, (FutureTask<?>) task, throwable);
+        } else if (task instanceof ForkJoinTask) {
+          VirtualField<ForkJoinTask<?>, Context> virtualField =
+              VirtualField.find(ForkJoinTask.class, Context.class);
+          ExecutorAdviceHelper.cleanUpInlineAfterSubmit(
+              virtualField, (ForkJoinTask<?>) task, throwable);
+        }
+      }
       // propagatedContext不为空且出现异常的情况才会清理掉propagatedContext中的context
       ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, throwable);
     }
@@ -119,21 +151,24 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
   public static class SetJavaForkJoinStateAdvice {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
-    public static PropagatedContext enterJobSubmit(@Advice.Argument(0) ForkJoinTask<?> task) {
+    public static void enterJobSubmit(@Advice.Argument(0) ForkJoinTask<?> task) {
       Context context = Java8BytecodeBridge.currentContext();
       // 如果这里的Runnable对应的task是被AgentClassLoader加载，则返回false
       if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
-        VirtualField<ForkJoinTask<?>, PropagatedContext> virtualField =
-            VirtualField.find(ForkJoinTask.class, PropagatedContext.class);
-        return ExecutorAdviceHelper.attachContextToTask(context, virtualField, task);
+        VirtualField<ForkJoinTask<?>, Context> virtualField =
+            VirtualField.find(ForkJoinTask.class, Context.class);
+        ExecutorAdviceHelper.attachContextToTaskInline(context, virtualField, task);
       }
-      return null;
     }
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
     public static void exitJobSubmit(
-        @Advice.Enter PropagatedContext propagatedContext, @Advice.Thrown Throwable throwable) {
-      ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, throwable);
+        @Advice.Argument(0) ForkJoinTask<?> task, @Advice.Thrown Throwable throwable) {
+      if (throwable != null && task != null) {
+        VirtualField<ForkJoinTask<?>, Context> virtualField =
+            VirtualField.find(ForkJoinTask.class, Context.class);
+        ExecutorAdviceHelper.cleanUpInlineAfterSubmit(virtualField, task, throwable);
+      }
     }
   }
 
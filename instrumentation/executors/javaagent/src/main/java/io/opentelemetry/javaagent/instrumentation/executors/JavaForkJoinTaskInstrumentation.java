@@ -61,9 +61,16 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
      */
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static Scope enter(@Advice.This ForkJoinTask<?> task) {
+      VirtualField<ForkJoinTask<?>, Context> inlineVirtualField =
+          VirtualField.find(ForkJoinTask.class, Context.class);
+      Scope scope = TaskAdviceHelper.makeInlineContextCurrent(inlineVirtualField, task);
+      if (scope != null) {
+        return scope;
+      }
+      // tasks submitted by other (e.g. scala) fork join pool instrumentations
       VirtualField<ForkJoinTask<?>, PropagatedContext> virtualField =
           VirtualField.find(ForkJoinTask.class, PropagatedContext.class);
-      Scope scope = TaskAdviceHelper.makePropagatedContextCurrent(virtualField, task);
+      scope = TaskAdviceHelper.makePropagatedContextCurrent(virtualField, task);
       if (task instanceof Runnable) {
         VirtualField<Runnable, PropagatedContext> runnableVirtualField =
             VirtualField.find(Runnable.class, PropagatedContext.class);
@@ -105,20 +112,21 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
   public static class ForkAdvice {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
-    public static PropagatedContext enterFork(@Advice.This ForkJoinTask<?> task) {
+    public static void enterFork(@Advice.This ForkJoinTask<?> task) {
       Context context = Java8BytecodeBridge.currentContext();
       if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
-        VirtualField<ForkJoinTask<?>, PropagatedContext> virtualField =
-            VirtualField.find(ForkJoinTask.class, PropagatedContext.class);
-        return ExecutorAdviceHelper.attachContextToTask(context, virtualField, task);
+        VirtualField<ForkJoinTask<?>, Context> virtualField =
+            VirtualField.find(ForkJoinTask.class, Context.class);
+        ExecutorAdviceHelper.attachContextToTaskInline(context, virtualField, task);
       }
-      return null;
     }
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
     public static void exitFork(
-        @Advice.Enter PropagatedContext propagatedContext, @Advice.Thrown Throwable throwable) {
-      ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, throwable);
+        @Advice.This ForkJoinTask<?> task, @Advice.Thrown Throwable throwable) {
+      VirtualField<ForkJoinTask<?>, Context> virtualField =
+          VirtualField.find(ForkJoinTask.class, Context.class);
+      ExecutorAdviceHelper.cleanUpInlineAfterSubmit(virtualField, task, throwable);
     }
   }
 }
@@ -10,12 +10,15 @@ import static net.bytebuddy.matcher.ElementMatchers.isPublic;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
+import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.javaagent.bootstrap.executors.PropagatedContext;
 import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.FutureTask;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -39,6 +42,24 @@ public class RunnableInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static Scope enter(@Advice.This Runnable thiz) {
+      // JDK tasks that keep the context in their own slot, see JavaExecutorInstrumentation
+      if (thiz instanceof FutureTask) {
+        VirtualField<FutureTask<?>, Context> inlineVirtualField =
+            VirtualField.find(FutureTask.class, Context.class);
+        Scope scope =
+            TaskAdviceHelper.makeInlineContextCurrent(inlineVirtualField, (FutureTask<?>) thiz);
+        if (scope != null) {
+          return scope;
+        }
+      } else if (thiz instanceof ForkJoinTask) {
+        VirtualField<ForkJoinTask<?>, Context> inlineVirtualField =
+            VirtualField.find(ForkJoinTask.class, Context.class);
+        Scope scope =
+            TaskAdviceHelper.makeInlineContextCurrent(inlineVirtualField, (ForkJoinTask<?>) thiz);
+        if (scope != null) {
+          return scope;
+        }
+      }
       VirtualField<Runnable, PropagatedContext> virtualField =
           VirtualField.find(Runnable.class, PropagatedContext.class);
       return TaskAdviceHelper.makePropagatedContextCurrent(virtualField, thiz);
@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Propagates the context of the thread that starts a virtual thread into the virtual thread. The
+ * context is kept in a slot on the thread itself, so the task doesn't need to be wrapped. The
+ * continuation that mounts the virtual thread on its carrier is excluded from propagation (see
+ * {@code GlobalIgnoredTypesConfigurer}), so the carrier thread never sees the context.
+ */
+public class VirtualThreadInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return named("java.lang.VirtualThread");
+  }
+
+  @Override
+  public void transform(TypeTransformer transformer) {
+    // void start(ThreadContainer), public start() delegates to it
+    transformer.applyAdviceToMethod(
+        named("start").and(takesArguments(1)),
+        VirtualThreadInstrumentation.class.getName() + "$StartAdvice");
+    // private void run(Runnable), runs the task on the virtual thread once it is first mounted
+    transformer.applyAdviceToMethod(
+        named("run").and(takesArguments(1)).and(takesArgument(0, Runnable.class)),
+        VirtualThreadInstrumentation.class.getName() + "$RunAdvice");
+  }
+
+  @SuppressWarnings("unused")
+  public static class StartAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void enter(@Advice.This Thread thread) {
+      Context context = Java8BytecodeBridge.currentContext();
+      if (ExecutorAdviceHelper.shouldPropagateContext(context, thread)) {
+        VirtualField<Thread, Context> virtualField = VirtualField.find(Thread.class, Context.class);
+        ExecutorAdviceHelper.attachContextToTaskInline(context, virtualField, thread);
+      }
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void exit(@Advice.This Thread thread, @Advice.Thrown Throwable throwable) {
+      if (throwable != null) {
+        VirtualField<Thread, Context> virtualField = VirtualField.find(Thread.class, Context.class);
+        ExecutorAdviceHelper.cleanUpInlineAfterSubmit(virtualField, thread, throwable);
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class RunAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static Scope enter(@Advice.This Thread thread) {
+      VirtualField<Thread, Context> virtualField = VirtualField.find(Thread.class, Context.class);
+      return TaskAdviceHelper.makeInlineContextCurrent(virtualField, thread);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void exit(@Advice.Enter Scope scope) {
+      if (scope != null) {
+        scope.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+// FutureTask and ForkJoinTask keep the propagated context in their own virtual field instead of a
+// PropagatedContext, see ExecutorAdviceHelper.attachContextToTaskInline()
+class InlineContextPropagationTest {
+
+  private static final Baggage BAGGAGE = Baggage.builder().put("test", "test").build();
+
+  private static ExecutorService executor;
+  private static ForkJoinPool forkJoinPool;
+
+  @BeforeAll
+  static void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    forkJoinPool = new ForkJoinPool(1);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    executor.shutdown();
+    forkJoinPool.shutdown();
+  }
+
+  @Test
+  void executeFutureTask() throws Exception {
+    FutureTask<String> task = new FutureTask<>(InlineContextPropagationTest::currentBaggage);
+    try (Scope ignored = BAGGAGE.makeCurrent()) {
+      executor.execute(task);
+    }
+
+    assertThat(task.get(10, TimeUnit.SECONDS)).isEqualTo("test");
+  }
+
+  @Test
+  void executeForkJoinTask() throws Exception {
+    ForkJoinTask<String> task = ForkJoinTask.adapt(InlineContextPropagationTest::currentBaggage);
+    try (Scope ignored = BAGGAGE.makeCurrent()) {
+      forkJoinPool.execute(task);
+    }
+
+    assertThat(task.get(10, TimeUnit.SECONDS)).isEqualTo("test");
+  }
+
+  @Test
+  void submittedFutureTaskFallsBackToPropagatedContext() throws Exception {
+    // keep the executor busy, so that the submitted task is run by this test
+    CountDownLatch release = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+
+    // submit() wraps the task in a FutureTask created by the executor, the context is attached
+    // inline to that wrapper and as a PropagatedContext to the submitted task, whose inline field
+    // stays empty
+    FutureTask<String> task = new FutureTask<>(InlineContextPropagationTest::currentBaggage);
+    Future<?> future;
+    try (Scope ignored = BAGGAGE.makeCurrent()) {
+      future = executor.submit(task);
+    }
+    task.run();
+    release.countDown();
+    future.get(10, TimeUnit.SECONDS);
+
+    assertThat(task.get(10, TimeUnit.SECONDS)).isEqualTo("test");
+  }
+
+  private static String currentBaggage() {
+    return Baggage.current().getEntryValue("test");
+  }
+}
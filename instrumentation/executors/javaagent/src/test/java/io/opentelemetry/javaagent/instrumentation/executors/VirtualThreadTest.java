@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.context.Scope;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadTest {
+
+  @Test
+  void shouldPropagateContextIntoVirtualThread() throws Exception {
+    Method startVirtualThread = startVirtualThreadMethod();
+
+    AtomicReference<String> baggageValue = new AtomicReference<>();
+    AtomicReference<String> baggageValueAfterPark = new AtomicReference<>();
+    Thread thread;
+    Baggage baggage = Baggage.builder().put("test", "test").build();
+    try (Scope ignored = baggage.makeCurrent()) {
+      thread =
+          (Thread)
+              startVirtualThread.invoke(
+                  null,
+                  (Runnable)
+                      () -> {
+                        baggageValue.set(Baggage.current().getEntryValue("test"));
+                        // unmounts and remounts the virtual thread, possibly on another carrier
+                        Thread.yield();
+                        baggageValueAfterPark.set(Baggage.current().getEntryValue("test"));
+                      });
+    }
+    thread.join();
+
+    assertThat(baggageValue).hasValue("test");
+    assertThat(baggageValueAfterPark).hasValue("test");
+  }
+
+  @Test
+  void shouldNotPropagateRootContext() throws Exception {
+    Method startVirtualThread = startVirtualThreadMethod();
+
+    AtomicReference<Baggage> baggageInThread = new AtomicReference<>();
+    Thread thread =
+        (Thread)
+            startVirtualThread.invoke(
+                null, (Runnable) () -> baggageInThread.set(Baggage.current()));
+    thread.join();
+
+    assertThat(baggageInThread.get().isEmpty()).isTrue();
+  }
+
+  private static Method startVirtualThreadMethod() {
+    try {
+      return Thread.class.getMethod("startVirtualThread", Runnable.class);
+    } catch (NoSuchMethodException e) {
+      assumeTrue(false, "virtual threads require JDK 21+");
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -1,9 +1,41 @@
+import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar
+import me.champeau.jmh.JMHTask
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.java-conventions")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
   api("org.junit.jupiter:junit-jupiter-api")
 
   implementation(project(":testing-common"))
+
+  jmhImplementation("io.opentelemetry:opentelemetry-api")
+}
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
+
+  named<JMHTask>("jmh") {
+    val shadowTask = project(":javaagent").tasks.named<ShadowJar>("shadowJar").get()
+    inputs.files(layout.files(shadowTask))
+
+    val args = listOf(
+      "-javaagent:${shadowTask.archiveFile.get()}",
+      "-Dotel.traces.exporter=none",
+      "-Dotel.metrics.exporter=none",
+      "-Dotel.logs.exporter=none",
+    )
+    // see https://github.com/melix/jmh-gradle-plugin/issues/200
+    jvmArgsPrepend.add(args.joinToString(" "))
+
+    outputs.upToDateWhen { false }
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of submitting tasks to JDK executors, with the agent attached (the jmh
+ * task adds it to the forked JVM). {@link ExecutorSubmitWithAgentDisabledBenchmark} runs the same
+ * benchmarks with the agent disabled.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ExecutorSubmitBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+  private static final Runnable NOOP = () -> {};
+
+  /** Whether the submitting thread has a non-root context, root contexts are not propagated. */
+  @Param({"true", "false"})
+  boolean withContext;
+
+  private ExecutorService threadPool;
+  private ForkJoinPool forkJoinPool;
+
+  @Setup
+  public void setup() {
+    threadPool = Executors.newFixedThreadPool(4);
+    forkJoinPool = new ForkJoinPool(4);
+  }
+
+  @TearDown
+  public void tearDown() {
+    threadPool.shutdownNow();
+    forkJoinPool.shutdownNow();
+  }
+
+  @Benchmark
+  public Object threadPoolSubmit() throws ExecutionException, InterruptedException {
+    try (Scope ignored = makeCurrent()) {
+      Future<?> future = threadPool.submit(NOOP);
+      return future.get();
+    }
+  }
+
+  @Benchmark
+  public Object forkJoinSubmit() throws ExecutionException, InterruptedException {
+    try (Scope ignored = makeCurrent()) {
+      return forkJoinPool.submit(new NoopAction()).get();
+    }
+  }
+
+  @Benchmark
+  public Object completableFutureRunAsync() {
+    try (Scope ignored = makeCurrent()) {
+      return CompletableFuture.runAsync(NOOP, forkJoinPool).join();
+    }
+  }
+
+  private Scope makeCurrent() {
+    if (!withContext) {
+      return Scope.noop();
+    }
+    return Context.root().with(KEY, "value").makeCurrent();
+  }
+
+  static final class NoopAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void compute() {}
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of handing a task (and its context) to a new virtual thread with submitting it
+ * to a platform thread pool. Requires JDK 21+ to run the {@code VIRTUAL} variants. {@link
+ * VirtualThreadWithAgentDisabledBenchmark} runs the same benchmarks with the agent disabled.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+
+  @Param({"VIRTUAL", "PLATFORM"})
+  ExecutorType executorType;
+
+  /** Whether the submitting thread has a non-root context, root contexts are not propagated. */
+  @Param({"true", "false"})
+  boolean withContext;
+
+  private ExecutorService executor;
+
+  @Setup
+  public void setup() throws Exception {
+    executor = executorType.create();
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public Object submit() throws ExecutionException, InterruptedException {
+    try (Scope ignored = makeCurrent()) {
+      // reads the context on the other side so that a missing propagation can't go unnoticed
+      return executor.submit(() -> Context.current().get(KEY)).get();
+    }
+  }
+
+  private Scope makeCurrent() {
+    if (!withContext) {
+      return Scope.noop();
+    }
+    return Context.root().with(KEY, "value").makeCurrent();
+  }
+
+  public enum ExecutorType {
+    VIRTUAL {
+      @Override
+      ExecutorService create() throws Exception {
+        // the benchmarks are compiled for java 8
+        return (ExecutorService)
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      }
+    },
+    PLATFORM {
+      @Override
+      ExecutorService create() {
+        return Executors.newFixedThreadPool(4);
+      }
+    };
+
+    abstract ExecutorService create() throws Exception;
+  }
+}
@@ -13,6 +13,7 @@ import static net.bytebuddy.matcher.ElementMatchers.returns;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import io.opentelemetry.instrumentation.jdbc.internal.JdbcData;
+import io.opentelemetry.instrumentation.jdbc.internal.PreparedStatementInfo;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import java.sql.PreparedStatement;
@@ -50,7 +51,10 @@ public class ConnectionInstrumentation implements TypeInstrumentation {
     public static void addDbInfo(
         @Advice.Argument(0) String sql, @Advice.Return PreparedStatement statement) {
       // 通过VirtualField将实际执行传入的SQL语句与对应的PreparedStatement实例绑定
-      JdbcData.preparedStatement.set(statement, sql);
+      // the statement is sanitized here once, executions of the prepared statement reuse it
+      JdbcData.preparedStatement.set(
+          statement,
+          PreparedStatementInfo.create(sql, JdbcSingletons.isStatementSanitizationEnabled()));
     }
   }
 }
@@ -25,6 +25,13 @@ import javax.sql.DataSource;
 public final class JdbcSingletons {
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.jdbc";
 
+  // 默认为true
+  private static final boolean STATEMENT_SANITIZATION_ENABLED =
+      InstrumentationConfig.get()
+          .getBoolean(
+              "otel.instrumentation.jdbc.statement-sanitizer.enabled",
+              CommonConfig.get().isStatementSanitizationEnabled());
+
   private static final Instrumenter<DbRequest, Void> STATEMENT_INSTRUMENTER;
   public static final Instrumenter<DataSource, DbInfo> DATASOURCE_INSTRUMENTER =
       createDataSourceInstrumenter(GlobalOpenTelemetry.get());
@@ -40,13 +47,8 @@ public final class JdbcSingletons {
                 DbClientSpanNameExtractor.create(dbAttributesGetter))
             .addAttributesExtractor(
                 SqlClientAttributesExtractor.builder(dbAttributesGetter)
-                    // 默认为true
-                    .setStatementSanitizationEnabled(InstrumentationConfig.get()
-                            .getBoolean(
-                                "otel.instrumentation.jdbc.statement-sanitizer.enabled",
-                                CommonConfig.get().isStatementSanitizationEnabled()
-                            )
-                    ).build())
+                    .setStatementSanitizationEnabled(STATEMENT_SANITIZATION_ENABLED)
+                    .build())
             .addAttributesExtractor(ServerAttributesExtractor.create(netAttributesGetter))
             .addAttributesExtractor(
                 PeerServiceAttributesExtractor.create(netAttributesGetter,
@@ -55,6 +57,10 @@ public final class JdbcSingletons {
             .buildInstrumenter(SpanKindExtractor.alwaysClient());
   }
 
+  public static boolean isStatementSanitizationEnabled() {
+    return STATEMENT_SANITIZATION_ENABLED;
+  }
+
   public static Instrumenter<DbRequest, Void> statementInstrumenter() {
     return STATEMENT_INSTRUMENTER;
   }
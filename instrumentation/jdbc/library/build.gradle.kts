@@ -3,9 +3,12 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("com.github.johnrengelman.shadow")
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -16,6 +19,13 @@ dependencies {
 }
 
 tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
+
   shadowJar {
     dependencies {
       // including only current module excludes its transitive dependencies
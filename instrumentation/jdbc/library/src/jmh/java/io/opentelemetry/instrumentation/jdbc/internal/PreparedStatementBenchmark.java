@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-execute overhead of {@link OpenTelemetryPreparedStatement}, which sanitizes its
+ * query once when it is created, compared to {@link OpenTelemetryStatement} that has to look up the
+ * sanitized query in the sanitizer cache on every execution.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class PreparedStatementBenchmark {
+
+  private static final String QUERY =
+      "SELECT o.id, o.customer_id, o.status, o.created_at FROM orders o "
+          + "WHERE o.customer_id = ? AND o.status IN (?, ?, ?) ORDER BY o.created_at DESC";
+
+  private static final DbInfo DB_INFO =
+      DbInfo.builder().system("postgresql").host("localhost").port(5432).name("test").build();
+
+  private static final Instrumenter<DbRequest, Void> INSTRUMENTER =
+      JdbcInstrumenterFactory.createStatementInstrumenter(OpenTelemetry.noop());
+
+  private final PreparedStatement delegate = noopPreparedStatement();
+  private final OpenTelemetryPreparedStatement<PreparedStatement> preparedStatement =
+      new OpenTelemetryPreparedStatement<>(delegate, DB_INFO, QUERY, INSTRUMENTER);
+  private final OpenTelemetryStatement<PreparedStatement> statement =
+      new OpenTelemetryStatement<>(delegate, DB_INFO, INSTRUMENTER);
+
+  @Benchmark
+  public ResultSet uninstrumented() throws SQLException {
+    return delegate.executeQuery(QUERY);
+  }
+
+  @Benchmark
+  public ResultSet preparedStatement() throws SQLException {
+    return preparedStatement.executeQuery();
+  }
+
+  @Benchmark
+  public ResultSet statementWithCacheLookup() throws SQLException {
+    return statement.executeQuery(QUERY);
+  }
+
+  private static PreparedStatement noopPreparedStatement() {
+    return (PreparedStatement)
+        Proxy.newProxyInstance(
+            PreparedStatementBenchmark.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+              Class<?> returnType = method.getReturnType();
+              if (returnType == boolean.class) {
+                return false;
+              }
+              if (returnType == int.class) {
+                return 0;
+              }
+              if (returnType == long.class) {
+                return 0L;
+              }
+              return null;
+            });
+  }
+}
@@ -9,6 +9,7 @@ import static io.opentelemetry.instrumentation.jdbc.internal.JdbcUtils.connectio
 import static io.opentelemetry.instrumentation.jdbc.internal.JdbcUtils.extractDbInfo;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -24,26 +25,49 @@ public abstract class DbRequest {
 
   @Nullable
   public static DbRequest create(PreparedStatement statement) {
-    return create(statement, JdbcData.preparedStatement.get(statement));
+    PreparedStatementInfo info = JdbcData.preparedStatement.get(statement);
+    if (info == null) {
+      return create(statement, null);
+    }
+    return create(statement, info.getSql(), info.getSanitizedStatement());
   }
 
   @Nullable
   public static DbRequest create(Statement statement, String dbStatementString) {
+    return create(statement, dbStatementString, null);
+  }
+
+  @Nullable
+  public static DbRequest create(
+      Statement statement,
+      String dbStatementString,
+      @Nullable SqlStatementInfo sanitizedStatement) {
     // 将从Statement中获取Connection并解包装
     Connection connection = connectionFromStatement(statement);
     if (connection == null) {
       return null;
     }
 
-    return create(extractDbInfo(connection), dbStatementString);
+    return create(extractDbInfo(connection), dbStatementString, sanitizedStatement);
   }
 
   public static DbRequest create(DbInfo dbInfo, String statement) {
-    return new AutoValue_DbRequest(dbInfo, statement);
+    return create(dbInfo, statement, null);
+  }
+
+  public static DbRequest create(
+      DbInfo dbInfo, String statement, @Nullable SqlStatementInfo sanitizedStatement) {
+    return new AutoValue_DbRequest(dbInfo, statement, sanitizedStatement);
   }
 
   public abstract DbInfo getDbInfo();
 
   @Nullable
   public abstract String getStatement();
+
+  /**
+   * The statement sanitized when the prepared statement was created, null for plain statements.
+   */
+  @Nullable
+  public abstract SqlStatementInfo getSanitizedStatement();
 }
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.jdbc.internal;
 
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.instrumenter.db.SqlClientAttributesGetter;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import javax.annotation.Nullable;
@@ -45,4 +46,10 @@ public final class JdbcAttributesGetter implements SqlClientAttributesGetter<DbR
   public String getRawStatement(DbRequest request) {
     return request.getStatement();
   }
+
+  @Nullable
+  @Override
+  public SqlStatementInfo getSanitizedStatement(DbRequest request) {
+    return request.getSanitizedStatement();
+  }
 }
@@ -24,8 +24,10 @@ public final class JdbcData {
   private static final Map<DbInfo, WeakReference<DbInfo>> dbInfos = new WeakHashMap<>();
   public static final VirtualField<Connection, DbInfo> connectionInfo =
       VirtualField.find(Connection.class, DbInfo.class);
-  public static final VirtualField<PreparedStatement, String> preparedStatement =
-      VirtualField.find(PreparedStatement.class, String.class);
+  // a single field holding both the sql and its sanitized form, so that executing the statement
+  // needs only one lookup
+  public static final VirtualField<PreparedStatement, PreparedStatementInfo> preparedStatement =
+      VirtualField.find(PreparedStatement.class, PreparedStatementInfo.class);
 
   private JdbcData() {}
 
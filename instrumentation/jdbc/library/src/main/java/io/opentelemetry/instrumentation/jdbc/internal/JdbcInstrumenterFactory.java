@@ -23,6 +23,13 @@ public final class JdbcInstrumenterFactory {
   private static final JdbcAttributesGetter dbAttributesGetter = new JdbcAttributesGetter();
   private static final JdbcNetworkAttributesGetter netAttributesGetter =
       new JdbcNetworkAttributesGetter();
+  private static final boolean STATEMENT_SANITIZATION_ENABLED =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.common.db-statement-sanitizer.enabled", true);
+
+  public static boolean isStatementSanitizationEnabled() {
+    return STATEMENT_SANITIZATION_ENABLED;
+  }
 
   public static Instrumenter<DbRequest, Void> createStatementInstrumenter() {
     return createStatementInstrumenter(GlobalOpenTelemetry.get());
@@ -33,8 +40,7 @@ public final class JdbcInstrumenterFactory {
     return Instrumenter.<DbRequest, Void>builder(openTelemetry, INSTRUMENTATION_NAME,
             DbClientSpanNameExtractor.create(dbAttributesGetter))
         .addAttributesExtractor(SqlClientAttributesExtractor.builder(dbAttributesGetter)
-            .setStatementSanitizationEnabled(ConfigPropertiesUtil.getBoolean(
-                "otel.instrumentation.common.db-statement-sanitizer.enabled", true))
+            .setStatementSanitizationEnabled(STATEMENT_SANITIZATION_ENABLED)
             .build())
         .addAttributesExtractor(ServerAttributesExtractor.create(netAttributesGetter))
         .buildInstrumenter(SpanKindExtractor.alwaysClient());
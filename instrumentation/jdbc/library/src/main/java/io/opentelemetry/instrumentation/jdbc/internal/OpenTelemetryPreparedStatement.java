@@ -50,24 +50,31 @@ import java.util.Calendar;
 public class OpenTelemetryPreparedStatement<S extends PreparedStatement>
     extends OpenTelemetryStatement<S> implements PreparedStatement {
 
+  // the query is sanitized once here, every execution reuses the same request
+  private final DbRequest request;
+
   public OpenTelemetryPreparedStatement(
       S delegate, DbInfo dbInfo, String query, Instrumenter<DbRequest, Void> instrumenter) {
     super(delegate, dbInfo, query, instrumenter);
+    PreparedStatementInfo info =
+        PreparedStatementInfo.create(
+            query, JdbcInstrumenterFactory.isStatementSanitizationEnabled());
+    this.request = DbRequest.create(dbInfo, query, info.getSanitizedStatement());
   }
 
   @Override
   public ResultSet executeQuery() throws SQLException {
-    return wrapCall(query, delegate::executeQuery);
+    return wrapCall(request, delegate::executeQuery);
   }
 
   @Override
   public int executeUpdate() throws SQLException {
-    return wrapCall(query, delegate::executeUpdate);
+    return wrapCall(request, delegate::executeUpdate);
   }
 
   @Override
   public boolean execute() throws SQLException {
-    return wrapCall(query, delegate::execute);
+    return wrapCall(request, delegate::execute);
   }
 
   @SuppressWarnings("UngroupedOverloads")
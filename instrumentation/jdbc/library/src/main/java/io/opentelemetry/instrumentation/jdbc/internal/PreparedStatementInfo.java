@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import javax.annotation.Nullable;
+
+/**
+ * The sql of a prepared statement, together with its sanitized form when statement sanitization is
+ * enabled. The sql is sanitized once when the statement is prepared, so that its executions do not
+ * need to look up the sanitizer cache again.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+@AutoValue
+public abstract class PreparedStatementInfo {
+
+  private static final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+
+  public static PreparedStatementInfo create(String sql, boolean statementSanitizationEnabled) {
+    return new AutoValue_PreparedStatementInfo(
+        sql, statementSanitizationEnabled ? sanitizer.sanitize(sql) : null);
+  }
+
+  public abstract String getSql();
+
+  /** The sanitized sql, null when statement sanitization is disabled. */
+  @Nullable
+  public abstract SqlStatementInfo getSanitizedStatement();
+}
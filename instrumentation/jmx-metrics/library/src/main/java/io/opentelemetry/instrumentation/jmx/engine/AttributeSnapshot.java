@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.engine;
+
+import static java.util.logging.Level.FINE;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A snapshot of the MBean attribute values read during one metric collection cycle, shared by the
+ * callbacks of all the metrics. The attributes of an MBean are fetched with a single {@code
+ * getAttributes()} call when the MBean is first used in a cycle, using the names of the attributes
+ * that were read from it during the previous cycle. Attributes that were not read before are
+ * fetched one at a time, and are then included in the batch of the next cycle.
+ *
+ * <p>A new cycle starts when the callback of a metric is invoked again, which happens only after
+ * the callbacks of all the other metrics have been invoked for the current collection.
+ */
+class AttributeSnapshot {
+
+  private static final Logger logger = Logger.getLogger(AttributeSnapshot.class.getName());
+
+  // The metrics whose callbacks have been invoked during the current cycle
+  private final Set<MetricExtractor> observedExtractors = new HashSet<>();
+  // The values read during the current cycle, null values are kept to remember the name
+  private Map<ObjectName, Map<String, Object>> values = new HashMap<>();
+  // The attribute names read from each MBean during the previous cycle
+  private Map<ObjectName, Set<String>> attributeNames = new HashMap<>();
+
+  /**
+   * Notifies the snapshot that the callback of a metric is being invoked, starting a new cycle if
+   * the callback was already invoked during the current one.
+   */
+  synchronized void beginCallback(MetricExtractor extractor) {
+    if (observedExtractors.add(extractor)) {
+      return;
+    }
+    observedExtractors.clear();
+    observedExtractors.add(extractor);
+
+    // MBeans that were not used during the last cycle are forgotten
+    Map<ObjectName, Set<String>> lastAttributeNames = new HashMap<>();
+    for (Map.Entry<ObjectName, Map<String, Object>> entry : values.entrySet()) {
+      lastAttributeNames.put(entry.getKey(), new HashSet<>(entry.getValue().keySet()));
+    }
+    attributeNames = lastAttributeNames;
+    values = new HashMap<>();
+  }
+
+  /**
+   * Returns the value of an MBean attribute for the current cycle.
+   *
+   * @param server the MBeanServer to use
+   * @param objectName the ObjectName specifying the MBean to use, it should not be a pattern
+   * @param attributeName the name of the attribute
+   * @return the attribute value, or null if an error occurred
+   */
+  @Nullable
+  synchronized Object getAttribute(
+      MBeanServer server, ObjectName objectName, String attributeName) {
+    Map<String, Object> beanValues = values.get(objectName);
+    if (beanValues == null) {
+      beanValues = fetchAttributes(server, objectName);
+      values.put(objectName, beanValues);
+    }
+    if (beanValues.containsKey(attributeName)) {
+      return beanValues.get(attributeName);
+    }
+
+    Object value = null;
+    try {
+      value = server.getAttribute(objectName, attributeName);
+    } catch (Exception e) {
+      // We do not really care about the actual reason for failure
+    }
+    beanValues.put(attributeName, value);
+    return value;
+  }
+
+  private Map<String, Object> fetchAttributes(MBeanServer server, ObjectName objectName) {
+    Map<String, Object> beanValues = new HashMap<>();
+    Set<String> names = attributeNames.get(objectName);
+    if (names == null) {
+      return beanValues;
+    }
+    // Attributes that cannot be read are missing from the result, they are recorded as null
+    for (String name : names) {
+      beanValues.put(name, null);
+    }
+    try {
+      AttributeList attributes = server.getAttributes(objectName, names.toArray(new String[0]));
+      for (Attribute attribute : attributes.asList()) {
+        beanValues.put(attribute.getName(), attribute.getValue());
+      }
+    } catch (Exception e) {
+      logger.log(
+          FINE,
+          "Encountered {0} while reading attributes for ObjectName {1}",
+          new Object[] {e, objectName});
+    }
+    return beanValues;
+  }
+}
@@ -210,30 +210,7 @@ public class BeanAttributeExtractor implements MetricAttributeExtractor {
   @Nullable
   private Object extractAttributeValue(MBeanServer server, ObjectName objectName, Logger logger) {
     try {
-      Object value = server.getAttribute(objectName, baseName);
-
-      int k = 0;
-      while (k < nameChain.length) {
-        if (value instanceof CompositeData) {
-          value = ((CompositeData) value).get(nameChain[k]);
-        } else if (value instanceof TabularData) {
-          value = ((TabularData) value).get(new String[] {nameChain[k]});
-        } else {
-          if (logger != null) {
-            logger.log(
-                FINE,
-                "Encountered a value of {0} while extracting attribute {1} for ObjectName {2}; unable to extract metric value",
-                new Object[] {
-                  (value == null ? "NULL" : value.getClass().getName()),
-                  getAttributeName(),
-                  objectName
-                });
-          }
-          break;
-        }
-        k++;
-      }
-      return value;
+      return drillDown(server.getAttribute(objectName, baseName), objectName, logger);
     } catch (Exception e) {
       // We do not really care about the actual reason for failure
       if (logger != null) {
@@ -246,6 +223,48 @@ public class BeanAttributeExtractor implements MetricAttributeExtractor {
     return null;
   }
 
+  /**
+   * Extracts the specified attribute value from the attribute values of the current collection
+   * cycle, which are shared with the other metrics using the same MBean.
+   */
+  @Nullable
+  private Object extractAttributeValue(
+      AttributeSnapshot snapshot, MBeanServer server, ObjectName objectName) {
+    try {
+      return drillDown(snapshot.getAttribute(server, objectName, baseName), objectName, null);
+    } catch (Exception e) {
+      // We do not really care about the actual reason for failure
+    }
+    return null;
+  }
+
+  // In case the value is a CompositeData or TabularData, follows the name chain into it
+  @Nullable
+  private Object drillDown(@Nullable Object value, ObjectName objectName, Logger logger) {
+    int k = 0;
+    while (k < nameChain.length) {
+      if (value instanceof CompositeData) {
+        value = ((CompositeData) value).get(nameChain[k]);
+      } else if (value instanceof TabularData) {
+        value = ((TabularData) value).get(new String[] {nameChain[k]});
+      } else {
+        if (logger != null) {
+          logger.log(
+              FINE,
+              "Encountered a value of {0} while extracting attribute {1} for ObjectName {2}; unable to extract metric value",
+              new Object[] {
+                (value == null ? "NULL" : value.getClass().getName()),
+                getAttributeName(),
+                objectName
+              });
+        }
+        break;
+      }
+      k++;
+    }
+    return value;
+  }
+
   @Nullable
   private Object extractAttributeValue(MBeanServer server, ObjectName objectName) {
     return extractAttributeValue(server, objectName, null);
@@ -260,12 +279,31 @@ public class BeanAttributeExtractor implements MetricAttributeExtractor {
     return null;
   }
 
+  @Nullable
+  Number extractNumericalAttribute(
+      AttributeSnapshot snapshot, MBeanServer server, ObjectName objectName) {
+    Object value = extractAttributeValue(snapshot, server, objectName);
+    if (value instanceof Number) {
+      return (Number) value;
+    }
+    return null;
+  }
+
   @Override
   @Nullable
   public String extractValue(MBeanServer server, ObjectName objectName) {
     return extractStringAttribute(server, objectName);
   }
 
+  @Nullable
+  String extractValue(AttributeSnapshot snapshot, MBeanServer server, ObjectName objectName) {
+    Object value = extractAttributeValue(snapshot, server, objectName);
+    if (value instanceof String) {
+      return (String) value;
+    }
+    return null;
+  }
+
   @Nullable
   private String extractStringAttribute(MBeanServer server, ObjectName objectName) {
     Object value = extractAttributeValue(server, objectName);
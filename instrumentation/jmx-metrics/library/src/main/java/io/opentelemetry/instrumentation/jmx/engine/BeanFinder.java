@@ -7,29 +7,61 @@ package io.opentelemetry.instrumentation.jmx.engine;
 
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.InstanceNotFoundException;
 import javax.management.MBeanServer;
+import javax.management.MBeanServerDelegate;
 import javax.management.MBeanServerFactory;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
 import javax.management.ObjectName;
+import javax.management.QueryExp;
+import javax.management.relation.MBeanServerNotificationFilter;
 
 /**
  * A class responsible for finding MBeans that match metric definitions specified by a set of
  * MetricDefs.
+ *
+ * <p>Each MBeanServer is queried once when it is first seen. After that, MBeans are discovered
+ * from the registration and unregistration notifications of the MBeanServerDelegate, which are
+ * matched against the MetricDefs through a {@link MetricDefIndex}. The periodic refresh only looks
+ * for new MBeanServers and retries the MBeans whose attributes could not be resolved yet.
  */
 class BeanFinder {
 
+  private static final Logger logger = Logger.getLogger(BeanFinder.class.getName());
+
   private final MetricRegistrar registrar;
   private MetricConfiguration conf;
+  private MetricDefIndex index;
   private final ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
   private final long discoveryDelay;
   private final long maxDelay;
   private long delay = 1000; // number of milliseconds until first attempt to discover MBeans
 
+  // The following state is only accessed from the exec thread
+  private final Set<MBeanServer> knownServers =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  // The MBeanServer providing the MBeans for each MetricDef, assuming that only one does
+  private final Map<MetricDef, MBeanServer> metricDefServers = new HashMap<>();
+  // Matching MBeans that did not support all the required attributes when they were found
+  private final Map<ObjectName, MBeanServer> pendingObjectNames = new LinkedHashMap<>();
+
   BeanFinder(MetricRegistrar registrar, long discoveryDelay) {
     this.registrar = registrar;
     this.discoveryDelay = Math.max(1000, discoveryDelay); // Enforce sanity
@@ -38,6 +70,7 @@ class BeanFinder {
 
   void discoverBeans(MetricConfiguration conf) {
     this.conf = conf;
+    this.index = new MetricDefIndex(conf.getMetricDefs());
 
     if (!conf.isEmpty()) {
       // Issue 9336: Corner case: PlatformMBeanServer will remain unitialized until a direct
@@ -61,58 +94,129 @@ class BeanFinder {
   }
 
   /**
-   * Go over all configured metric definitions and try to find matching MBeans. Once a match is
-   * found for a given metric definition, submit the definition to MetricRegistrar for further
-   * handling. Successive invocations of this method may find matches that were previously
-   * unavailable, in such cases MetricRegistrar will extend the coverage for the new MBeans
+   * Look for MBeanServers that were not seen before. For each of them, subscribe to the MBean
+   * registration notifications and go over all configured metric definitions to find the MBeans
+   * that are already registered. Then retry the MBeans whose attributes could not be resolved
+   * before, as MBeans may expose their attributes only some time after being registered.
    */
   private void refreshState() {
     List<MBeanServer> servers = MBeanServerFactory.findMBeanServer(null);
 
-    for (MetricDef metricDef : conf.getMetricDefs()) {
-      resolveBeans(metricDef, servers);
+    for (MBeanServer server : servers) {
+      if (knownServers.add(server)) {
+        addRegistrationListener(server);
+        for (MetricDef metricDef : conf.getMetricDefs()) {
+          resolveBeans(metricDef, server);
+        }
+      }
+    }
+
+    retryPendingBeans();
+  }
+
+  private void addRegistrationListener(MBeanServer server) {
+    MBeanServerNotificationFilter filter = new MBeanServerNotificationFilter();
+    filter.enableAllObjectNames();
+    try {
+      server.addNotificationListener(
+          MBeanServerDelegate.DELEGATE_NAME, new RegistrationListener(), filter, server);
+    } catch (InstanceNotFoundException e) {
+      // Should not happen, the delegate is registered by every MBeanServer
+      logger.log(Level.FINE, "Unable to listen to MBean registrations", e);
     }
   }
 
   /**
-   * Go over the specified list of MBeanServers and try to find any MBeans matching the specified
-   * MetricDef. If found, verify that the MBeans support the specified attributes, and set up
-   * collection of corresponding metrics.
+   * Query the specified MBeanServer for any MBeans matching the specified MetricDef. If found,
+   * verify that the MBeans support the specified attributes, and set up collection of
+   * corresponding metrics.
    *
    * @param metricDef the MetricDef used to find matching MBeans
-   * @param servers the list of MBeanServers to query
+   * @param server the MBeanServer to query
    */
-  private void resolveBeans(MetricDef metricDef, List<MBeanServer> servers) {
+  private void resolveBeans(MetricDef metricDef, MBeanServer server) {
+    if (!isServerFor(metricDef, server)) {
+      return;
+    }
     BeanGroup beans = metricDef.getBeanGroup();
 
-    for (MBeanServer server : servers) {
-      // The set of all matching ObjectNames recognized by the server
-      Set<ObjectName> allObjectNames = new HashSet<>();
+    // The set of all matching ObjectNames recognized by the server
+    Set<ObjectName> allObjectNames = new HashSet<>();
 
-      for (ObjectName pattern : beans.getNamePatterns()) {
-        Set<ObjectName> objectNames = server.queryNames(pattern, beans.getQueryExp());
-        allObjectNames.addAll(objectNames);
+    for (ObjectName pattern : beans.getNamePatterns()) {
+      Set<ObjectName> objectNames = server.queryNames(pattern, beans.getQueryExp());
+      allObjectNames.addAll(objectNames);
+    }
+
+    if (!allObjectNames.isEmpty()) {
+      metricDefServers.put(metricDef, server);
+      resolveAttributes(allObjectNames, server, metricDef);
+    }
+  }
+
+  private void onRegistration(MBeanServer server, ObjectName objectName) {
+    for (MetricDef metricDef : index.find(objectName)) {
+      if (isServerFor(metricDef, server) && matchesQuery(metricDef, server, objectName)) {
+        metricDefServers.put(metricDef, server);
+        resolveAttributes(Collections.singleton(objectName), server, metricDef);
       }
+    }
+  }
 
-      if (!allObjectNames.isEmpty()) {
-        resolveAttributes(allObjectNames, server, metricDef);
+  private void onUnregistration(MBeanServer server, ObjectName objectName) {
+    pendingObjectNames.remove(objectName);
+    for (MetricDef metricDef : index.find(objectName)) {
+      if (metricDefServers.get(metricDef) != server) {
+        continue;
+      }
+      for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
+        synchronized (extractor) {
+          DetectionStatus status = extractor.getStatus();
+          if (status != null && status.getServer() == server) {
+            status.removeObjectName(objectName);
+          }
+        }
+      }
+    }
+  }
 
-        // Assuming that only one MBeanServer has the required MBeans
-        break;
+  private void retryPendingBeans() {
+    if (pendingObjectNames.isEmpty()) {
+      return;
+    }
+    Map<ObjectName, MBeanServer> retries = new LinkedHashMap<>(pendingObjectNames);
+    pendingObjectNames.clear();
+    for (Map.Entry<ObjectName, MBeanServer> entry : retries.entrySet()) {
+      MBeanServer server = entry.getValue();
+      if (server.isRegistered(entry.getKey())) {
+        onRegistration(server, entry.getKey());
       }
     }
   }
 
+  // Assuming that only one MBeanServer has the required MBeans
+  private boolean isServerFor(MetricDef metricDef, MBeanServer server) {
+    MBeanServer metricDefServer = metricDefServers.get(metricDef);
+    return metricDefServer == null || metricDefServer == server;
+  }
+
+  private static boolean matchesQuery(
+      MetricDef metricDef, MBeanServer server, ObjectName objectName) {
+    QueryExp queryExp = metricDef.getBeanGroup().getQueryExp();
+    return queryExp == null || !server.queryNames(objectName, queryExp).isEmpty();
+  }
+
   /**
    * Go over the collection of matching MBeans and try to find all matching attributes. For every
-   * successful match, activate metric value collection.
+   * successful match, activate metric value collection. MBeans that lack any of the attributes are
+   * remembered, to be tried again at the next refresh.
    *
    * @param objectNames the collection of ObjectNames identifying the MBeans
    * @param server the MBeanServer which recognized the collection of ObjectNames
    * @param metricDef the MetricDef describing the attributes to look for
    */
   private void resolveAttributes(
-      Set<ObjectName> objectNames, MBeanServer server, MetricDef metricDef) {
+      Collection<ObjectName> objectNames, MBeanServer server, MetricDef metricDef) {
     for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
       // For each MetricExtractor, find the subset of MBeans that have the required attribute
       List<ObjectName> validObjectNames = new ArrayList<>();
@@ -129,10 +233,50 @@ class BeanFinder {
           validObjectNames.add(objectName);
         }
       }
+      if (validObjectNames.size() < objectNames.size()) {
+        for (ObjectName objectName : objectNames) {
+          if (!validObjectNames.contains(objectName)) {
+            pendingObjectNames.put(objectName, server);
+          }
+        }
+      }
       if (!validObjectNames.isEmpty()) {
         // Ready to collect metric values
         registrar.enrollExtractor(server, validObjectNames, extractor, attributeInfo);
       }
     }
   }
+
+  /**
+   * Receives the MBean registration notifications of an MBeanServer, and hands over the ones that
+   * may match a MetricDef to the exec thread.
+   */
+  private class RegistrationListener implements NotificationListener {
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+      if (!(notification instanceof MBeanServerNotification)) {
+        return;
+      }
+      ObjectName objectName = ((MBeanServerNotification) notification).getMBeanName();
+      if (!index.mayMatch(objectName)) {
+        return;
+      }
+      MBeanServer server = (MBeanServer) handback;
+      boolean registered =
+          MBeanServerNotification.REGISTRATION_NOTIFICATION.equals(notification.getType());
+      try {
+        exec.execute(
+            () -> {
+              if (registered) {
+                onRegistration(server, objectName);
+              } else {
+                onUnregistration(server, objectName);
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        // the executor has been shut down
+      }
+    }
+  }
 }
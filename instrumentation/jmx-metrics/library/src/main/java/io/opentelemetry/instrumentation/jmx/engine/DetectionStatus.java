@@ -6,21 +6,24 @@
 package io.opentelemetry.instrumentation.jmx.engine;
 
 import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
 /**
- * A class encapsulating a set of ObjectNames and the MBeanServer that recognized them. Objects of
- * this class are immutable.
+ * A class encapsulating a set of ObjectNames and the MBeanServer that recognized them. The set of
+ * ObjectNames follows the registration and unregistration of MBeans, and can be read while it is
+ * being updated.
  */
 class DetectionStatus {
 
   private final MBeanServer server;
-  private final Collection<ObjectName> objectNames;
+  private final Set<ObjectName> objectNames = ConcurrentHashMap.newKeySet();
 
   DetectionStatus(MBeanServer server, Collection<ObjectName> objectNames) {
     this.server = server;
-    this.objectNames = objectNames;
+    this.objectNames.addAll(objectNames);
   }
 
   MBeanServer getServer() {
@@ -30,4 +33,12 @@ class DetectionStatus {
   Collection<ObjectName> getObjectNames() {
     return objectNames;
   }
+
+  void addObjectNames(Collection<ObjectName> objectNames) {
+    this.objectNames.addAll(objectNames);
+  }
+
+  void removeObjectName(ObjectName objectName) {
+    objectNames.remove(objectName);
+  }
 }
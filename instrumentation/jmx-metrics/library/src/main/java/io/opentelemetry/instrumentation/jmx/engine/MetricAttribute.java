@@ -29,4 +29,12 @@ public class MetricAttribute {
   String acquireAttributeValue(MBeanServer server, ObjectName objectName) {
     return extractor.extractValue(server, objectName);
   }
+
+  String acquireAttributeValue(
+      AttributeSnapshot snapshot, MBeanServer server, ObjectName objectName) {
+    if (extractor instanceof BeanAttributeExtractor) {
+      return ((BeanAttributeExtractor) extractor).extractValue(snapshot, server, objectName);
+    }
+    return extractor.extractValue(server, objectName);
+  }
 }
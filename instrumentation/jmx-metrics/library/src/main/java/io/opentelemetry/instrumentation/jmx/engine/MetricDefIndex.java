@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.management.ObjectName;
+
+/**
+ * An index of the ObjectName patterns of a set of MetricDefs, used to find the MetricDefs that may
+ * apply to a single MBean without evaluating every pattern. Patterns are indexed by their domain,
+ * unless the domain is a pattern itself, and then by the first key property that has a fixed
+ * value, if any. Objects of this class are immutable.
+ */
+class MetricDefIndex {
+
+  private final Map<String, DomainEntries> domains = new HashMap<>();
+  // patterns with a wildcard in the domain, checked for every ObjectName
+  private final List<Entry> domainPatternEntries = new ArrayList<>();
+
+  MetricDefIndex(Collection<MetricDef> metricDefs) {
+    for (MetricDef metricDef : metricDefs) {
+      for (ObjectName pattern : metricDef.getBeanGroup().getNamePatterns()) {
+        Entry entry = new Entry(pattern, metricDef);
+        if (pattern.isDomainPattern()) {
+          domainPatternEntries.add(entry);
+        } else {
+          domains.computeIfAbsent(pattern.getDomain(), x -> new DomainEntries()).add(entry);
+        }
+      }
+    }
+  }
+
+  /** Returns true if a MetricDef may apply to an MBean of the given ObjectName. */
+  boolean mayMatch(ObjectName objectName) {
+    return !domainPatternEntries.isEmpty() || domains.containsKey(objectName.getDomain());
+  }
+
+  /**
+   * Returns the MetricDefs that have a pattern matching the given ObjectName. The query
+   * expressions of the MetricDefs are not evaluated.
+   */
+  Collection<MetricDef> find(ObjectName objectName) {
+    DomainEntries domainEntries = domains.get(objectName.getDomain());
+    if (domainEntries == null && domainPatternEntries.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Set<MetricDef> metricDefs = new LinkedHashSet<>();
+    if (domainEntries != null) {
+      addMatches(domainEntries.unkeyedEntries, objectName, metricDefs);
+      Hashtable<String, String> properties = objectName.getKeyPropertyList();
+      for (Map.Entry<String, String> property : properties.entrySet()) {
+        List<Entry> entries =
+            domainEntries.keyedEntries.get(keyOf(property.getKey(), property.getValue()));
+        if (entries != null) {
+          addMatches(entries, objectName, metricDefs);
+        }
+      }
+    }
+    addMatches(domainPatternEntries, objectName, metricDefs);
+    return metricDefs;
+  }
+
+  private static void addMatches(
+      List<Entry> entries, ObjectName objectName, Set<MetricDef> metricDefs) {
+    for (Entry entry : entries) {
+      if (entry.pattern.apply(objectName)) {
+        metricDefs.add(entry.metricDef);
+      }
+    }
+  }
+
+  private static String keyOf(String key, String value) {
+    return key + '=' + value;
+  }
+
+  private static class DomainEntries {
+    // by the first key property with a fixed value, like "type=MemoryPool"
+    private final Map<String, List<Entry>> keyedEntries = new HashMap<>();
+    private final List<Entry> unkeyedEntries = new ArrayList<>();
+
+    void add(Entry entry) {
+      ObjectName pattern = entry.pattern;
+      for (Map.Entry<String, String> property : pattern.getKeyPropertyList().entrySet()) {
+        if (!pattern.isPropertyValuePattern(property.getKey())) {
+          keyedEntries
+              .computeIfAbsent(
+                  keyOf(property.getKey(), property.getValue()), x -> new ArrayList<>())
+              .add(entry);
+          return;
+        }
+      }
+      unkeyedEntries.add(entry);
+    }
+  }
+
+  private static class Entry {
+    private final ObjectName pattern;
+    private final MetricDef metricDef;
+
+    Entry(ObjectName pattern, MetricDef metricDef) {
+      this.pattern = pattern;
+      this.metricDef = metricDef;
+    }
+  }
+}
@@ -28,6 +28,8 @@ class MetricRegistrar {
   private static final Logger logger = Logger.getLogger(MetricRegistrar.class.getName());
 
   private final Meter meter;
+  // The MBean attribute values shared by the callbacks of one collection cycle
+  private final AttributeSnapshot snapshot = new AttributeSnapshot();
 
   MetricRegistrar(OpenTelemetry openTelemetry, String instrumentationScope) {
     meter = openTelemetry.getMeter(instrumentationScope);
@@ -38,7 +40,7 @@ class MetricRegistrar {
    *
    * @param server the MBeanServer to use to query for metric values
    * @param objectNames the Objectnames that are known to the server and that know the attribute
-   *     that is required to get the metric values
+   *     that is required to get the metric values, in addition to the ones enrolled before
    * @param extractor the MetricExtractor responsible for getting the metric values
    */
   void enrollExtractor(
@@ -47,12 +49,16 @@ class MetricRegistrar {
       MetricExtractor extractor,
       AttributeInfo attributeInfo) {
     // For the first enrollment of the extractor we have to build the corresponding Instrument
-    DetectionStatus status = new DetectionStatus(server, objectNames);
     boolean firstEnrollment;
     synchronized (extractor) {
-      firstEnrollment = extractor.getStatus() == null;
-      // For successive enrollments, it is sufficient to refresh the status
-      extractor.setStatus(status);
+      DetectionStatus status = extractor.getStatus();
+      firstEnrollment = status == null;
+      // For successive enrollments, it is sufficient to add the new MBeans to the status
+      if (status != null && status.getServer() == server) {
+        status.addObjectNames(objectNames);
+      } else {
+        extractor.setStatus(new DetectionStatus(server, objectNames));
+      }
     }
 
     if (firstEnrollment) {
@@ -79,9 +85,9 @@ class MetricRegistrar {
             }
 
             if (attributeInfo.usesDoubleValues()) {
-              builder.ofDoubles().buildWithCallback(doubleTypeCallback(extractor));
+              builder.ofDoubles().buildWithCallback(doubleTypeCallback(extractor, snapshot));
             } else {
-              builder.buildWithCallback(longTypeCallback(extractor));
+              builder.buildWithCallback(longTypeCallback(extractor, snapshot));
             }
             logger.log(INFO, "Created Counter for {0}", metricName);
           }
@@ -100,9 +106,9 @@ class MetricRegistrar {
             }
 
             if (attributeInfo.usesDoubleValues()) {
-              builder.ofDoubles().buildWithCallback(doubleTypeCallback(extractor));
+              builder.ofDoubles().buildWithCallback(doubleTypeCallback(extractor, snapshot));
             } else {
-              builder.buildWithCallback(longTypeCallback(extractor));
+              builder.buildWithCallback(longTypeCallback(extractor, snapshot));
             }
             logger.log(INFO, "Created UpDownCounter for {0}", metricName);
           }
@@ -121,9 +127,9 @@ class MetricRegistrar {
             }
 
             if (attributeInfo.usesDoubleValues()) {
-              builder.buildWithCallback(doubleTypeCallback(extractor));
+              builder.buildWithCallback(doubleTypeCallback(extractor, snapshot));
             } else {
-              builder.ofLongs().buildWithCallback(longTypeCallback(extractor));
+              builder.ofLongs().buildWithCallback(longTypeCallback(extractor, snapshot));
             }
             logger.log(INFO, "Created Gauge for {0}", metricName);
           }
@@ -135,17 +141,21 @@ class MetricRegistrar {
    * A method generating metric collection callback for asynchronous Measurement
    * of Double type.
    */
-  static Consumer<ObservableDoubleMeasurement> doubleTypeCallback(MetricExtractor extractor) {
+  static Consumer<ObservableDoubleMeasurement> doubleTypeCallback(
+      MetricExtractor extractor, AttributeSnapshot snapshot) {
     return measurement -> {
+      snapshot.beginCallback(extractor);
       DetectionStatus status = extractor.getStatus();
       if (status != null) {
         MBeanServer server = status.getServer();
         for (ObjectName objectName : status.getObjectNames()) {
           Number metricValue =
-              extractor.getMetricValueExtractor().extractNumericalAttribute(server, objectName);
+              extractor
+                  .getMetricValueExtractor()
+                  .extractNumericalAttribute(snapshot, server, objectName);
           if (metricValue != null) {
             // get the metric attributes
-            Attributes attr = createMetricAttributes(server, objectName, extractor);
+            Attributes attr = createMetricAttributes(snapshot, server, objectName, extractor);
             measurement.record(metricValue.doubleValue(), attr);
           }
         }
@@ -157,17 +167,21 @@ class MetricRegistrar {
    * A method generating metric collection callback for asynchronous Measurement
    * of Long type.
    */
-  static Consumer<ObservableLongMeasurement> longTypeCallback(MetricExtractor extractor) {
+  static Consumer<ObservableLongMeasurement> longTypeCallback(
+      MetricExtractor extractor, AttributeSnapshot snapshot) {
     return measurement -> {
+      snapshot.beginCallback(extractor);
       DetectionStatus status = extractor.getStatus();
       if (status != null) {
         MBeanServer server = status.getServer();
         for (ObjectName objectName : status.getObjectNames()) {
           Number metricValue =
-              extractor.getMetricValueExtractor().extractNumericalAttribute(server, objectName);
+              extractor
+                  .getMetricValueExtractor()
+                  .extractNumericalAttribute(snapshot, server, objectName);
           if (metricValue != null) {
             // get the metric attributes
-            Attributes attr = createMetricAttributes(server, objectName, extractor);
+            Attributes attr = createMetricAttributes(snapshot, server, objectName, extractor);
             measurement.record(metricValue.longValue(), attr);
           }
         }
@@ -180,11 +194,14 @@ class MetricRegistrar {
    * the metric values
    */
   static Attributes createMetricAttributes(
-      MBeanServer server, ObjectName objectName, MetricExtractor extractor) {
+      AttributeSnapshot snapshot,
+      MBeanServer server,
+      ObjectName objectName,
+      MetricExtractor extractor) {
     MetricAttribute[] metricAttributes = extractor.getAttributes();
     AttributesBuilder attrBuilder = Attributes.builder();
     for (MetricAttribute metricAttribute : metricAttributes) {
-      String attributeValue = metricAttribute.acquireAttributeValue(server, objectName);
+      String attributeValue = metricAttribute.acquireAttributeValue(snapshot, server, objectName);
       if (attributeValue != null) {
         attrBuilder = attrBuilder.put(metricAttribute.getAttributeName(), attributeValue);
       }
@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class AttributeSnapshotTest {
+
+  // An MBean used for this test
+  @SuppressWarnings("checkstyle:AbbreviationAsWordInName")
+  public interface CounterMBean {
+
+    long getCount();
+
+    String getName();
+  }
+
+  private static class Counter implements CounterMBean {
+    private long count;
+
+    @Override
+    public long getCount() {
+      return ++count;
+    }
+
+    @Override
+    public String getName() {
+      return "counter";
+    }
+  }
+
+  private static final String DOMAIN = "otel.jmx.test";
+  private static ObjectName objectName;
+  private static MBeanServer theServer;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    theServer = MBeanServerFactory.createMBeanServer(DOMAIN);
+    objectName = new ObjectName("otel.jmx.test:type=Counter");
+    theServer.registerMBean(new Counter(), objectName);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    MBeanServerFactory.releaseMBeanServer(theServer);
+    theServer = null;
+  }
+
+  @Test
+  void testValuesAreSharedWithinCycle() {
+    AttributeSnapshot snapshot = new AttributeSnapshot();
+    MetricExtractor first = metricExtractor("Count");
+    MetricExtractor second = metricExtractor("Count");
+    BeanAttributeExtractor count = BeanAttributeExtractor.fromName("Count");
+    BeanAttributeExtractor name = BeanAttributeExtractor.fromName("Name");
+
+    snapshot.beginCallback(first);
+    Number value = count.extractNumericalAttribute(snapshot, theServer, objectName);
+    assertThat(value).isNotNull();
+    assertThat(name.extractValue(snapshot, theServer, objectName)).isEqualTo("counter");
+    snapshot.beginCallback(second);
+    assertThat(count.extractNumericalAttribute(snapshot, theServer, objectName))
+        .isEqualTo(value);
+
+    // invoking a callback again starts a new cycle, with the attributes fetched in one call
+    snapshot.beginCallback(first);
+    assertThat(count.extractNumericalAttribute(snapshot, theServer, objectName))
+        .isEqualTo(value.longValue() + 1);
+    assertThat(name.extractValue(snapshot, theServer, objectName)).isEqualTo("counter");
+    snapshot.beginCallback(second);
+    assertThat(count.extractNumericalAttribute(snapshot, theServer, objectName))
+        .isEqualTo(value.longValue() + 1);
+  }
+
+  @Test
+  void testMissingAttribute() {
+    AttributeSnapshot snapshot = new AttributeSnapshot();
+    MetricExtractor extractor = metricExtractor("Missing");
+    BeanAttributeExtractor missing = BeanAttributeExtractor.fromName("Missing");
+
+    snapshot.beginCallback(extractor);
+    assertThat(missing.extractNumericalAttribute(snapshot, theServer, objectName)).isNull();
+    snapshot.beginCallback(extractor);
+    assertThat(missing.extractNumericalAttribute(snapshot, theServer, objectName)).isNull();
+  }
+
+  private static MetricExtractor metricExtractor(String attributeName) {
+    return new MetricExtractor(
+        BeanAttributeExtractor.fromName(attributeName),
+        new MetricInfo("test.metric", null, "1", MetricInfo.Type.GAUGE));
+  }
+}
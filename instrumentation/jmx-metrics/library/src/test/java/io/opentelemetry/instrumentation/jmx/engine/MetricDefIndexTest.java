@@ -0,0 +1,63 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class MetricDefIndexTest {
+
+  @Test
+  void findsMetricDefsByDomainAndKeyProperty() throws MalformedObjectNameException {
+    MetricDef memoryPool = metricDef("java.lang:name=*,type=MemoryPool");
+    MetricDef threading = metricDef("java.lang:type=Threading");
+    MetricDef anyJavaLang = metricDef("java.lang:*");
+    MetricDef catalina = metricDef("Catalina:type=GlobalRequestProcessor,name=*");
+    MetricDefIndex index =
+        new MetricDefIndex(Arrays.asList(memoryPool, threading, anyJavaLang, catalina));
+
+    ObjectName edenSpace = new ObjectName("java.lang:type=MemoryPool,name=G1 Eden Space");
+    assertThat(index.mayMatch(edenSpace)).isTrue();
+    assertThat(index.find(edenSpace)).containsExactlyInAnyOrder(memoryPool, anyJavaLang);
+
+    ObjectName threads = new ObjectName("java.lang:type=Threading");
+    assertThat(index.find(threads)).containsExactlyInAnyOrder(threading, anyJavaLang);
+
+    ObjectName processor =
+        new ObjectName("Catalina:type=GlobalRequestProcessor,name=\"http-nio-8080\"");
+    assertThat(index.find(processor)).containsExactly(catalina);
+
+    // matching domain and key property, but with an extra key property
+    ObjectName threadPool = new ObjectName("Catalina:type=GlobalRequestProcessor,name=a,x=y");
+    assertThat(index.mayMatch(threadPool)).isTrue();
+    assertThat(index.find(threadPool)).isEmpty();
+
+    ObjectName other = new ObjectName("kafka.server:type=BrokerTopicMetrics");
+    assertThat(index.mayMatch(other)).isFalse();
+    assertThat(index.find(other)).isEmpty();
+  }
+
+  @Test
+  void findsMetricDefsWithDomainPattern() throws MalformedObjectNameException {
+    MetricDef kafka = metricDef("kafka.*:type=BrokerTopicMetrics,name=*");
+    MetricDefIndex index = new MetricDefIndex(Arrays.asList(kafka));
+
+    ObjectName messagesIn =
+        new ObjectName("kafka.server:type=BrokerTopicMetrics,name=MessagesInPerSec");
+    assertThat(index.mayMatch(messagesIn)).isTrue();
+    assertThat(index.find(messagesIn)).containsExactly(kafka);
+
+    assertThat(index.find(new ObjectName("kafka.server:type=ReplicaManager,name=x"))).isEmpty();
+  }
+
+  private static MetricDef metricDef(String pattern) throws MalformedObjectNameException {
+    return new MetricDef(new BeanGroup(null, new ObjectName(pattern)));
+  }
+}
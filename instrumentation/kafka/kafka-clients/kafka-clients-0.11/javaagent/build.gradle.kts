@@ -49,10 +49,40 @@ tasks {
     include("**/KafkaClientSuppressReceiveSpansTest.*")
   }
 
+  val testBatchProcess by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessTest")
+    }
+    include("**/KafkaClientBatchProcessTest.*")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.enabled=true")
+  }
+
+  val testBatchProcessLimits by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessLimitsTest")
+    }
+    include("**/KafkaClientBatchProcessLimitsTest.*")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.enabled=true")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.max-records=2")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.max-links=1")
+  }
+
+  val testBatchProcessMaxDuration by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessMaxDurationTest")
+    }
+    include("**/KafkaClientBatchProcessMaxDurationTest.*")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.enabled=true")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.max-duration=100ms")
+  }
+
   test {
     filter {
       excludeTestsMatching("KafkaClientPropagationDisabledTest")
       excludeTestsMatching("KafkaClientSuppressReceiveSpansTest")
+      excludeTestsMatching("KafkaClientBatchProcessTest")
+      excludeTestsMatching("KafkaClientBatchProcessLimitsTest")
+      excludeTestsMatching("KafkaClientBatchProcessMaxDurationTest")
     }
     jvmArgs("-Dotel.instrumentation.messaging.experimental.receive-telemetry.enabled=true")
   }
@@ -60,5 +90,8 @@ tasks {
   check {
     dependsOn(testPropagationDisabled)
     dependsOn(testReceiveSpansDisabled)
+    dependsOn(testBatchProcess)
+    dependsOn(testBatchProcessLimits)
+    dependsOn(testBatchProcessMaxDuration)
   }
 }
@@ -16,6 +16,7 @@ import io.opentelemetry.instrumentation.kafka.internal.OpenTelemetrySupplier;
 import io.opentelemetry.javaagent.bootstrap.internal.DeprecatedConfigProperties;
 import io.opentelemetry.javaagent.bootstrap.internal.ExperimentalConfig;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -34,10 +35,30 @@ public final class KafkaSingletons {
   private static final boolean METRICS_ENABLED =
       InstrumentationConfig.get()
           .getBoolean("otel.instrumentation.kafka.metric-reporter.enabled", true);
+  // create one process span for a batch of records instead of one for every record
+  private static final boolean BATCH_PROCESS_ENABLED =
+      InstrumentationConfig.get()
+          .getBoolean("otel.instrumentation.kafka.experimental.batch-process.enabled", false);
+  // maximum number of records covered by a batch process span, 0 means the whole poll batch
+  private static final int BATCH_PROCESS_MAX_RECORDS =
+      InstrumentationConfig.get()
+          .getInt("otel.instrumentation.kafka.experimental.batch-process.max-records", 0);
+  // a new batch process span is started for the remaining records once a span has been open for
+  // this long, 0 means no limit
+  private static final long BATCH_PROCESS_MAX_DURATION_NANOS =
+      InstrumentationConfig.get()
+          .getDuration(
+              "otel.instrumentation.kafka.experimental.batch-process.max-duration", Duration.ZERO)
+          .toNanos();
+  // the default span link count limit of the SDK
+  private static final int BATCH_PROCESS_MAX_LINKS =
+      InstrumentationConfig.get()
+          .getInt("otel.instrumentation.kafka.experimental.batch-process.max-links", 128);
 
   private static final Instrumenter<KafkaProducerRequest, RecordMetadata> PRODUCER_INSTRUMENTER;
   private static final Instrumenter<KafkaReceiveRequest, Void> CONSUMER_RECEIVE_INSTRUMENTER;
   private static final Instrumenter<KafkaProcessRequest, Void> CONSUMER_PROCESS_INSTRUMENTER;
+  private static final Instrumenter<KafkaReceiveRequest, Void> CONSUMER_BATCH_PROCESS_INSTRUMENTER;
 
   static {
     KafkaInstrumenterFactory instrumenterFactory =
@@ -47,10 +68,12 @@ public final class KafkaSingletons {
                 InstrumentationConfig.get()
                     .getBoolean("otel.instrumentation.kafka.experimental-span-attributes", false))
             .setMessagingReceiveInstrumentationEnabled(
-                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled());
+                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled())
+            .setBatchProcessMaxLinks(BATCH_PROCESS_MAX_LINKS);
     PRODUCER_INSTRUMENTER = instrumenterFactory.createProducerInstrumenter();
     CONSUMER_RECEIVE_INSTRUMENTER = instrumenterFactory.createConsumerReceiveInstrumenter();
     CONSUMER_PROCESS_INSTRUMENTER = instrumenterFactory.createConsumerProcessInstrumenter();
+    CONSUMER_BATCH_PROCESS_INSTRUMENTER = instrumenterFactory.createBatchProcessInstrumenter();
   }
 
   public static boolean isProducerPropagationEnabled() {
@@ -69,6 +92,22 @@ public final class KafkaSingletons {
     return CONSUMER_PROCESS_INSTRUMENTER;
   }
 
+  public static Instrumenter<KafkaReceiveRequest, Void> consumerBatchProcessInstrumenter() {
+    return CONSUMER_BATCH_PROCESS_INSTRUMENTER;
+  }
+
+  public static boolean isBatchProcessEnabled() {
+    return BATCH_PROCESS_ENABLED;
+  }
+
+  public static int batchProcessMaxRecords() {
+    return BATCH_PROCESS_MAX_RECORDS;
+  }
+
+  public static long batchProcessMaxDurationNanos() {
+    return BATCH_PROCESS_MAX_DURATION_NANOS;
+  }
+
   @SuppressWarnings("unchecked")
   public static void enhanceConfig(Map<? super String, Object> config) {
     // skip enhancing configuration when metrics are disabled or when we have already enhanced it
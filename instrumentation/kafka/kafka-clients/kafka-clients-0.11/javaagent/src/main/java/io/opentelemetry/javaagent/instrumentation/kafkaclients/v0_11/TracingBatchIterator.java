@@ -0,0 +1,154 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
+
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.batchProcessMaxDurationNanos;
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.batchProcessMaxRecords;
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.consumerBatchProcessInstrumenter;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.kafka.internal.KafkaConsumerContext;
+import io.opentelemetry.instrumentation.kafka.internal.KafkaReceiveRequest;
+import io.opentelemetry.javaagent.bootstrap.kafka.KafkaClientsConsumerProcessTracing;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Creates one process span for a batch of records instead of one for every record. The records of
+ * a batch are read ahead from the delegate iterator, so that the batch span can link to them when
+ * it starts; the span stays current until all records of the batch were returned.
+ */
+public class TracingBatchIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
+
+  private final Iterator<ConsumerRecord<K, V>> delegateIterator;
+  private final Context parentContext;
+  private final KafkaConsumerContext consumerContext;
+  private final int maxRecords;
+  private final long maxDurationNanos;
+
+  private final List<ConsumerRecord<K, V>> batch = new ArrayList<>();
+  private int batchPosition;
+
+  /*
+   * Note: this may potentially create problems if this iterator is used from different threads. But
+   * at the moment we cannot do much about this.
+   */
+  @Nullable private KafkaReceiveRequest currentRequest;
+  @Nullable private Context currentContext;
+  @Nullable private Scope currentScope;
+  private long currentStartNanos;
+
+  TracingBatchIterator(
+      Iterator<ConsumerRecord<K, V>> delegateIterator, KafkaConsumerContext consumerContext) {
+    this.delegateIterator = delegateIterator;
+
+    Context receiveContext = consumerContext.getContext();
+    // use the receive CONSUMER as parent if it's available
+    this.parentContext = receiveContext != null ? receiveContext : Context.current();
+    this.consumerContext = consumerContext;
+    this.maxRecords = batchProcessMaxRecords();
+    this.maxDurationNanos = batchProcessMaxDurationNanos();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (batchPosition < batch.size()) {
+      return true;
+    }
+    closeScopeAndEndSpan();
+    return delegateIterator.hasNext();
+  }
+
+  @Override
+  public ConsumerRecord<K, V> next() {
+    if (batchPosition == batch.size()) {
+      closeScopeAndEndSpan();
+      fillBatch();
+      if (batch.isEmpty()) {
+        // let the delegate throw NoSuchElementException
+        return delegateIterator.next();
+      }
+      startSpan();
+    } else if (currentScope == null || spanExpired()) {
+      // the remaining records of the batch get a new span
+      closeScopeAndEndSpan();
+      startSpan();
+    }
+    return batch.get(batchPosition++);
+  }
+
+  private void fillBatch() {
+    batch.clear();
+    batchPosition = 0;
+    while ((maxRecords <= 0 || batch.size() < maxRecords) && delegateIterator.hasNext()) {
+      batch.add(delegateIterator.next());
+    }
+  }
+
+  private boolean spanExpired() {
+    return maxDurationNanos > 0 && System.nanoTime() - currentStartNanos >= maxDurationNanos;
+  }
+
+  private void startSpan() {
+    // it's important not to suppress consumer span creation here using Instrumenter.shouldStart()
+    // because this instrumentation can leak the context and so there may be a leaked consumer span
+    // in the context, in which case it's important to overwrite the leaked span instead of
+    // suppressing the correct span
+    // (https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/1947)
+    if (!KafkaClientsConsumerProcessTracing.wrappingEnabled()) {
+      return;
+    }
+    currentRequest =
+        KafkaReceiveRequest.create(
+            consumerContext, toConsumerRecords(batch.subList(batchPosition, batch.size())));
+    currentContext = consumerBatchProcessInstrumenter().start(parentContext, currentRequest);
+    currentScope = currentContext.makeCurrent();
+    if (maxDurationNanos > 0) {
+      currentStartNanos = System.nanoTime();
+    }
+  }
+
+  private void closeScopeAndEndSpan() {
+    if (currentScope != null) {
+      currentScope.close();
+      consumerBatchProcessInstrumenter().end(currentContext, currentRequest, null, null);
+      currentScope = null;
+      currentRequest = null;
+      currentContext = null;
+    }
+  }
+
+  private static <K, V> ConsumerRecords<K, V> toConsumerRecords(
+      List<ConsumerRecord<K, V>> records) {
+    Map<TopicPartition, List<ConsumerRecord<K, V>>> recordsByPartition = new LinkedHashMap<>();
+    TopicPartition partition = null;
+    List<ConsumerRecord<K, V>> partitionRecords = null;
+    for (ConsumerRecord<K, V> record : records) {
+      // records of the same partition are returned one after another
+      if (partition == null
+          || partition.partition() != record.partition()
+          || !partition.topic().equals(record.topic())) {
+        partition = new TopicPartition(record.topic(), record.partition());
+        partitionRecords = recordsByPartition.computeIfAbsent(partition, p -> new ArrayList<>());
+      }
+      partitionRecords.add(record);
+    }
+    return new ConsumerRecords<>(recordsByPartition);
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("remove");
+  }
+}
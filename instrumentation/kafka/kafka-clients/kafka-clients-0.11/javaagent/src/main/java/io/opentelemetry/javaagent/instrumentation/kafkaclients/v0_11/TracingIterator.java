@@ -6,6 +6,7 @@
 package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
 
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.consumerProcessInstrumenter;
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.isBatchProcessEnabled;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
@@ -43,6 +44,9 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
   public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
       Iterator<ConsumerRecord<K, V>> delegateIterator, KafkaConsumerContext consumerContext) {
     if (KafkaClientsConsumerProcessTracing.wrappingEnabled()) {
+      if (isBatchProcessEnabled()) {
+        return new TracingBatchIterator<>(delegateIterator, consumerContext);
+      }
       return new TracingIterator<>(delegateIterator, consumerContext);
     }
     return delegateIterator;
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
+
+import static io.opentelemetry.instrumentation.testing.util.TelemetryDataUtil.orderByRootSpanKind;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.kafka.internal.KafkaClientBaseTest;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// runs with batch-process.max-records=2 and batch-process.max-links=1
+class KafkaClientBatchProcessLimitsTest extends KafkaClientBaseTest {
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  @Test
+  void testMaxRecordsAndLinkStride() throws Exception {
+    testing.runWithSpan(
+        "parent",
+        () -> {
+          send("first");
+          send("second");
+          send("third");
+        });
+
+    awaitUntilConsumerIsReady();
+    @SuppressWarnings("PreferJavaTimeOverload")
+    ConsumerRecords<?, ?> records = consumer.poll(Duration.ofSeconds(5).toMillis());
+    assertThat(records.count()).isEqualTo(3);
+    for (ConsumerRecord<?, ?> record : records) {
+      testing.runWithSpan("processing " + record.value(), () -> {});
+    }
+
+    AtomicReference<SpanData> producer1 = new AtomicReference<>();
+    AtomicReference<SpanData> producer3 = new AtomicReference<>();
+
+    testing.waitAndAssertSortedTraces(
+        orderByRootSpanKind(SpanKind.INTERNAL, SpanKind.CONSUMER)
+            .thenComparingLong(trace -> trace.get(0).getStartEpochNanos()),
+        trace -> {
+          trace.hasSpansSatisfyingExactly(
+              span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+              span ->
+                  span.hasName(SHARED_TOPIC + " publish")
+                      .hasKind(SpanKind.PRODUCER)
+                      .hasParent(trace.getSpan(0)),
+              span ->
+                  span.hasName(SHARED_TOPIC + " publish")
+                      .hasKind(SpanKind.PRODUCER)
+                      .hasParent(trace.getSpan(0)),
+              span ->
+                  span.hasName(SHARED_TOPIC + " publish")
+                      .hasKind(SpanKind.PRODUCER)
+                      .hasParent(trace.getSpan(0)));
+
+          producer1.set(trace.getSpan(1));
+          producer3.set(trace.getSpan(3));
+        },
+        // the first span covers max-records records; with a single link allowed only every second
+        // record is linked, so the second record is not
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName(SHARED_TOPIC + " process")
+                        .hasKind(SpanKind.CONSUMER)
+                        .hasNoParent()
+                        .hasLinks(LinkData.create(producer1.get().getSpanContext())),
+                span -> span.hasName("processing first").hasParent(trace.getSpan(0)),
+                span -> span.hasName("processing second").hasParent(trace.getSpan(0))),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName(SHARED_TOPIC + " process")
+                        .hasKind(SpanKind.CONSUMER)
+                        .hasNoParent()
+                        .hasLinks(LinkData.create(producer3.get().getSpanContext())),
+                span -> span.hasName("processing third").hasParent(trace.getSpan(0))));
+  }
+
+  private void send(String value)
+      throws ExecutionException, InterruptedException, TimeoutException {
+    producer
+        .send(new ProducerRecord<>(SHARED_TOPIC, partition, null, value))
+        .get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the cost of tracing the processing of one poll batch with a process span for every
+ * record against a single batch process span. The batch is built in memory, every record carries a
+ * {@code traceparent} header as if it was sent by an instrumented producer.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class KafkaProcessBenchmark {
+
+  private static final String TOPIC = "benchmark";
+
+  @Param({"100", "1000"})
+  int batchSize;
+
+  private SdkTracerProvider tracerProvider;
+  private Instrumenter<KafkaProcessRequest, Void> processInstrumenter;
+  private Instrumenter<KafkaReceiveRequest, Void> batchProcessInstrumenter;
+  private ConsumerRecords<String, String> records;
+
+  @Setup
+  public void setup() {
+    tracerProvider = SdkTracerProvider.builder().build();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(tracerProvider)
+            .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+            .build();
+    KafkaInstrumenterFactory factory =
+        new KafkaInstrumenterFactory(openTelemetry, "benchmark").setBatchProcessMaxLinks(128);
+    processInstrumenter = factory.createConsumerProcessInstrumenter();
+    batchProcessInstrumenter = factory.createBatchProcessInstrumenter();
+
+    List<ConsumerRecord<String, String>> recordList = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      RecordHeaders headers = new RecordHeaders();
+      String traceparent = String.format("00-%032x-%016x-01", i + 1, i + 1);
+      headers.add("traceparent", traceparent.getBytes(StandardCharsets.UTF_8));
+      recordList.add(
+          new ConsumerRecord<>(
+              TOPIC,
+              0,
+              i,
+              0,
+              TimestampType.CREATE_TIME,
+              0,
+              -1,
+              5,
+              null,
+              "value",
+              headers));
+    }
+    records =
+        new ConsumerRecords<>(Collections.singletonMap(new TopicPartition(TOPIC, 0), recordList));
+  }
+
+  @TearDown
+  public void tearDown() {
+    tracerProvider.close();
+  }
+
+  @Benchmark
+  public void processSpanPerRecord(Blackhole blackhole) {
+    for (ConsumerRecord<String, String> record : records) {
+      KafkaProcessRequest request = KafkaProcessRequest.create(record, null, null);
+      Context context = processInstrumenter.start(Context.root(), request);
+      try (Scope ignored = context.makeCurrent()) {
+        blackhole.consume(record.value());
+      }
+      processInstrumenter.end(context, request, null, null);
+    }
+  }
+
+  @Benchmark
+  public void processSpanPerBatch(Blackhole blackhole) {
+    KafkaReceiveRequest request = KafkaReceiveRequest.create(records, null, null);
+    Context context = batchProcessInstrumenter.start(Context.root(), request);
+    try (Scope ignored = context.makeCurrent()) {
+      for (ConsumerRecord<String, String> record : records) {
+        blackhole.consume(record.value());
+      }
+    }
+    batchProcessInstrumenter.end(context, request, null, null);
+  }
+}
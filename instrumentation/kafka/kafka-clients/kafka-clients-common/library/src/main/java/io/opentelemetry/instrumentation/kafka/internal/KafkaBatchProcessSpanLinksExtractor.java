@@ -15,17 +15,27 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 final class KafkaBatchProcessSpanLinksExtractor implements SpanLinksExtractor<KafkaReceiveRequest> {
 
   private final SpanLinksExtractor<KafkaProcessRequest> singleRecordLinkExtractor;
+  private final int maxLinks;
 
-  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator) {
+  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator, int maxLinks) {
     this.singleRecordLinkExtractor =
         new PropagatorBasedSpanLinksExtractor<>(propagator, KafkaConsumerRecordGetter.INSTANCE);
+    this.maxLinks = maxLinks;
   }
 
   @Override
   public void extract(
       SpanLinksBuilder spanLinks, Context parentContext, KafkaReceiveRequest request) {
 
+    // when the batch has more records than links allowed, link every n-th record so that the links
+    // are spread over the whole batch; the headers of the other records are never read
+    int count = request.getRecords().count();
+    int stride = count <= maxLinks ? 1 : (count + maxLinks - 1) / maxLinks;
+    int index = 0;
     for (ConsumerRecord<?, ?> record : request.getRecords()) {
+      if (index++ % stride != 0) {
+        continue;
+      }
       // explicitly passing root to avoid situation where context propagation is turned off and the
       // parent (CONSUMER receive) span is linked
       singleRecordLinkExtractor.extract(
@@ -35,6 +35,7 @@ public final class KafkaInstrumenterFactory {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessMaxLinks = Integer.MAX_VALUE;
 
   public KafkaInstrumenterFactory(OpenTelemetry openTelemetry, String instrumentationName) {
     this.openTelemetry = openTelemetry;
@@ -78,6 +79,16 @@ public final class KafkaInstrumenterFactory {
     return this;
   }
 
+  /**
+   * Sets the maximum number of records of a batch that are linked from the batch process span. When
+   * a batch has more records, the linked records are sampled evenly from the whole batch.
+   */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessMaxLinks(int batchProcessMaxLinks) {
+    this.batchProcessMaxLinks = Math.max(1, batchProcessMaxLinks);
+    return this;
+  }
+
   public Instrumenter<KafkaProducerRequest, RecordMetadata> createProducerInstrumenter() {
     return createProducerInstrumenter(Collections.emptyList());
   }
@@ -164,7 +175,7 @@ public final class KafkaInstrumenterFactory {
         .addAttributesExtractor(KafkaReceiveAttributesExtractor.INSTANCE)
         .addSpanLinksExtractor(
             new KafkaBatchProcessSpanLinksExtractor(
-                openTelemetry.getPropagators().getTextMapPropagator()))
+                openTelemetry.getPropagators().getTextMapPropagator(), batchProcessMaxLinks))
         .setErrorCauseExtractor(errorCauseExtractor)
         .buildInstrumenter(SpanKindExtractor.alwaysConsumer());
   }
@@ -59,7 +59,7 @@ final class KafkaMetricRegistry {
   }
 
   @Nullable
-  static RegisteredObservable getRegisteredObservable(Meter meter, KafkaMetric kafkaMetric) {
+  static RegisteredObservable getRegisteredObservable(KafkaMetric kafkaMetric) {
     // If metric is not a Measurable, we can't map it to an instrument
     Class<? extends Measurable> measurable = getMeasurable(kafkaMetric);
     if (measurable == null) {
@@ -83,9 +83,7 @@ final class KafkaMetricRegistry {
     InstrumentDescriptor instrumentDescriptor =
         toInstrumentDescriptor(instrumentType, instrumentName, instrumentDescription);
     Attributes attributes = toAttributes(metricName.tags());
-    AutoCloseable observable =
-        createObservable(meter, attributes, instrumentDescriptor, kafkaMetric);
-    return RegisteredObservable.create(metricName, instrumentDescriptor, attributes, observable);
+    return RegisteredObservable.create(metricName, instrumentDescriptor, attributes, kafkaMetric);
   }
 
   @Nullable
@@ -115,13 +113,10 @@ final class KafkaMetricRegistry {
     return attributesBuilder.build();
   }
 
-  private static AutoCloseable createObservable(
+  static AutoCloseable createObservable(
       Meter meter,
-      Attributes attributes,
       InstrumentDescriptor instrumentDescriptor,
-      KafkaMetric kafkaMetric) {
-    Consumer<ObservableDoubleMeasurement> callback =
-        observableMeasurement -> observableMeasurement.record(value(kafkaMetric), attributes);
+      Consumer<ObservableDoubleMeasurement> callback) {
     switch (instrumentDescriptor.getInstrumentType()) {
       case INSTRUMENT_TYPE_DOUBLE_OBSERVABLE_GAUGE:
         return meter
@@ -141,8 +136,8 @@ final class KafkaMetricRegistry {
     throw new IllegalStateException("Unrecognized instrument type. This is a bug.");
   }
 
-  private static double value(KafkaMetric kafkaMetric) {
-    return kafkaMetric.measurable().measure(kafkaMetric.config(), System.currentTimeMillis());
+  static double value(KafkaMetric kafkaMetric, long timeMs) {
+    return kafkaMetric.measurable().measure(kafkaMetric.config(), timeMs);
   }
 
   private KafkaMetricRegistry() {}
@@ -6,18 +6,16 @@
 package io.opentelemetry.instrumentation.kafka.internal;
 
 import io.opentelemetry.api.OpenTelemetry;
-import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
-import io.opentelemetry.instrumentation.api.internal.GuardedBy;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.metrics.KafkaMetric;
 import org.apache.kafka.common.metrics.MetricsReporter;
 
@@ -43,24 +41,27 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
       Logger.getLogger(OpenTelemetryMetricsReporter.class.getName());
   private volatile Meter meter;
 
-  private static final Object lock = new Object();
+  // meter -> instrument -> the kafka metrics reported by the instrument
+  private static final Map<Meter, Map<InstrumentDescriptor, RegisteredInstrument>> instruments =
+      new ConcurrentHashMap<>();
+  // kafka metric name -> the instrument that reports it
+  private static final Map<MetricName, RegisteredInstrument> instrumentsByMetricName =
+      new ConcurrentHashMap<>();
 
-  @GuardedBy("lock")
-  private static final List<RegisteredObservable> registeredObservables = new ArrayList<>();
-
-  /**
-   * Reset for test by resetting the {@link #meter} to {@code null} and closing all registered
-   * instruments.
-   */
+  /** Reset for test by closing all registered instruments. */
   static void resetForTest() {
     closeAllInstruments();
   }
 
   // Visible for test
   static List<RegisteredObservable> getRegisteredObservables() {
-    synchronized (lock) {
-      return new ArrayList<>(registeredObservables);
+    List<RegisteredObservable> result = new ArrayList<>();
+    for (Map<InstrumentDescriptor, RegisteredInstrument> meterInstruments : instruments.values()) {
+      for (RegisteredInstrument instrument : meterInstruments.values()) {
+        result.addAll(instrument.getRegisteredObservables());
+      }
     }
+    return result;
   }
 
   @Override
@@ -77,52 +78,58 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
     }
 
     RegisteredObservable registeredObservable =
-        KafkaMetricRegistry.getRegisteredObservable(currentMeter, metric);
+        KafkaMetricRegistry.getRegisteredObservable(metric);
     if (registeredObservable == null) {
       logger.log(
           Level.FINEST, "Metric changed but cannot map to instrument: {0}", metric.metricName());
       return;
     }
 
-    Set<AttributeKey<?>> attributeKeys = registeredObservable.getAttributes().asMap().keySet();
-    synchronized (lock) {
-      for (Iterator<RegisteredObservable> it = registeredObservables.iterator(); it.hasNext(); ) {
-        RegisteredObservable curRegisteredObservable = it.next();
-        Set<AttributeKey<?>> curAttributeKeys =
-            curRegisteredObservable.getAttributes().asMap().keySet();
-        if (curRegisteredObservable.getKafkaMetricName().equals(metric.metricName())) {
-          logger.log(Level.FINEST, "Replacing instrument: {0}", curRegisteredObservable);
-          closeInstrument(curRegisteredObservable.getObservable());
-          it.remove();
-        } else if (curRegisteredObservable
-                .getInstrumentDescriptor()
-                .equals(registeredObservable.getInstrumentDescriptor())
-            && attributeKeys.size() > curAttributeKeys.size()
-            && attributeKeys.containsAll(curAttributeKeys)) {
-          logger.log(
-              Level.FINEST,
-              "Replacing instrument with higher dimension version: {0}",
-              curRegisteredObservable);
-          closeInstrument(curRegisteredObservable.getObservable());
-          it.remove();
+    // producers and consumers report thousands of metric changes while partitions are assigned,
+    // only changes of metrics reported by the same instrument are serialized
+    Map<InstrumentDescriptor, RegisteredInstrument> meterInstruments =
+        instruments.computeIfAbsent(currentMeter, m -> new ConcurrentHashMap<>());
+    MetricName metricName = metric.metricName();
+    RegisteredInstrument instrument;
+    RegisteredInstrument previous;
+    while (true) {
+      instrument =
+          meterInstruments.computeIfAbsent(
+              registeredObservable.getInstrumentDescriptor(),
+              descriptor -> new RegisteredInstrument(currentMeter, descriptor));
+      synchronized (instrument) {
+        if (!instrument.isClosed()) {
+          for (MetricName replaced : instrument.add(registeredObservable)) {
+            instrumentsByMetricName.remove(replaced, instrument);
+          }
+          previous = instrumentsByMetricName.put(metricName, instrument);
+          break;
         }
       }
-
-      registeredObservables.add(registeredObservable);
+      // closed concurrently by close(), retry with a new instrument
+      meterInstruments.remove(registeredObservable.getInstrumentDescriptor(), instrument);
+    }
+    if (previous != null && previous != instrument) {
+      // instruments are only ever locked one at a time
+      previous.remove(metricName);
     }
   }
 
   @Override
   public void metricRemoval(KafkaMetric metric) {
     logger.log(Level.FINEST, "Metric removed: {0}", metric.metricName());
-    synchronized (lock) {
-      for (Iterator<RegisteredObservable> it = registeredObservables.iterator(); it.hasNext(); ) {
-        RegisteredObservable current = it.next();
-        if (current.getKafkaMetricName().equals(metric.metricName())) {
-          closeInstrument(current.getObservable());
-          it.remove();
+    while (true) {
+      RegisteredInstrument instrument = instrumentsByMetricName.get(metric.metricName());
+      if (instrument == null) {
+        return;
+      }
+      synchronized (instrument) {
+        if (instrumentsByMetricName.remove(metric.metricName(), instrument)) {
+          instrument.remove(metric.metricName());
+          return;
         }
       }
+      // the metric moved to another instrument in the meantime
     }
   }
 
@@ -132,22 +139,23 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
   }
 
   private static void closeAllInstruments() {
-    synchronized (lock) {
-      for (Iterator<RegisteredObservable> it = registeredObservables.iterator(); it.hasNext(); ) {
-        closeInstrument(it.next().getObservable());
-        it.remove();
+    // the per meter maps are kept, a concurrent metricChange() may be about to add to them; they
+    // are few, as there is a meter per kafka instrumentation
+    for (Map<InstrumentDescriptor, RegisteredInstrument> meterInstruments : instruments.values()) {
+      for (Map.Entry<InstrumentDescriptor, RegisteredInstrument> entry :
+          meterInstruments.entrySet()) {
+        RegisteredInstrument instrument = entry.getValue();
+        synchronized (instrument) {
+          instrument.close();
+          for (RegisteredObservable registeredObservable : instrument.getRegisteredObservables()) {
+            instrumentsByMetricName.remove(registeredObservable.getKafkaMetricName(), instrument);
+          }
+        }
+        meterInstruments.remove(entry.getKey(), instrument);
       }
     }
   }
 
-  private static void closeInstrument(AutoCloseable observable) {
-    try {
-      observable.close();
-    } catch (Exception e) {
-      throw new IllegalStateException("Error occurred closing instrument", e);
-    }
-  }
-
   @Override
   public void configure(Map<String, ?> configs) {
     OpenTelemetrySupplier openTelemetrySupplier =
@@ -0,0 +1,117 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.kafka.common.MetricName;
+
+/**
+ * A single OpenTelemetry instrument and the kafka metrics it reports. The instrument callback reads
+ * all of its kafka metrics in one pass without locking, updates of the registered metrics are
+ * serialized per instrument: callers updating other state together with the registered metrics
+ * synchronize on the instrument, and must check {@link #isClosed()} while holding its lock.
+ */
+final class RegisteredInstrument {
+
+  private static final Logger logger = Logger.getLogger(RegisteredInstrument.class.getName());
+
+  // attribute keys -> kafka metric name -> kafka metric with these attribute keys
+  private final Map<Set<AttributeKey<?>>, Map<MetricName, RegisteredObservable>>
+      metricsByAttributeKeys = new ConcurrentHashMap<>();
+  private final AutoCloseable observable;
+  private boolean closed;
+
+  RegisteredInstrument(Meter meter, InstrumentDescriptor instrumentDescriptor) {
+    this.observable =
+        KafkaMetricRegistry.createObservable(meter, instrumentDescriptor, this::record);
+  }
+
+  private void record(ObservableDoubleMeasurement measurement) {
+    long timeMs = System.currentTimeMillis();
+    for (Map<MetricName, RegisteredObservable> metrics : metricsByAttributeKeys.values()) {
+      for (RegisteredObservable metric : metrics.values()) {
+        measurement.record(
+            KafkaMetricRegistry.value(metric.getKafkaMetric(), timeMs), metric.getAttributes());
+      }
+    }
+  }
+
+  /**
+   * Adds the metric, replacing the metric with the same name and the metrics with fewer attribute
+   * keys. Returns the names of the replaced metrics.
+   */
+  synchronized List<MetricName> add(RegisteredObservable registeredObservable) {
+    List<MetricName> replaced = new ArrayList<>();
+    Set<AttributeKey<?>> attributeKeys = registeredObservable.getAttributes().asMap().keySet();
+    for (Iterator<Map.Entry<Set<AttributeKey<?>>, Map<MetricName, RegisteredObservable>>> it =
+            metricsByAttributeKeys.entrySet().iterator();
+        it.hasNext(); ) {
+      Map.Entry<Set<AttributeKey<?>>, Map<MetricName, RegisteredObservable>> entry = it.next();
+      Set<AttributeKey<?>> curAttributeKeys = entry.getKey();
+      if (attributeKeys.size() > curAttributeKeys.size()
+          && attributeKeys.containsAll(curAttributeKeys)) {
+        logger.log(
+            Level.FINEST,
+            "Replacing instrument with higher dimension version: {0}",
+            entry.getValue().keySet());
+        replaced.addAll(entry.getValue().keySet());
+        it.remove();
+      }
+    }
+
+    RegisteredObservable previous =
+        metricsByAttributeKeys
+            .computeIfAbsent(attributeKeys, k -> new ConcurrentHashMap<>())
+            .put(registeredObservable.getKafkaMetricName(), registeredObservable);
+    if (previous != null) {
+      logger.log(Level.FINEST, "Replacing instrument: {0}", previous);
+    }
+    return replaced;
+  }
+
+  synchronized void remove(MetricName metricName) {
+    for (Iterator<Map<MetricName, RegisteredObservable>> it =
+            metricsByAttributeKeys.values().iterator();
+        it.hasNext(); ) {
+      Map<MetricName, RegisteredObservable> metrics = it.next();
+      if (metrics.remove(metricName) != null && metrics.isEmpty()) {
+        it.remove();
+      }
+    }
+  }
+
+  List<RegisteredObservable> getRegisteredObservables() {
+    List<RegisteredObservable> result = new ArrayList<>();
+    for (Map<MetricName, RegisteredObservable> metrics : metricsByAttributeKeys.values()) {
+      result.addAll(metrics.values());
+    }
+    return result;
+  }
+
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /** Closes the instrument, no metrics can be added afterwards. */
+  synchronized void close() {
+    closed = true;
+    try {
+      observable.close();
+    } catch (Exception e) {
+      throw new IllegalStateException("Error occurred closing instrument", e);
+    }
+  }
+}
@@ -10,6 +10,8 @@ import static java.util.Collections.emptyList;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.AsyncBatchProcessor;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.ContextDataAccessor;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.LogEventMapper;
 import java.io.Serializable;
@@ -28,6 +30,7 @@ import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.async.InternalAsyncUtil;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -45,8 +48,16 @@ public class OpenTelemetryAppender extends AbstractAppender {
 
   static final String PLUGIN_NAME = "OpenTelemetry";
 
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.log4j-appender-2.17";
+  private static final int ASYNC_MAX_BATCH_SIZE = 512;
+  private static final long ASYNC_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
   private final LogEventMapper<ReadOnlyStringMap> mapper;
-  private OpenTelemetry openTelemetry;
+  private final int asyncQueueSize;
+  // read by the async worker thread
+  private volatile OpenTelemetry openTelemetry;
+  @Nullable private volatile AsyncBatchProcessor<DeferredEvent> asyncProcessor;
+  @Nullable private AutoCloseable droppedCounter;
 
   /**
    * Installs the {@code openTelemetry} instance on any {@link OpenTelemetryAppender}s identified in
@@ -82,6 +93,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
     @PluginBuilderAttribute private boolean captureMapMessageAttributes;
     @PluginBuilderAttribute private boolean captureMarkerAttribute;
     @PluginBuilderAttribute private String captureContextDataAttributes;
+    @PluginBuilderAttribute private int asyncQueueSize;
 
     @Nullable private OpenTelemetry openTelemetry;
 
@@ -121,6 +133,19 @@ public class OpenTelemetryAppender extends AbstractAppender {
       return asBuilder();
     }
 
+    /**
+     * Sets the size of the queue used to emit logs asynchronously. When set to a positive value
+     * the appender only captures the log event on the logging thread and a background thread maps
+     * and emits it; when the queue is full new log events are dropped and counted by the {@code
+     * otel.log_appender.dropped_records} metric. The default of {@code 0} emits logs
+     * synchronously. This option is experimental and may change or be removed in the future.
+     */
+    @CanIgnoreReturnValue
+    public B setAsyncQueueSize(int asyncQueueSize) {
+      this.asyncQueueSize = asyncQueueSize;
+      return asBuilder();
+    }
+
     /** Configures the {@link OpenTelemetry} used to append logs. */
     @CanIgnoreReturnValue
     public B setOpenTelemetry(OpenTelemetry openTelemetry) {
@@ -144,6 +169,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
           captureMapMessageAttributes,
           captureMarkerAttribute,
           captureContextDataAttributes,
+          asyncQueueSize,
           openTelemetry);
     }
   }
@@ -158,6 +184,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
       boolean captureMapMessageAttributes,
       boolean captureMarkerAttribute,
       String captureContextDataAttributes,
+      int asyncQueueSize,
       OpenTelemetry openTelemetry) {
 
     super(name, filter, layout, ignoreExceptions, properties);
@@ -168,6 +195,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
             captureMapMessageAttributes,
             captureMarkerAttribute,
             splitAndFilterBlanksAndNulls(captureContextDataAttributes));
+    this.asyncQueueSize = asyncQueueSize;
     this.openTelemetry = openTelemetry;
   }
 
@@ -187,10 +215,61 @@ public class OpenTelemetryAppender extends AbstractAppender {
    */
   public void setOpenTelemetry(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
+    if (asyncProcessor != null) {
+      registerDroppedCounter();
+    }
+  }
+
+  @Override
+  public void start() {
+    if (asyncQueueSize > 0) {
+      asyncProcessor =
+          AsyncBatchProcessor.create(
+              "otel-log4j-appender", asyncQueueSize, ASYNC_MAX_BATCH_SIZE, this::emit);
+      registerDroppedCounter();
+    }
+    super.start();
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    boolean stopped = super.stop(timeout, timeUnit);
+    AsyncBatchProcessor<DeferredEvent> processor = asyncProcessor;
+    if (processor != null) {
+      asyncProcessor = null;
+      // stop() passes a timeout of 0, wait for the queued logs for a bounded time instead
+      long timeoutMillis = timeout > 0 ? timeUnit.toMillis(timeout) : ASYNC_SHUTDOWN_TIMEOUT_MILLIS;
+      processor.shutdown(timeoutMillis, TimeUnit.MILLISECONDS);
+      registerDroppedCounter();
+    }
+    return stopped;
   }
 
   @Override
   public void append(LogEvent event) {
+    AsyncBatchProcessor<DeferredEvent> processor = asyncProcessor;
+    if (processor == null) {
+      Thread currentThread = Thread.currentThread();
+      emit(event, Context.current(), currentThread.getName(), currentThread.getId());
+      return;
+    }
+
+    // log4j may reuse the log event, so the event (including its thread and context data) is copied
+    // and the message is formatted on the logging thread the same way log4j's AsyncAppender does
+    LogEvent immutableEvent = event.toImmutable();
+    InternalAsyncUtil.makeMessageImmutable(immutableEvent.getMessage());
+    // thread name and id of an event are computed from the current thread when first accessed
+    immutableEvent.getThreadName();
+    immutableEvent.getThreadId();
+    processor.offer(new DeferredEvent(immutableEvent, Context.current()));
+  }
+
+  private void emit(DeferredEvent deferred) {
+    LogEvent event = deferred.event;
+    emit(event, deferred.context, event.getThreadName(), event.getThreadId());
+  }
+
+  private void emit(LogEvent event, Context context, String threadName, long threadId) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
@@ -209,7 +288,10 @@ public class OpenTelemetryAppender extends AbstractAppender {
         event.getLevel(),
         event.getMarker(),
         event.getThrown(),
-        contextData);
+        contextData,
+        context,
+        threadName,
+        threadId);
 
     Instant timestamp = event.getInstant();
     if (timestamp != null) {
@@ -221,6 +303,40 @@ public class OpenTelemetryAppender extends AbstractAppender {
     builder.emit();
   }
 
+  // (re)registers the dropped records counter with the current OpenTelemetry instance
+  private synchronized void registerDroppedCounter() {
+    if (droppedCounter != null) {
+      try {
+        droppedCounter.close();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to close dropped log records counter", e);
+      }
+      droppedCounter = null;
+    }
+    AsyncBatchProcessor<DeferredEvent> processor = asyncProcessor;
+    if (processor == null) {
+      return;
+    }
+    droppedCounter =
+        openTelemetry
+            .getMeter(INSTRUMENTATION_NAME)
+            .counterBuilder("otel.log_appender.dropped_records")
+            .setUnit("{record}")
+            .setDescription(
+                "Number of log records dropped because the asynchronous queue was full.")
+            .buildWithCallback(measurement -> measurement.record(processor.getDroppedCount()));
+  }
+
+  private static final class DeferredEvent {
+    final LogEvent event;
+    final Context context;
+
+    DeferredEvent(LogEvent event, Context context) {
+      this.event = event;
+      this.context = context;
+    }
+  }
+
   private enum ContextDataAccessorImpl implements ContextDataAccessor<ReadOnlyStringMap> {
     INSTANCE;
 
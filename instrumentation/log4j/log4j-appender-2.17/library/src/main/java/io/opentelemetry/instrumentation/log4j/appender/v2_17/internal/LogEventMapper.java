@@ -11,10 +11,9 @@ import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.StackTraceFormatter;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.semconv.SemanticAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.List;
 import javax.annotation.Nullable;
 import org.apache.logging.log4j.Level;
@@ -81,6 +80,32 @@ public final class LogEventMapper<T> {
       @Nullable Marker marker,
       @Nullable Throwable throwable,
       T contextData) {
+    Thread currentThread = Thread.currentThread();
+    mapLogEvent(
+        builder,
+        message,
+        level,
+        marker,
+        throwable,
+        contextData,
+        Context.current(),
+        currentThread.getName(),
+        currentThread.getId());
+  }
+
+  /**
+   * Map a {@link LogEvent} that was captured on another thread onto the {@link LogRecordBuilder}.
+   */
+  public void mapLogEvent(
+      LogRecordBuilder builder,
+      Message message,
+      Level level,
+      @Nullable Marker marker,
+      @Nullable Throwable throwable,
+      T contextData,
+      Context context,
+      String threadName,
+      long threadId) {
 
     AttributesBuilder attributes = Attributes.builder();
 
@@ -105,14 +130,13 @@ public final class LogEventMapper<T> {
     captureContextDataAttributes(attributes, contextData);
 
     if (captureExperimentalAttributes) {
-      Thread currentThread = Thread.currentThread();
-      attributes.put(SemanticAttributes.THREAD_NAME, currentThread.getName());
-      attributes.put(SemanticAttributes.THREAD_ID, currentThread.getId());
+      attributes.put(SemanticAttributes.THREAD_NAME, threadName);
+      attributes.put(SemanticAttributes.THREAD_ID, threadId);
     }
 
     builder.setAllAttributes(attributes.build());
 
-    builder.setContext(Context.current());
+    builder.setContext(context);
   }
 
   // visible for testing
@@ -189,9 +213,7 @@ public final class LogEventMapper<T> {
     // io.opentelemetry:opentelemetry-api
     attributes.put(SemanticAttributes.EXCEPTION_TYPE, throwable.getClass().getName());
     attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, throwable.getMessage());
-    StringWriter writer = new StringWriter();
-    throwable.printStackTrace(new PrintWriter(writer));
-    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, writer.toString());
+    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, StackTraceFormatter.format(throwable));
   }
 
   private static Severity levelToSeverity(Level level) {
@@ -98,6 +98,40 @@ class OpenTelemetryAppenderTest {
         .satisfiesExactly(logRecordData -> assertThat(logDataList.get(0)).hasBody("log message 1"));
   }
 
+  @Test
+  void logAsync() {
+    OpenTelemetryAppender appender =
+        OpenTelemetryAppender.builder()
+            .setName("OpenTelemetryAppender")
+            .setOpenTelemetry(openTelemetry)
+            .setCaptureExperimentalAttributes(true)
+            .setAsyncQueueSize(16)
+            .build();
+    appender.start();
+
+    Span span =
+        runWithSpan(
+            "span",
+            () ->
+                appender.append(
+                    Log4jLogEvent.newBuilder()
+                        .setMessage(new FormattedMessage("log message {}", 1))
+                        .build()));
+    // stopping the appender emits the queued logs
+    appender.stop();
+
+    List<LogRecordData> logDataList = logRecordExporter.getFinishedLogRecordItems();
+    assertThat(logDataList)
+        .satisfiesExactly(
+            logRecordData ->
+                assertThat(logRecordData)
+                    .hasBody("log message 1")
+                    .hasSpanContext(span.getSpanContext())
+                    .hasAttributesSatisfying(
+                        equalTo(SemanticAttributes.THREAD_NAME, Thread.currentThread().getName()),
+                        equalTo(SemanticAttributes.THREAD_ID, Thread.currentThread().getId())));
+  }
+
   @Test
   void logNoSpan() {
     logger.info("log message 1");
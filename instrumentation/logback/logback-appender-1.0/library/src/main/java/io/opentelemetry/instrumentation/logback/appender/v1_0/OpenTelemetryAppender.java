@@ -11,24 +11,36 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.AsyncBatchProcessor;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.LoggingEventMapper;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
 
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.logback-appender-1.0";
+  private static final int ASYNC_MAX_BATCH_SIZE = 512;
+  private static final long ASYNC_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
   private boolean captureExperimentalAttributes = false;
   private boolean captureCodeAttributes = false;
   private boolean captureMarkerAttribute = false;
   private boolean captureKeyValuePairAttributes = false;
   private List<String> captureMdcAttributes = emptyList();
+  private int asyncQueueSize = 0;
 
-  private OpenTelemetry openTelemetry;
+  // read by the async worker thread
+  private volatile OpenTelemetry openTelemetry;
   private LoggingEventMapper mapper;
+  @Nullable private volatile AsyncBatchProcessor<DeferredEvent> asyncProcessor;
+  @Nullable private AutoCloseable droppedCounter;
 
   public OpenTelemetryAppender() {}
 
@@ -66,12 +78,74 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     if (openTelemetry == null) {
       openTelemetry = OpenTelemetry.noop();
     }
+    if (asyncQueueSize > 0) {
+      asyncProcessor =
+          AsyncBatchProcessor.create(
+              "otel-logback-appender", asyncQueueSize, ASYNC_MAX_BATCH_SIZE, this::emit);
+      registerDroppedCounter();
+    }
     super.start();
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    AsyncBatchProcessor<DeferredEvent> processor = asyncProcessor;
+    if (processor != null) {
+      asyncProcessor = null;
+      processor.shutdown(ASYNC_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      registerDroppedCounter();
+    }
+  }
+
   @Override
   protected void append(ILoggingEvent event) {
-    mapper.emit(openTelemetry.getLogsBridge(), event);
+    AsyncBatchProcessor<DeferredEvent> processor = asyncProcessor;
+    if (processor == null) {
+      mapper.emit(openTelemetry.getLogsBridge(), event);
+      return;
+    }
+
+    // everything that is only available on the logging thread is captured here, the log record is
+    // built on the worker thread
+    event.prepareForDeferredProcessing();
+    if (captureCodeAttributes) {
+      event.getCallerData();
+    }
+    processor.offer(new DeferredEvent(event, Context.current(), Thread.currentThread().getId()));
+  }
+
+  private void emit(DeferredEvent deferred) {
+    mapper.emit(
+        openTelemetry.getLogsBridge(),
+        deferred.event,
+        deferred.context,
+        deferred.event.getThreadName(),
+        deferred.threadId);
+  }
+
+  // (re)registers the dropped records counter with the current OpenTelemetry instance
+  private synchronized void registerDroppedCounter() {
+    if (droppedCounter != null) {
+      try {
+        droppedCounter.close();
+      } catch (Exception e) {
+        addWarn("Failed to close dropped log records counter", e);
+      }
+      droppedCounter = null;
+    }
+    AsyncBatchProcessor<DeferredEvent> processor = asyncProcessor;
+    if (processor == null || openTelemetry == null) {
+      return;
+    }
+    droppedCounter =
+        openTelemetry
+            .getMeter(INSTRUMENTATION_NAME)
+            .counterBuilder("otel.log_appender.dropped_records")
+            .setUnit("{record}")
+            .setDescription(
+                "Number of log records dropped because the asynchronous queue was full.")
+            .buildWithCallback(measurement -> measurement.record(processor.getDroppedCount()));
   }
 
   /**
@@ -113,6 +187,17 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     this.captureKeyValuePairAttributes = captureKeyValuePairAttributes;
   }
 
+  /**
+   * Sets the size of the queue used to emit logs asynchronously. When set to a positive value the
+   * appender only captures the logging event on the logging thread and a background thread maps
+   * and emits it; when the queue is full new logging events are dropped and counted by the {@code
+   * otel.log_appender.dropped_records} metric. The default of {@code 0} emits logs synchronously.
+   * This option is experimental and may change or be removed in the future.
+   */
+  public void setAsyncQueueSize(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
+  }
+
   /** Configures the {@link MDC} attributes that will be copied to logs. */
   public void setCaptureMdcAttributes(String attributes) {
     if (attributes != null) {
@@ -128,6 +213,9 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
    */
   public void setOpenTelemetry(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
+    if (asyncProcessor != null) {
+      registerDroppedCounter();
+    }
   }
 
   // copied from SDK's DefaultConfigProperties
@@ -137,4 +225,16 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
         .filter(s -> !s.isEmpty())
         .collect(Collectors.toList());
   }
+
+  private static final class DeferredEvent {
+    final ILoggingEvent event;
+    final Context context;
+    final long threadId;
+
+    DeferredEvent(ILoggingEvent event, Context context, long threadId) {
+      this.event = event;
+      this.context = context;
+      this.threadId = threadId;
+    }
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.semconv.SemanticAttributes;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AsyncOpenTelemetryAppenderTest {
+
+  @Test
+  void logAsync() {
+    InMemoryLogRecordExporter logRecordExporter = InMemoryLogRecordExporter.create();
+    OpenTelemetrySdk openTelemetrySdk =
+        OpenTelemetrySdk.builder()
+            .setLoggerProvider(
+                SdkLoggerProvider.builder()
+                    .addLogRecordProcessor(SimpleLogRecordProcessor.create(logRecordExporter))
+                    .build())
+            .build();
+
+    LoggerContext loggerContext = new LoggerContext();
+    OpenTelemetryAppender appender = new OpenTelemetryAppender();
+    appender.setContext(loggerContext);
+    appender.setOpenTelemetry(openTelemetrySdk);
+    appender.setCaptureExperimentalAttributes(true);
+    appender.setAsyncQueueSize(16);
+    appender.start();
+    Logger logger = loggerContext.getLogger("AsyncLogger");
+    logger.setAdditive(false);
+    logger.addAppender(appender);
+
+    Span span = SdkTracerProvider.builder().build().get("tracer").spanBuilder("span").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      logger.info("log message {}", 1);
+    } finally {
+      span.end();
+    }
+    // stopping the appender emits the queued logs
+    appender.stop();
+
+    List<LogRecordData> logDataList = logRecordExporter.getFinishedLogRecordItems();
+    assertThat(logDataList).hasSize(1);
+    LogRecordData logData = logDataList.get(0);
+    assertThat(logData.getBody().asString()).isEqualTo("log message 1");
+    assertThat(logData.getSpanContext()).isEqualTo(span.getSpanContext());
+    assertThat(logData.getAttributes().get(SemanticAttributes.THREAD_NAME))
+        .isEqualTo(Thread.currentThread().getName());
+    assertThat(logData.getAttributes().get(SemanticAttributes.THREAD_ID))
+        .isEqualTo(Thread.currentThread().getId());
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.mongo.v3_1;
+
+import static java.util.Arrays.asList;
+
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sanitizes bulk insert and update commands with thousands of documents carrying binary payloads,
+ * both decoded and in their raw binary form, with the default max normalized query length.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class MongoStatementSanitizerBenchmark {
+
+  private static final int DOCUMENTS = 5000;
+
+  @Param({"insert", "update"})
+  public String command;
+
+  private final MongoDbAttributesGetter getter =
+      new MongoDbAttributesGetter(true, MongoTelemetryBuilder.DEFAULT_MAX_NORMALIZED_QUERY_LENGTH);
+  private BsonDocument document;
+  private RawBsonDocument rawDocument;
+
+  @Setup
+  public void setup() {
+    BsonArray documents = new BsonArray();
+    for (int i = 0; i < DOCUMENTS; i++) {
+      BsonDocument order =
+          new BsonDocument("_id", new BsonString(new ObjectId().toHexString()))
+              .append("customer", new BsonString("customer-" + i))
+              .append("total", new BsonDouble(i * 1.5))
+              .append("paid", BsonBoolean.valueOf(i % 2 == 0))
+              .append("created", new BsonDateTime(1_700_000_000_000L + i))
+              .append(
+                  "items",
+                  new BsonArray(
+                      asList(
+                          new BsonDocument("sku", new BsonInt32(i)).append("qty", new BsonInt32(1)),
+                          new BsonDocument("sku", new BsonInt32(i + 1))
+                              .append("qty", new BsonInt32(2)))))
+              .append("attachment", new BsonBinary(new byte[512]));
+      if (command.equals("insert")) {
+        documents.add(order);
+      } else {
+        documents.add(
+            new BsonDocument("q", new BsonDocument("_id", order.get("_id")))
+                .append("u", new BsonDocument("$set", order))
+                .append("upsert", BsonBoolean.TRUE));
+      }
+    }
+    document =
+        new BsonDocument(command, new BsonString("orders"))
+            .append("ordered", BsonBoolean.TRUE)
+            .append(command.equals("insert") ? "documents" : "updates", documents);
+    rawDocument = new RawBsonDocument(document, new BsonDocumentCodec());
+  }
+
+  @Benchmark
+  public String decodedCommand() {
+    return getter.sanitizeStatement(document);
+  }
+
+  @Benchmark
+  public String rawCommand() {
+    return getter.sanitizeStatement(rawDocument);
+  }
+}
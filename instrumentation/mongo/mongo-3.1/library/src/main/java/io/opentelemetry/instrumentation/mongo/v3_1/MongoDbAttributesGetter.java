@@ -13,12 +13,9 @@ import io.opentelemetry.semconv.SemanticAttributes;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
-import org.bson.BsonArray;
 import org.bson.BsonDocument;
-import org.bson.BsonValue;
 import org.bson.codecs.BsonDocumentCodec;
 import org.bson.codecs.EncoderContext;
 import org.bson.json.JsonWriter;
@@ -26,24 +23,15 @@ import org.bson.json.JsonWriterSettings;
 
 class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStartedEvent> {
 
-  @Nullable private static final Method IS_TRUNCATED_METHOD;
-  private static final String HIDDEN_CHAR = "?";
-
-  static {
-    IS_TRUNCATED_METHOD =
-        Arrays.stream(JsonWriter.class.getMethods())
-            .filter(method -> method.getName().equals("isTruncated"))
-            .findFirst()
-            .orElse(null);
-  }
-
   private final boolean statementSanitizationEnabled;
   private final int maxNormalizedQueryLength;
+  private final MongoStatementSanitizer statementSanitizer;
   @Nullable private final JsonWriterSettings jsonWriterSettings;
 
   MongoDbAttributesGetter(boolean statementSanitizationEnabled, int maxNormalizedQueryLength) {
     this.statementSanitizationEnabled = statementSanitizationEnabled;
     this.maxNormalizedQueryLength = maxNormalizedQueryLength;
+    this.statementSanitizer = new MongoStatementSanitizer(maxNormalizedQueryLength);
     this.jsonWriterSettings = createJsonWriterSettings(maxNormalizedQueryLength);
   }
 
@@ -94,6 +82,10 @@ class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStarted
   }
 
   String sanitizeStatement(BsonDocument command) {
+    if (statementSanitizationEnabled) {
+      return statementSanitizer.sanitize(command);
+    }
+
     StringBuilderWriter stringWriter = new StringBuilderWriter(128);
     // jsonWriterSettings is generally not null but could be due to security manager or unknown
     // API incompatibilities, which we can't detect by Muzzle because we use reflection.
@@ -102,11 +94,7 @@ class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStarted
             ? new JsonWriter(stringWriter, jsonWriterSettings)
             : new JsonWriter(stringWriter);
 
-    if (statementSanitizationEnabled) {
-      writeScrubbed(command, jsonWriter, /* isRoot= */ true);
-    } else {
-      new BsonDocumentCodec().encode(jsonWriter, command, EncoderContext.builder().build());
-    }
+    new BsonDocumentCodec().encode(jsonWriter, command, EncoderContext.builder().build());
 
     // If using MongoDB driver >= 3.7, the substring invocation will be a no-op due to use of
     // JsonWriterSettings.Builder.maxLength in the static initializer for JSON_WRITER_SETTINGS
@@ -169,58 +157,4 @@ class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStarted
 
     return settings;
   }
-
-  private static boolean writeScrubbed(BsonDocument origin, JsonWriter writer, boolean isRoot) {
-    writer.writeStartDocument();
-    boolean firstField = true;
-    for (Map.Entry<String, BsonValue> entry : origin.entrySet()) {
-      writer.writeName(entry.getKey());
-      // the first field of the root document is the command name, so we preserve its value
-      // (which for most CRUD commands is the collection name)
-      if (isRoot && firstField && entry.getValue().isString()) {
-        writer.writeString(entry.getValue().asString().getValue());
-      } else {
-        if (writeScrubbed(entry.getValue(), writer)) {
-          return true;
-        }
-      }
-      firstField = false;
-    }
-    writer.writeEndDocument();
-    return false;
-  }
-
-  private static boolean writeScrubbed(BsonArray origin, JsonWriter writer) {
-    writer.writeStartArray();
-    for (BsonValue value : origin) {
-      if (writeScrubbed(value, writer)) {
-        return true;
-      }
-    }
-    writer.writeEndArray();
-    return false;
-  }
-
-  private static boolean writeScrubbed(BsonValue origin, JsonWriter writer) {
-    if (origin.isDocument()) {
-      return writeScrubbed(origin.asDocument(), writer, /* isRoot= */ false);
-    } else if (origin.isArray()) {
-      return writeScrubbed(origin.asArray(), writer);
-    } else {
-      writer.writeString(HIDDEN_CHAR);
-      return isTruncated(writer);
-    }
-  }
-
-  private static boolean isTruncated(JsonWriter writer) {
-    if (IS_TRUNCATED_METHOD == null) {
-      return false;
-    } else {
-      try {
-        return (boolean) IS_TRUNCATED_METHOD.invoke(writer, (Object[]) null);
-      } catch (IllegalAccessException | InvocationTargetException ignored) {
-        return false;
-      }
-    }
-  }
 }
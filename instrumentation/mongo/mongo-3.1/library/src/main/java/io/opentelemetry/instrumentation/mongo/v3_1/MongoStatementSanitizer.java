@@ -0,0 +1,176 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.mongo.v3_1;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+
+/**
+ * Writes the sanitized statement of a command as json straight into a buffer that is limited to
+ * the max normalized query length. The command is walked with a {@link BsonReader}, which skips
+ * the masked values without decoding them when the command is still in its binary form, and the
+ * walk stops as soon as the limit is reached.
+ */
+final class MongoStatementSanitizer {
+
+  private static final String HIDDEN_VALUE = "\"?\"";
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private final int maxLength;
+
+  MongoStatementSanitizer(int maxLength) {
+    this.maxLength = maxLength;
+  }
+
+  String sanitize(BsonDocument command) {
+    StringBuilder sb = new StringBuilder(Math.max(Math.min(maxLength, 128), 0));
+    BsonReader reader =
+        command instanceof RawBsonDocument
+            ? new BsonBinaryReader(((RawBsonDocument) command).getByteBuffer().asNIO())
+            : new BsonDocumentReader(command);
+    writeDocument(reader, sb, /* isRoot= */ true);
+    if (sb.length() > maxLength) {
+      sb.setLength(maxLength);
+    }
+    return sb.toString();
+  }
+
+  // returns false when the limit is reached and the walk should stop
+  private boolean writeDocument(BsonReader reader, StringBuilder sb, boolean isRoot) {
+    reader.readStartDocument();
+    sb.append('{');
+    boolean firstField = true;
+    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+      if (!firstField) {
+        sb.append(", ");
+      }
+      writeString(reader.readName(), sb);
+      sb.append(": ");
+      // the first field of the root document is the command name, so we preserve its value
+      // (which for most CRUD commands is the collection name)
+      if (isRoot && firstField && reader.getCurrentBsonType() == BsonType.STRING) {
+        writeString(reader.readString(), sb);
+        if (isFull(sb)) {
+          return false;
+        }
+      } else if (!writeValue(reader, sb)) {
+        return false;
+      }
+      firstField = false;
+    }
+    reader.readEndDocument();
+    sb.append('}');
+    return !isFull(sb);
+  }
+
+  private boolean writeArray(BsonReader reader, StringBuilder sb) {
+    reader.readStartArray();
+    sb.append('[');
+    boolean firstValue = true;
+    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+      if (!firstValue) {
+        sb.append(", ");
+      }
+      if (!writeValue(reader, sb)) {
+        return false;
+      }
+      firstValue = false;
+    }
+    reader.readEndArray();
+    sb.append(']');
+    return !isFull(sb);
+  }
+
+  private boolean writeValue(BsonReader reader, StringBuilder sb) {
+    switch (reader.getCurrentBsonType()) {
+      case DOCUMENT:
+        return writeDocument(reader, sb, /* isRoot= */ false);
+      case ARRAY:
+        return writeArray(reader, sb);
+      default:
+        reader.skipValue();
+        sb.append(HIDDEN_VALUE);
+        return !isFull(sb);
+    }
+  }
+
+  private boolean isFull(StringBuilder sb) {
+    return sb.length() >= maxLength;
+  }
+
+  // escapes the same characters as org.bson.json.JsonWriter
+  private void writeString(String value, StringBuilder sb) {
+    sb.append('"');
+    for (int i = 0; i < value.length() && !isFull(sb); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (isPrintable(c)) {
+            sb.append(c);
+          } else {
+            sb.append("\\u")
+                .append(HEX_DIGITS[(c >> 12) & 0x0F])
+                .append(HEX_DIGITS[(c >> 8) & 0x0F])
+                .append(HEX_DIGITS[(c >> 4) & 0x0F])
+                .append(HEX_DIGITS[c & 0x0F]);
+          }
+      }
+    }
+    sb.append('"');
+  }
+
+  private static boolean isPrintable(char c) {
+    switch (Character.getType(c)) {
+      case Character.UPPERCASE_LETTER:
+      case Character.LOWERCASE_LETTER:
+      case Character.TITLECASE_LETTER:
+      case Character.OTHER_LETTER:
+      case Character.DECIMAL_DIGIT_NUMBER:
+      case Character.LETTER_NUMBER:
+      case Character.OTHER_NUMBER:
+      case Character.SPACE_SEPARATOR:
+      case Character.CONNECTOR_PUNCTUATION:
+      case Character.DASH_PUNCTUATION:
+      case Character.START_PUNCTUATION:
+      case Character.END_PUNCTUATION:
+      case Character.INITIAL_QUOTE_PUNCTUATION:
+      case Character.FINAL_QUOTE_PUNCTUATION:
+      case Character.OTHER_PUNCTUATION:
+      case Character.MATH_SYMBOL:
+      case Character.CURRENCY_SYMBOL:
+      case Character.MODIFIER_SYMBOL:
+      case Character.OTHER_SYMBOL:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
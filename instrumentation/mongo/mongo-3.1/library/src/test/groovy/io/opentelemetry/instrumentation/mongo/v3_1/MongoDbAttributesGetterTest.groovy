@@ -6,9 +6,12 @@
 package io.opentelemetry.instrumentation.mongo.v3_1
 
 import org.bson.BsonArray
+import org.bson.BsonBinary
 import org.bson.BsonDocument
 import org.bson.BsonInt32
 import org.bson.BsonString
+import org.bson.RawBsonDocument
+import org.bson.codecs.BsonDocumentCodec
 import spock.lang.Specification
 
 import static MongoTelemetryBuilder.DEFAULT_MAX_NORMALIZED_QUERY_LENGTH
@@ -74,6 +77,46 @@ class MongoDbAttributesGetterTest extends Specification {
     normalized == '{"cmd": "c", "f1": ["?", "?' || normalized == '{"cmd": "c", "f1": ["?",'
   }
 
+  def 'should sanitize raw documents'() {
+    setup:
+    def extractor = new MongoDbAttributesGetter(true, DEFAULT_MAX_NORMALIZED_QUERY_LENGTH)
+    def command = new BsonDocument("insert", new BsonString("c"))
+      .append("documents", new BsonArray(asList(
+        new BsonDocument("data", new BsonBinary(new byte[1024])),
+        new BsonDocument("data", new BsonBinary(new byte[1024])))))
+
+    expect:
+    extractor.sanitizeStatement(new RawBsonDocument(command, new BsonDocumentCodec())) ==
+      '{"insert": "c", "documents": [{"data": "?"}, {"data": "?"}]}'
+  }
+
+  def 'should escape names and command name'() {
+    setup:
+    def extractor = new MongoDbAttributesGetter(true, DEFAULT_MAX_NORMALIZED_QUERY_LENGTH)
+
+    expect:
+    extractor.sanitizeStatement(
+      new BsonDocument("cmd", new BsonString("a\"b\\c\n"))
+        .append("f\t", new BsonString("c"))) ==
+      '{"cmd": "a\\"b\\\\c\\n", "f\\t": "?"}'
+  }
+
+  def 'should truncate bulk command'() {
+    setup:
+    def extractor = new MongoDbAttributesGetter(true, 100)
+    def documents = new BsonArray()
+    10000.times {
+      documents.add(new BsonDocument("_id", new BsonInt32(it)).append("name", new BsonString("n")))
+    }
+    def command = new BsonDocument("insert", new BsonString("c")).append("documents", documents)
+
+    expect:
+    extractor.sanitizeStatement(command) ==
+      '{"insert": "c", "documents": [{"_id": "?", "name": "?"}, {"_id": "?", "name": "?"}, {"_id": "?", "na'
+    extractor.sanitizeStatement(new RawBsonDocument(command, new BsonDocumentCodec())) ==
+      '{"insert": "c", "documents": [{"_id": "?", "name": "?"}, {"_id": "?", "name": "?"}, {"_id": "?", "na'
+  }
+
   def sanitizeStatementAcrossVersions(MongoDbAttributesGetter extractor, BsonDocument query) {
     return sanitizeAcrossVersions(extractor.sanitizeStatement(query))
   }
@@ -10,6 +10,7 @@ import static io.opentelemetry.semconv.SemanticAttributes.NetTransportValues.IP_
 import static io.opentelemetry.semconv.SemanticAttributes.NetTransportValues.IP_UDP;
 
 import io.netty.channel.socket.DatagramChannel;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpVersion;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpClientAttributesGetter;
@@ -20,6 +21,8 @@ import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 
 final class NettyHttpClientAttributesGetter implements HttpClientAttributesGetter<HttpRequestAndChannel, HttpResponse> {
@@ -55,6 +58,13 @@ final class NettyHttpClientAttributesGetter implements HttpClientAttributesGette
     return requestAndChannel.request().headers().getAll(name);
   }
 
+  @Override
+  public boolean forEachHttpRequestHeader(
+      HttpRequestAndChannel requestAndChannel, BiConsumer<String, String> consumer) {
+    forEach(requestAndChannel.request().headers(), consumer);
+    return true;
+  }
+
   @Override
   public Integer getHttpResponseStatusCode(
       HttpRequestAndChannel requestAndChannel, HttpResponse response, @Nullable Throwable error) {
@@ -67,6 +77,21 @@ final class NettyHttpClientAttributesGetter implements HttpClientAttributesGette
     return response.headers().getAll(name);
   }
 
+  @Override
+  public boolean forEachHttpResponseHeader(
+      HttpRequestAndChannel requestAndChannel,
+      HttpResponse response,
+      BiConsumer<String, String> consumer) {
+    forEach(response.headers(), consumer);
+    return true;
+  }
+
+  private static void forEach(HttpHeaders headers, BiConsumer<String, String> consumer) {
+    for (Map.Entry<String, String> header : headers) {
+      consumer.accept(header.getKey(), header.getValue());
+    }
+  }
+
   @Override
   public String getTransport(
       HttpRequestAndChannel requestAndChannel, @Nullable HttpResponse response) {
@@ -9,6 +9,7 @@ import static io.opentelemetry.semconv.SemanticAttributes.NetTransportValues.IP_
 import static io.opentelemetry.semconv.SemanticAttributes.NetTransportValues.IP_UDP;
 
 import io.netty.channel.socket.DatagramChannel;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpVersion;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesGetter;
@@ -18,6 +19,8 @@ import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpSchemeUtil;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 
 final class NettyHttpServerAttributesGetter implements HttpServerAttributesGetter<HttpRequestAndChannel, HttpResponse> {
@@ -32,6 +35,13 @@ final class NettyHttpServerAttributesGetter implements HttpServerAttributesGette
     return requestAndChannel.request().headers().getAll(name);
   }
 
+  @Override
+  public boolean forEachHttpRequestHeader(
+      HttpRequestAndChannel requestAndChannel, BiConsumer<String, String> consumer) {
+    forEach(requestAndChannel.request().headers(), consumer);
+    return true;
+  }
+
   @Override
   public Integer getHttpResponseStatusCode(
       HttpRequestAndChannel requestAndChannel, HttpResponse response, @Nullable Throwable error) {
@@ -44,6 +54,21 @@ final class NettyHttpServerAttributesGetter implements HttpServerAttributesGette
     return response.headers().getAll(name);
   }
 
+  @Override
+  public boolean forEachHttpResponseHeader(
+      HttpRequestAndChannel requestAndChannel,
+      HttpResponse response,
+      BiConsumer<String, String> consumer) {
+    forEach(response.headers(), consumer);
+    return true;
+  }
+
+  private static void forEach(HttpHeaders headers, BiConsumer<String, String> consumer) {
+    for (Map.Entry<String, String> header : headers) {
+      consumer.accept(header.getKey(), header.getValue());
+    }
+  }
+
   @Override
   public String getUrlScheme(HttpRequestAndChannel requestAndChannel) {
     return HttpSchemeUtil.getScheme(requestAndChannel);
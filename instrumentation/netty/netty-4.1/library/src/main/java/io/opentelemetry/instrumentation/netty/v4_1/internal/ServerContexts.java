@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link ServerContext}s of the requests that are in flight on a single channel, oldest first.
+ * Almost all connections process one request at a time, so the oldest request is kept in a field
+ * and a queue is only created once a pipelined request arrives before the previous response was
+ * written. Like the channel pipeline it is only accessed from the channel's event loop.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ServerContexts {
+
+  @Nullable private ServerContext first;
+  // requests received after the first one, only created when requests are pipelined
+  @Nullable private Deque<ServerContext> pipelined;
+
+  /**
+   * Returns the {@link ServerContexts} of the channel, or {@code null} if no server request was
+   * traced on it.
+   */
+  @Nullable
+  public static ServerContexts get(Channel channel) {
+    return channel.attr(AttributeKeys.SERVER_CONTEXT).get();
+  }
+
+  /** Returns the {@link ServerContexts} of the channel, creating them when they don't exist. */
+  public static ServerContexts getOrCreate(Channel channel) {
+    Attribute<ServerContexts> attribute = channel.attr(AttributeKeys.SERVER_CONTEXT);
+    ServerContexts serverContexts = attribute.get();
+    if (serverContexts == null) {
+      serverContexts = new ServerContexts();
+      if (!attribute.compareAndSet(null, serverContexts)) {
+        serverContexts = attribute.get();
+      }
+    }
+    return serverContexts;
+  }
+
+  /** Adds the context of a newly received request. */
+  public void addLast(ServerContext serverContext) {
+    if (first == null) {
+      first = serverContext;
+      return;
+    }
+    if (pipelined == null) {
+      pipelined = new ArrayDeque<>();
+    }
+    pipelined.addLast(serverContext);
+  }
+
+  /** Returns the context of the oldest request, or {@code null} if there is none. */
+  @Nullable
+  public ServerContext peekFirst() {
+    return first;
+  }
+
+  /** Returns the context of the most recently received request, or {@code null} if there is none. */
+  @Nullable
+  public ServerContext peekLast() {
+    if (pipelined != null && !pipelined.isEmpty()) {
+      return pipelined.peekLast();
+    }
+    return first;
+  }
+
+  /** Removes and returns the context of the oldest request, or {@code null} if there is none. */
+  @Nullable
+  public ServerContext pollFirst() {
+    ServerContext result = first;
+    first = pipelined != null ? pipelined.pollFirst() : null;
+    return result;
+  }
+
+  /**
+   * Removes and returns the context of the most recently received request, or {@code null} if there
+   * is none.
+   */
+  @Nullable
+  public ServerContext pollLast() {
+    if (pipelined != null && !pipelined.isEmpty()) {
+      return pipelined.pollLast();
+    }
+    ServerContext result = first;
+    first = null;
+    return result;
+  }
+}
@@ -10,16 +10,13 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
-import io.netty.util.Attribute;
-import io.netty.util.AttributeKey;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
-import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.ServerContext;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.ServerContexts;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -28,6 +25,8 @@ import java.util.Deque;
 public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapter {
 
   private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
+  // a handler instance is bound to a single channel, this caches the channel attribute
+  @Nullable private ServerContexts serverContexts;
 
   public HttpServerRequestTracingHandler(Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
     this.instrumenter = instrumenter;
@@ -36,7 +35,11 @@ public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapte
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
     Channel channel = ctx.channel();
-    Deque<ServerContext> serverContexts = getOrCreate(channel, AttributeKeys.SERVER_CONTEXT);
+    ServerContexts serverContexts = this.serverContexts;
+    if (serverContexts == null) {
+      serverContexts = ServerContexts.getOrCreate(channel);
+      this.serverContexts = serverContexts;
+    }
 
     if (!(msg instanceof HttpRequest)) {
       ServerContext serverContext = serverContexts.peekLast();
@@ -65,8 +68,10 @@ public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapte
       // the span is ended normally in HttpServerResponseTracingHandler
     } catch (Throwable throwable) {
       // make sure to remove the server context on end() call
-      ServerContext serverContext = serverContexts.removeLast();
-      instrumenter.end(serverContext.context(), serverContext.request(), null, throwable);
+      ServerContext serverContext = serverContexts.pollLast();
+      if (serverContext != null) {
+        instrumenter.end(serverContext.context(), serverContext.request(), null, throwable);
+      }
       throw throwable;
     }
   }
@@ -74,8 +79,8 @@ public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapte
   @Override
   public void channelInactive(ChannelHandlerContext ctx) {
     // connection was closed, close all remaining requests
-    Attribute<Deque<ServerContext>> contextAttr = ctx.channel().attr(AttributeKeys.SERVER_CONTEXT);
-    Deque<ServerContext> serverContexts = contextAttr.get();
+    ServerContexts serverContexts =
+        this.serverContexts != null ? this.serverContexts : ServerContexts.get(ctx.channel());
 
     if (serverContexts == null) {
       return;
@@ -86,14 +91,4 @@ public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapte
       instrumenter.end(serverContext.context(), serverContext.request(), null, null);
     }
   }
-
-  private static <T> Deque<T> getOrCreate(Channel channel, AttributeKey<Deque<T>> key) {
-    Attribute<Deque<T>> attribute = channel.attr(key);
-    Deque<T> deque = attribute.get();
-    if (deque == null) {
-      deque = new ArrayDeque<>();
-      attribute.set(deque);
-    }
-    return deque;
-  }
 }
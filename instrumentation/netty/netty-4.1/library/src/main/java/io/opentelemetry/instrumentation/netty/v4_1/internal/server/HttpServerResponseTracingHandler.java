@@ -12,16 +12,13 @@ import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.util.Attribute;
-import io.netty.util.AttributeKey;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.common.internal.NettyErrorHolder;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
-import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.ServerContext;
-import java.util.Deque;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.ServerContexts;
 import javax.annotation.Nullable;
 
 /**
@@ -30,11 +27,12 @@ import javax.annotation.Nullable;
  */
 public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdapter {
 
-  private static final AttributeKey<HttpResponse> HTTP_SERVER_RESPONSE =
-      AttributeKey.valueOf(HttpServerResponseTracingHandler.class, "http-server-response");
-
   private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
   private final HttpServerResponseBeforeCommitHandler beforeCommitHandler;
+  // a handler instance is bound to a single channel, this caches the channel attribute
+  @Nullable private ServerContexts serverContexts;
+  // headers of a response whose body is not written yet
+  @Nullable private HttpResponse pendingResponse;
 
   public HttpServerResponseTracingHandler(
       Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter,
@@ -45,9 +43,11 @@ public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdap
 
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) throws Exception {
-    Attribute<Deque<ServerContext>> serverContextAttr = ctx.channel().attr(AttributeKeys.SERVER_CONTEXT);
-
-    Deque<ServerContext> serverContexts = serverContextAttr.get();
+    ServerContexts serverContexts = this.serverContexts;
+    if (serverContexts == null) {
+      serverContexts = ServerContexts.get(ctx.channel());
+      this.serverContexts = serverContexts;
+    }
     ServerContext serverContext = serverContexts != null ? serverContexts.peekFirst() : null;
     if (serverContext == null) {
       super.write(ctx, msg, prm);
@@ -70,7 +70,7 @@ public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdap
       if (msg instanceof FullHttpResponse) {
         // Headers and body all sent together, we have the response information in the msg.
         beforeCommitHandler.handle(serverContext.context(), (HttpResponse) msg);
-        serverContexts.removeFirst();
+        serverContexts.pollFirst();
         writePromise.addListener(future -> end(
             serverContext.context(),
             serverContext.request(),
@@ -80,8 +80,9 @@ public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdap
         // Body sent after headers. We stored the response information in the context when
         // encountering HttpResponse (which was not FullHttpResponse since it's not
         // LastHttpContent).
-        serverContexts.removeFirst();
-        HttpResponse response = ctx.channel().attr(HTTP_SERVER_RESPONSE).getAndSet(null);
+        serverContexts.pollFirst();
+        HttpResponse response = pendingResponse;
+        pendingResponse = null;
         writePromise.addListener(future ->
             end(serverContext.context(), serverContext.request(), response, writePromise));
       }
@@ -90,14 +91,14 @@ public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdap
       if (msg instanceof HttpResponse) {
         // Headers before body has been sent, store them to use when finishing the span.
         beforeCommitHandler.handle(serverContext.context(), (HttpResponse) msg);
-        ctx.channel().attr(HTTP_SERVER_RESPONSE).set((HttpResponse) msg);
+        pendingResponse = (HttpResponse) msg;
       }
     }
 
     try (Scope ignored = serverContext.context().makeCurrent()) {
       super.write(ctx, msg, writePromise);
     } catch (Throwable throwable) {
-      serverContexts.removeFirst();
+      serverContexts.pollFirst();
       end(serverContext.context(), serverContext.request(), null, throwable);
       throw throwable;
     }
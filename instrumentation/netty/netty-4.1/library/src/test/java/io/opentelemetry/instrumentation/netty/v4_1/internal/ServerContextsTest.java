@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import org.junit.jupiter.api.Test;
+
+class ServerContextsTest {
+
+  private final EmbeddedChannel channel = new EmbeddedChannel();
+
+  @Test
+  void singleRequest() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    assertThat(ServerContexts.getOrCreate(channel)).isSameAs(serverContexts);
+    assertThat(ServerContexts.get(channel)).isSameAs(serverContexts);
+
+    ServerContext first = serverContext("/first");
+    serverContexts.addLast(first);
+    assertThat(serverContexts.peekFirst()).isSameAs(first);
+    assertThat(serverContexts.peekLast()).isSameAs(first);
+
+    assertThat(serverContexts.pollFirst()).isSameAs(first);
+    assertThat(serverContexts.peekFirst()).isNull();
+    assertThat(serverContexts.peekLast()).isNull();
+    assertThat(serverContexts.pollFirst()).isNull();
+  }
+
+  @Test
+  void pipelinedRequests() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    ServerContext first = serverContext("/first");
+    ServerContext second = serverContext("/second");
+    ServerContext third = serverContext("/third");
+    serverContexts.addLast(first);
+    serverContexts.addLast(second);
+    serverContexts.addLast(third);
+
+    assertThat(serverContexts.peekFirst()).isSameAs(first);
+    assertThat(serverContexts.peekLast()).isSameAs(third);
+    assertThat(serverContexts.pollLast()).isSameAs(third);
+    assertThat(serverContexts.peekLast()).isSameAs(second);
+
+    assertThat(serverContexts.pollFirst()).isSameAs(first);
+    assertThat(serverContexts.peekFirst()).isSameAs(second);
+    assertThat(serverContexts.peekLast()).isSameAs(second);
+    assertThat(serverContexts.pollLast()).isSameAs(second);
+    assertThat(serverContexts.peekFirst()).isNull();
+    assertThat(serverContexts.pollLast()).isNull();
+  }
+
+  private ServerContext serverContext(String uri) {
+    return ServerContext.create(
+        Context.root(),
+        HttpRequestAndChannel.create(
+            new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri), channel));
+  }
+}
@@ -7,7 +7,9 @@ package io.opentelemetry.instrumentation.okhttp.v3_0.internal;
 
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpClientAttributesGetter;
 import java.util.List;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
+import okhttp3.Headers;
 import okhttp3.Request;
 import okhttp3.Response;
 
@@ -33,6 +35,12 @@ public enum OkHttpAttributesGetter implements HttpClientAttributesGetter<Request
     return request.headers(name);
   }
 
+  @Override
+  public boolean forEachHttpRequestHeader(Request request, BiConsumer<String, String> consumer) {
+    forEach(request.headers(), consumer);
+    return true;
+  }
+
   @Override
   public Integer getHttpResponseStatusCode(
       Request request, Response response, @Nullable Throwable error) {
@@ -44,6 +52,19 @@ public enum OkHttpAttributesGetter implements HttpClientAttributesGetter<Request
     return response.headers(name);
   }
 
+  @Override
+  public boolean forEachHttpResponseHeader(
+      Request request, Response response, BiConsumer<String, String> consumer) {
+    forEach(response.headers(), consumer);
+    return true;
+  }
+
+  private static void forEach(Headers headers, BiConsumer<String, String> consumer) {
+    for (int i = 0; i < headers.size(); i++) {
+      consumer.accept(headers.name(i), headers.value(i));
+    }
+  }
+
   @Nullable
   @Override
   public String getNetworkProtocolName(Request request, @Nullable Response response) {
@@ -43,6 +43,10 @@ public class HooksInstrumentation implements TypeInstrumentation {
           .setCaptureExperimentalSpanAttributes(
               InstrumentationConfig.get()
                   .getBoolean("otel.instrumentation.reactor.experimental-span-attributes", false))
+          .setExperimentalBoundaryPropagationEnabled(
+              InstrumentationConfig.get()
+                  .getBoolean(
+                      "otel.instrumentation.reactor.experimental-boundary-propagation", false))
           .build()
           .registerOnEachOperator();
     }
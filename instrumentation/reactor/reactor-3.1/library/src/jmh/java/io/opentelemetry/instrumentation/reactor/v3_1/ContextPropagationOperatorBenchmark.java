@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor.v3_1;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Subscribes to a chain of 60 operators emitting 100 elements within a span, without the hook,
+ * with every operator decorated and with only the context boundaries decorated.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ContextPropagationOperatorBenchmark {
+
+  private static final int OPERATORS = 60;
+  private static final int ELEMENTS = 100;
+
+  @Param({"none", "full", "boundary"})
+  public String mode;
+
+  private ContextPropagationOperator operator;
+  private Context context;
+
+  @Setup
+  public void setup() {
+    if (!mode.equals("none")) {
+      operator =
+          ContextPropagationOperator.builder()
+              .setExperimentalBoundaryPropagationEnabled(mode.equals("boundary"))
+              .build();
+      operator.registerOnEachOperator();
+    }
+    context =
+        Context.root()
+            .with(
+                Span.wrap(
+                    SpanContext.create(
+                        "ff01020304050600ff0a0b0c0d0e0f00",
+                        "090a0b0c0d0e0f00",
+                        TraceFlags.getSampled(),
+                        TraceState.getDefault())));
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (operator != null) {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Benchmark
+  public Long operatorChain() {
+    try (Scope ignored = context.makeCurrent()) {
+      Flux<Integer> flux = Flux.range(0, ELEMENTS);
+      for (int i = 0; i < OPERATORS / 2; i++) {
+        flux = flux.map(value -> value + 1).filter(value -> value >= 0);
+      }
+      return flux.count().block();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor.v3_1;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import java.util.function.BiFunction;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+
+/**
+ * Decorates only the subscribers that signals can reach without the right {@link Context} being
+ * current: the subscribers of sources and of operators that emit on another thread or change the
+ * context, the subscribers that run user callbacks passed to {@code subscribe()}, and the
+ * subscribers whose context differs from the current one. Everything downstream of a decorated
+ * subscriber that runs synchronously on the same thread inherits its scope, and the context is
+ * stored in the Reactor context so that operators subscribed on another thread still find it.
+ */
+final class BoundaryLifter<T>
+    implements BiFunction<Scannable, CoreSubscriber<? super T>, CoreSubscriber<? super T>> {
+
+  // name parts of the operators that emit on a scheduler or change the context
+  private static final String[] BOUNDARY_OPERATORS = {
+    "PublishOn", "SubscribeOn", "RunOn", "Delay", "Timeout", "Interval", "ContextStart",
+    "ContextWrite"
+  };
+
+  private static final ClassValue<Boolean> isBoundaryOperator =
+      new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          String name = type.getName();
+          if (!name.startsWith("reactor.core.publisher.")) {
+            return false;
+          }
+          for (String operator : BOUNDARY_OPERATORS) {
+            if (name.contains(operator)) {
+              return true;
+            }
+          }
+          return false;
+        }
+      };
+
+  /** Holds reference to strategy to prevent it from being collected. */
+  @SuppressWarnings({"FieldCanBeLocal", "UnusedVariable"})
+  private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
+
+  BoundaryLifter(ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
+    this.asyncOperationEndStrategy = asyncOperationEndStrategy;
+  }
+
+  @Override
+  public CoreSubscriber<? super T> apply(Scannable publisher, CoreSubscriber<? super T> sub) {
+    reactor.util.context.Context reactorContext = sub.currentContext();
+    if (TracingSubscriber.isRetrySubscriber(sub)) {
+      // needed to clear the context of retried subscriptions
+      return new TracingSubscriber<>(sub, reactorContext);
+    }
+
+    Context current = Context.current();
+    Context traceContext =
+        ContextPropagationOperator.getOpenTelemetryContext(reactorContext, current);
+    if (!Span.fromContext(traceContext).getSpanContext().isValid()) {
+      // nothing to propagate, the subscriber would not make any context current
+      return sub;
+    }
+    if (traceContext == current && !isBoundary(publisher, sub)) {
+      return sub;
+    }
+
+    if (ContextPropagationOperator.getOpenTelemetryContext(reactorContext, null) != traceContext) {
+      reactorContext =
+          ContextPropagationOperator.storeOpenTelemetryContext(reactorContext, traceContext);
+    }
+    return new TracingSubscriber<>(sub, reactorContext, traceContext);
+  }
+
+  private static boolean isBoundary(Scannable publisher, CoreSubscriber<?> sub) {
+    // sources emit on whatever thread produces the data
+    if (publisher.scanUnsafe(Scannable.Attr.PARENT) == null) {
+      return true;
+    }
+    if (isBoundaryOperator.get(publisher.getClass())) {
+      return true;
+    }
+    // the callbacks passed to subscribe()
+    String subscriberClassName = sub.getClass().getName();
+    return subscriberClassName.equals("reactor.core.publisher.LambdaSubscriber")
+        || subscriberClassName.equals("reactor.core.publisher.LambdaMonoSubscriber");
+  }
+}
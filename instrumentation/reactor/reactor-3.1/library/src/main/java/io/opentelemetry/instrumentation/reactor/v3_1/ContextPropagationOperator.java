@@ -77,6 +77,7 @@ public final class ContextPropagationOperator {
   }
 
   private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
+  private final boolean boundaryPropagationEnabled;
 
   private static final Object TRACE_CONTEXT_KEY =
       new Object() {
@@ -116,11 +117,13 @@ public final class ContextPropagationOperator {
     return context.getOrDefault(TRACE_CONTEXT_KEY, defaultTraceContext);
   }
 
-  ContextPropagationOperator(boolean captureExperimentalSpanAttributes) {
+  ContextPropagationOperator(
+      boolean captureExperimentalSpanAttributes, boolean boundaryPropagationEnabled) {
     this.asyncOperationEndStrategy =
         ReactorAsyncOperationEndStrategy.builder()
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .build();
+    this.boundaryPropagationEnabled = boundaryPropagationEnabled;
   }
 
   /**
@@ -135,7 +138,8 @@ public final class ContextPropagationOperator {
         return;
       }
       Hooks.onEachOperator(
-          TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
+          TracingSubscriber.class.getName(),
+          tracingLift(asyncOperationEndStrategy, boundaryPropagationEnabled));
       AsyncOperationEndStrategies.instance().registerStrategy(asyncOperationEndStrategy);
       enabled = true;
     }
@@ -154,7 +158,13 @@ public final class ContextPropagationOperator {
   }
 
   private static <T> Function<? super Publisher<T>, ? extends Publisher<T>> tracingLift(
-      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
+      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy,
+      boolean boundaryPropagationEnabled) {
+    if (boundaryPropagationEnabled) {
+      return Operators.lift(
+          ContextPropagationOperator::shouldInstrument,
+          new BoundaryLifter<>(asyncOperationEndStrategy));
+    }
     return Operators.lift(
         ContextPropagationOperator::shouldInstrument, new Lifter<>(asyncOperationEndStrategy));
   }
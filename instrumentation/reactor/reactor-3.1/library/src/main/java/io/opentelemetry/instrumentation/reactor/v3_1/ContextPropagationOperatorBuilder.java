@@ -9,6 +9,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 public final class ContextPropagationOperatorBuilder {
   private boolean captureExperimentalSpanAttributes;
+  private boolean boundaryPropagationEnabled;
 
   ContextPropagationOperatorBuilder() {}
 
@@ -19,7 +20,24 @@ public final class ContextPropagationOperatorBuilder {
     return this;
   }
 
+  /**
+   * Sets whether only the operators at context boundaries should be decorated, instead of every
+   * operator. In this mode the {@link io.opentelemetry.context.Context} is carried in the Reactor
+   * context and is only made current where signals can arrive without it: at sources, at operators
+   * that emit on a scheduler such as {@code publishOn} and {@code subscribeOn}, at operators that
+   * change the context, and at the callbacks passed to {@code subscribe()}. Operators between those
+   * run with the context made current by the closest decorated operator upstream. This is
+   * experimental and disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public ContextPropagationOperatorBuilder setExperimentalBoundaryPropagationEnabled(
+      boolean boundaryPropagationEnabled) {
+    this.boundaryPropagationEnabled = boundaryPropagationEnabled;
+    return this;
+  }
+
   public ContextPropagationOperator build() {
-    return new ContextPropagationOperator(captureExperimentalSpanAttributes);
+    return new ContextPropagationOperator(
+        captureExperimentalSpanAttributes, boundaryPropagationEnabled);
   }
 }
@@ -66,9 +66,7 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
 
   @Override
   public void onError(Throwable throwable) {
-    if (!hasContextToPropagate
-        && (fluxRetrySubscriberClass == subscriber.getClass()
-            || fluxRetryWhenSubscriberClass == subscriber.getClass())) {
+    if (!hasContextToPropagate && isRetrySubscriber(subscriber)) {
       // clear context for retry to avoid having retried operations run with currently active
       // context as parent context
       withActiveSpan(io.opentelemetry.context.Context.root(), () -> subscriber.onError(throwable));
@@ -101,6 +99,11 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
     }
   }
 
+  static boolean isRetrySubscriber(Subscriber<?> subscriber) {
+    return fluxRetrySubscriberClass == subscriber.getClass()
+        || fluxRetryWhenSubscriberClass == subscriber.getClass();
+  }
+
   private static Class<?> getFluxRetrySubscriberClass() {
     try {
       return Class.forName("reactor.core.publisher.FluxRetry$RetrySubscriber");
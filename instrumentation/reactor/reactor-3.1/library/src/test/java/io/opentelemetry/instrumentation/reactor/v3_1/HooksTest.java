@@ -7,6 +7,12 @@ package io.opentelemetry.instrumentation.reactor.v3_1;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -35,6 +41,74 @@ class HooksTest {
     assertThat(subscriber.get()).extracting("actual").isNotInstanceOf(TracingSubscriber.class);
   }
 
+  @Test
+  void boundaryPropagationDecoratesOnlyBoundaries() {
+    ContextPropagationOperator operator =
+        ContextPropagationOperator.builder()
+            .setExperimentalBoundaryPropagationEnabled(true)
+            .build();
+    AtomicReference<CoreSubscriber<? super Integer>> subscriber = new AtomicReference<>();
+
+    operator.registerOnEachOperator();
+    try {
+      new CapturingMono(subscriber).map(i -> i + 1).map(i -> i + 1).subscribe();
+      // nothing to propagate
+      assertThat(subscriber.get())
+          .extracting("actual")
+          .isNotInstanceOf(TracingSubscriber.class)
+          .extracting("actual")
+          .isNotInstanceOf(TracingSubscriber.class);
+
+      try (Scope ignored = Context.current().with(span()).makeCurrent()) {
+        new CapturingMono(subscriber).map(i -> i + 1).map(i -> i + 1).subscribe();
+      }
+      // only the subscribe() callbacks are decorated, the maps in between are not
+      assertThat(subscriber.get())
+          .extracting("actual")
+          .isNotInstanceOf(TracingSubscriber.class)
+          .extracting("actual")
+          .isInstanceOf(TracingSubscriber.class);
+    } finally {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Test
+  void boundaryPropagationAcrossPublishOn() {
+    ContextPropagationOperator operator =
+        ContextPropagationOperator.builder()
+            .setExperimentalBoundaryPropagationEnabled(true)
+            .build();
+    Span span = span();
+    AtomicReference<Span> spanInCallback = new AtomicReference<>();
+
+    operator.registerOnEachOperator();
+    try (Scope ignored = Context.current().with(span).makeCurrent()) {
+      Mono.fromCallable(() -> 1)
+          .publishOn(Schedulers.single())
+          .map(i -> i + 1)
+          .map(
+              i -> {
+                spanInCallback.set(Span.current());
+                return i;
+              })
+          .block();
+    } finally {
+      operator.resetOnEachOperator();
+    }
+
+    assertThat(spanInCallback.get()).isSameAs(span);
+  }
+
+  private static Span span() {
+    return Span.wrap(
+        SpanContext.create(
+            "ff01020304050600ff0a0b0c0d0e0f00",
+            "090a0b0c0d0e0f00",
+            TraceFlags.getSampled(),
+            TraceState.getDefault()));
+  }
+
   private static class CapturingMono extends Mono<Integer> {
     final AtomicReference<CoreSubscriber<? super Integer>> subscriber;
 
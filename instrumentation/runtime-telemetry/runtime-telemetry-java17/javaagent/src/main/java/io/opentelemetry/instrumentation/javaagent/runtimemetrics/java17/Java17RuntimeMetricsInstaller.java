@@ -9,6 +9,7 @@ import com.google.auto.service.AutoService;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.runtimemetrics.java17.RuntimeMetrics;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.RuntimeMetricsBuilder;
 import io.opentelemetry.javaagent.extension.AgentListener;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.internal.AutoConfigureUtil;
@@ -31,12 +32,23 @@ public class Java17RuntimeMetricsInstaller implements AgentListener {
     默认情况下，不使用任何 JFR 指标。更新语义约定后，可能会更改此情况。如果启用，则默认仅为 runtime-telemetry-java8 尚未涵盖的指标
     */
     boolean defaultEnabled = config.getBoolean("otel.instrumentation.common.default-enabled", true);
+    double overheadBudget =
+        config.getDouble(
+            "otel.instrumentation.runtime-telemetry-java17.experimental-overhead-budget", 0.0);
     if (config.getBoolean("otel.instrumentation.runtime-telemetry-java17.enable-all", false)) {
       // 默认不会走该分支
-      runtimeMetrics = RuntimeMetrics.builder(openTelemetry).enableAllFeatures().build();
+      RuntimeMetricsBuilder builder = RuntimeMetrics.builder(openTelemetry).enableAllFeatures();
+      if (overheadBudget > 0) {
+        builder.setExperimentalOverheadBudget(overheadBudget);
+      }
+      runtimeMetrics = builder.build();
     } else if (config.getBoolean("otel.instrumentation.runtime-telemetry-java17.enabled", false)) {
       // 默认不会走该分支
-      runtimeMetrics = RuntimeMetrics.create(openTelemetry);
+      RuntimeMetricsBuilder builder = RuntimeMetrics.builder(openTelemetry);
+      if (overheadBudget > 0) {
+        builder.setExperimentalOverheadBudget(overheadBudget);
+      }
+      runtimeMetrics = builder.build();
     } else if (config.getBoolean("otel.instrumentation.runtime-telemetry.enabled", defaultEnabled)) {
       // This only uses metrics gathered by JMX
       // 默认走该分支，仅使用JMX收集的指标
@@ -0,0 +1,255 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.Constants;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.DurationUtil;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.RecordedEventHandler;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Keeps the time spent handling JFR events under a budget, expressed as a fraction of the time of
+ * one CPU. The handlers are measured while they handle events, and the overhead is evaluated after
+ * every flush of the recording stream. When the budget is exceeded, the threshold of the most
+ * expensive event that supports one is doubled, so that only the longer events are recorded. When
+ * the overhead falls well under the budget, raised thresholds are halved back towards their
+ * configured value. Events without an adjustable threshold, like allocations and socket reads and
+ * writes, are measured and reported but are not regulated.
+ *
+ * <p>The overhead is the wall time spent in the handlers on the thread of the recording stream. It
+ * does not include the cost of JFR itself: recording the events in the application threads, and
+ * writing them to and parsing them back from the repository. That cost also shrinks when a
+ * threshold is raised, but it is not counted against the budget, so the actual overhead of the
+ * runtime metrics is higher than the measured one.
+ */
+final class EventOverheadController implements AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(EventOverheadController.class.getName());
+
+  private static final AttributeKey<String> ATTR_EVENT = AttributeKey.stringKey("event");
+  private static final Duration MIN_RAISED_THRESHOLD = Duration.ofMillis(1);
+  private static final Duration MAX_THRESHOLD = Duration.ofSeconds(10);
+
+  private final double budget;
+  private final BiConsumer<String, Duration> thresholdSetter;
+  private final List<MeasuredHandler> handlers = new CopyOnWriteArrayList<>();
+  private final List<AutoCloseable> observables = new CopyOnWriteArrayList<>();
+  private long lastEvaluationNanos = System.nanoTime();
+
+  /**
+   * Creates a controller.
+   *
+   * @param meter the meter used to report the overhead of the handlers
+   * @param budget the fraction of the time of one CPU that handlers may spend handling events
+   * @param thresholdSetter applies a new threshold to the event of the given name
+   */
+  EventOverheadController(
+      Meter meter, double budget, BiConsumer<String, Duration> thresholdSetter) {
+    this.budget = budget;
+    this.thresholdSetter = thresholdSetter;
+
+    observables.add(
+        meter
+            .counterBuilder("process.runtime.jvm.jfr.events")
+            .setDescription("Number of JFR events handled")
+            .setUnit("{events}")
+            .buildWithCallback(
+                measurement -> {
+                  for (MeasuredHandler handler : handlers) {
+                    measurement.record(handler.totalEvents.get(), handler.attributes);
+                  }
+                }));
+    observables.add(
+        meter
+            .counterBuilder("process.runtime.jvm.jfr.handler.time")
+            .setDescription("Time spent handling JFR events")
+            .setUnit(Constants.MILLISECONDS)
+            .ofDoubles()
+            .buildWithCallback(
+                measurement -> {
+                  for (MeasuredHandler handler : handlers) {
+                    measurement.record(handler.totalNanos.get() / 1e6, handler.attributes);
+                  }
+                }));
+    observables.add(
+        meter
+            .gaugeBuilder("process.runtime.jvm.jfr.threshold")
+            .setDescription("Threshold of the JFR events that are regulated")
+            .setUnit(Constants.MILLISECONDS)
+            .buildWithCallback(
+                measurement -> {
+                  for (MeasuredHandler handler : handlers) {
+                    if (handler.handler.isThresholdAdjustable()) {
+                      measurement.record(
+                          DurationUtil.toMillis(handler.threshold), handler.attributes);
+                    }
+                  }
+                }));
+  }
+
+  /**
+   * Returns a consumer that measures the handler. This method must be called before the recording
+   * stream is started.
+   */
+  Consumer<RecordedEvent> measure(RecordedEventHandler handler) {
+    MeasuredHandler measuredHandler = new MeasuredHandler(handler);
+    handlers.add(measuredHandler);
+    return measuredHandler;
+  }
+
+  /** Evaluates the overhead since the last evaluation, called after every flush. */
+  void evaluate() {
+    long now = System.nanoTime();
+    long elapsedNanos = now - lastEvaluationNanos;
+    if (elapsedNanos <= 0) {
+      return;
+    }
+    lastEvaluationNanos = now;
+    evaluate(elapsedNanos);
+  }
+
+  // Visible for testing
+  void evaluate(long elapsedNanos) {
+    long windowNanos = 0;
+    for (MeasuredHandler handler : handlers) {
+      windowNanos += handler.windowNanos;
+    }
+    double overhead = (double) windowNanos / elapsedNanos;
+
+    if (overhead > budget) {
+      MeasuredHandler mostExpensive = null;
+      for (MeasuredHandler handler : handlers) {
+        if (handler.canRaiseThreshold()
+            && handler.windowNanos > 0
+            && (mostExpensive == null || handler.windowNanos > mostExpensive.windowNanos)) {
+          mostExpensive = handler;
+        }
+      }
+      if (mostExpensive != null) {
+        mostExpensive.raiseThreshold();
+      }
+    } else if (overhead < budget / 4) {
+      MeasuredHandler cheapest = null;
+      for (MeasuredHandler handler : handlers) {
+        if (handler.isThresholdRaised()
+            && (cheapest == null || handler.windowNanos < cheapest.windowNanos)) {
+          cheapest = handler;
+        }
+      }
+      if (cheapest != null) {
+        cheapest.lowerThreshold();
+      }
+    }
+
+    for (MeasuredHandler handler : handlers) {
+      handler.endWindow();
+    }
+  }
+
+  @Override
+  public void close() {
+    RecordedEventHandler.closeObservables(observables);
+  }
+
+  // Visible for testing
+  Duration getThreshold(RecordedEventHandler handler) {
+    for (MeasuredHandler measuredHandler : handlers) {
+      if (measuredHandler.handler == handler) {
+        return measuredHandler.threshold;
+      }
+    }
+    throw new IllegalArgumentException("Unknown handler " + handler.getEventName());
+  }
+
+  /**
+   * Measures the events and time of a handler. Events and flushes are all delivered on the thread
+   * of the recording stream, only the totals are read from other threads.
+   */
+  private final class MeasuredHandler implements Consumer<RecordedEvent> {
+    private final RecordedEventHandler handler;
+    private final Attributes attributes;
+    private final Duration initialThreshold;
+    private final AtomicLong totalEvents = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private volatile Duration threshold;
+    private long windowEvents;
+    private long windowNanos;
+
+    MeasuredHandler(RecordedEventHandler handler) {
+      this.handler = handler;
+      this.attributes = Attributes.of(ATTR_EVENT, handler.getEventName());
+      this.initialThreshold = handler.getThreshold().orElse(Duration.ZERO);
+      this.threshold = initialThreshold;
+    }
+
+    @Override
+    public void accept(RecordedEvent event) {
+      long start = System.nanoTime();
+      try {
+        handler.accept(event);
+      } finally {
+        windowNanos += System.nanoTime() - start;
+        windowEvents++;
+      }
+    }
+
+    boolean canRaiseThreshold() {
+      return handler.isThresholdAdjustable() && threshold.compareTo(MAX_THRESHOLD) < 0;
+    }
+
+    boolean isThresholdRaised() {
+      return threshold.compareTo(initialThreshold) > 0;
+    }
+
+    void raiseThreshold() {
+      Duration raised = threshold.multipliedBy(2);
+      if (raised.compareTo(MIN_RAISED_THRESHOLD) < 0) {
+        raised = MIN_RAISED_THRESHOLD;
+      }
+      if (raised.compareTo(MAX_THRESHOLD) > 0) {
+        raised = MAX_THRESHOLD;
+      }
+      setThreshold(raised);
+    }
+
+    void lowerThreshold() {
+      Duration lowered = threshold.dividedBy(2);
+      if (lowered.compareTo(MIN_RAISED_THRESHOLD) < 0 || lowered.compareTo(initialThreshold) < 0) {
+        lowered = initialThreshold;
+      }
+      setThreshold(lowered);
+    }
+
+    private void setThreshold(Duration newThreshold) {
+      if (logger.isLoggable(Level.FINE)) {
+        logger.log(
+            Level.FINE,
+            "Changing the threshold of {0} from {1} to {2}",
+            new Object[] {handler.getEventName(), threshold, newThreshold});
+      }
+      threshold = newThreshold;
+      thresholdSetter.accept(handler.getEventName(), newThreshold);
+    }
+
+    void endWindow() {
+      totalEvents.addAndGet(windowEvents);
+      totalNanos.addAndGet(windowNanos);
+      windowEvents = 0;
+      windowNanos = 0;
+    }
+  }
+}
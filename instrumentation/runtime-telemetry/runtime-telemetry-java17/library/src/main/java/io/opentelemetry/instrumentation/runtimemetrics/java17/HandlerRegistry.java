@@ -29,6 +29,8 @@ import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.memory.Pa
 import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.network.NetworkReadHandler;
 import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.network.NetworkWriteHandler;
 import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.threads.ThreadCountHandler;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.threads.VirtualThreadPinnedHandler;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.threads.VirtualThreadSubmitFailedHandler;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
@@ -46,14 +48,18 @@ final class HandlerRegistry {
 
   private HandlerRegistry() {}
 
-  static List<RecordedEventHandler> getHandlers(
-      OpenTelemetry openTelemetry, Predicate<JfrFeature> featurePredicate) {
-
+  static Meter getMeter(OpenTelemetry openTelemetry) {
     MeterBuilder meterBuilder = openTelemetry.meterBuilder(SCOPE_NAME);
     if (SCOPE_VERSION != null) {
       meterBuilder.setInstrumentationVersion(SCOPE_VERSION);
     }
-    Meter meter = meterBuilder.build();
+    return meterBuilder.build();
+  }
+
+  static List<RecordedEventHandler> getHandlers(
+      OpenTelemetry openTelemetry, Predicate<JfrFeature> featurePredicate) {
+
+    Meter meter = getMeter(openTelemetry);
 
     List<RecordedEventHandler> handlers = new ArrayList<RecordedEventHandler>();
     for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
@@ -96,6 +102,8 @@ final class HandlerRegistry {
             new ContainerConfigurationHandler(meter),
             new LongLockHandler(meter, grouper),
             new ThreadCountHandler(meter),
+            new VirtualThreadPinnedHandler(meter),
+            new VirtualThreadSubmitFailedHandler(meter),
             new ClassesLoadedHandler(meter),
             new MetaspaceSummaryHandler(meter),
             new CodeCacheConfigurationHandler(meter),
@@ -24,6 +24,7 @@ public enum JfrFeature {
   MEMORY_POOL_METRICS(/* defaultEnabled= */ false),
   NETWORK_IO_METRICS(/* defaultEnabled= */ true),
   THREAD_METRICS(/* defaultEnabled= */ false),
+  VIRTUAL_THREAD_METRICS(/* defaultEnabled= */ false),
   ;
 
   private final boolean defaultEnabled;
@@ -84,18 +84,38 @@ public final class RuntimeMetrics implements Closeable {
   static class JfrRuntimeMetrics implements Closeable {
     private final List<RecordedEventHandler> recordedEventHandlers;
     private final RecordingStream recordingStream;
+    @Nullable private final EventOverheadController overheadController;
     private final CountDownLatch startUpLatch = new CountDownLatch(1);
 
-    private JfrRuntimeMetrics(OpenTelemetry openTelemetry, Predicate<JfrFeature> featurePredicate) {
+    private JfrRuntimeMetrics(
+        OpenTelemetry openTelemetry,
+        Predicate<JfrFeature> featurePredicate,
+        double overheadBudget) {
       this.recordedEventHandlers = HandlerRegistry.getHandlers(openTelemetry, featurePredicate);
       recordingStream = new RecordingStream();
+      overheadController =
+          overheadBudget > 0
+              ? new EventOverheadController(
+                  HandlerRegistry.getMeter(openTelemetry),
+                  overheadBudget,
+                  (eventName, threshold) ->
+                      recordingStream.enable(eventName).withThreshold(threshold))
+              : null;
       recordedEventHandlers.forEach(
           handler -> {
             EventSettings eventSettings = recordingStream.enable(handler.getEventName());
             handler.getPollingDuration().ifPresent(eventSettings::withPeriod);
             handler.getThreshold().ifPresent(eventSettings::withThreshold);
-            recordingStream.onEvent(handler.getEventName(), handler);
+            if (overheadController != null) {
+              recordingStream.onEvent(
+                  handler.getEventName(), overheadController.measure(handler));
+            } else {
+              recordingStream.onEvent(handler.getEventName(), handler);
+            }
           });
+      if (overheadController != null) {
+        recordingStream.onFlush(overheadController::evaluate);
+      }
       recordingStream.onMetadata(event -> startUpLatch.countDown());
       Thread daemonRunner = new Thread(() -> recordingStream.start());
       daemonRunner.setDaemon(true);
@@ -103,17 +123,22 @@ public final class RuntimeMetrics implements Closeable {
     }
 
     static JfrRuntimeMetrics build(
-        OpenTelemetry openTelemetry, Predicate<JfrFeature> featurePredicate) {
+        OpenTelemetry openTelemetry,
+        Predicate<JfrFeature> featurePredicate,
+        double overheadBudget) {
       if (!hasJfrRecordingStream()) {
         return null;
       }
-      return new JfrRuntimeMetrics(openTelemetry, featurePredicate);
+      return new JfrRuntimeMetrics(openTelemetry, featurePredicate, overheadBudget);
     }
 
     @Override
     public void close() {
       recordingStream.close();
       recordedEventHandlers.forEach(RecordedEventHandler::close);
+      if (overheadController != null) {
+        overheadController.close();
+      }
     }
 
     // Visible for testing
@@ -121,6 +146,12 @@ public final class RuntimeMetrics implements Closeable {
       return recordedEventHandlers;
     }
 
+    // Visible for testing
+    @Nullable
+    EventOverheadController getOverheadController() {
+      return overheadController;
+    }
+
     // Visible for testing
     RecordingStream getRecordingStream() {
       return recordingStream;
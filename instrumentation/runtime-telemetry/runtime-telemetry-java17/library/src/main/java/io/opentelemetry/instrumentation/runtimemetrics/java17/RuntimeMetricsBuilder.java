@@ -28,6 +28,7 @@ public final class RuntimeMetricsBuilder {
   final EnumMap<JfrFeature, Boolean> enabledFeatureMap;
 
   private boolean disableJmx = false;
+  private double overheadBudget = 0;
 
   RuntimeMetricsBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -80,6 +81,25 @@ public final class RuntimeMetricsBuilder {
     return this;
   }
 
+  /**
+   * Sets the fraction of the time of one CPU that may be spent handling JFR events, e.g. {@code
+   * 0.01} for 1%. When set, the time spent by the handlers is measured and reported, and the
+   * threshold of the lock wait events is raised while the budget is exceeded so that only the
+   * longer waits are recorded. Only the wall time spent in the handlers on the recording stream
+   * thread counts against the budget; the cost of JFR itself, recording the events and reading them
+   * back from the repository, is not measured. Disabled by default.
+   *
+   * @param overheadBudget the fraction of a CPU, greater than 0
+   */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder setExperimentalOverheadBudget(double overheadBudget) {
+    if (!(overheadBudget > 0)) {
+      throw new IllegalArgumentException("overheadBudget must be greater than 0");
+    }
+    this.overheadBudget = overheadBudget;
+    return this;
+  }
+
   /** Build and start an {@link RuntimeMetrics} with the config from this builder. */
   public RuntimeMetrics build() {
     List<AutoCloseable> observables = buildObservables();
@@ -112,6 +132,7 @@ public final class RuntimeMetricsBuilder {
     if (enabledFeatureMap.values().stream().noneMatch(isEnabled -> isEnabled)) {
       return null;
     }
-    return RuntimeMetrics.JfrRuntimeMetrics.build(openTelemetry, enabledFeatureMap::get);
+    return RuntimeMetrics.JfrRuntimeMetrics.build(
+        openTelemetry, enabledFeatureMap::get, overheadBudget);
   }
 }
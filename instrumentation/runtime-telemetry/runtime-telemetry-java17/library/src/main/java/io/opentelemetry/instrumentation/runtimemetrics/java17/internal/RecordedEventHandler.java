@@ -63,6 +63,16 @@ public interface RecordedEventHandler
     return Optional.empty();
   }
 
+  /**
+   * Returns whether the threshold of the JFR event may be raised above {@link #getThreshold()} to
+   * reduce the number of events when their handling is too expensive.
+   *
+   * @return true if only the events longer than a threshold are needed to produce useful metrics
+   */
+  default boolean isThresholdAdjustable() {
+    return false;
+  }
+
   static void closeObservables(List<AutoCloseable> observables) {
     observables.forEach(
         observable -> {
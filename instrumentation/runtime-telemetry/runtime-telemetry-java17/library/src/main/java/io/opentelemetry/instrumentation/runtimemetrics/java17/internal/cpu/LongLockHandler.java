@@ -49,6 +49,11 @@ public final class LongLockHandler extends AbstractThreadDispatchingHandler {
     return JfrFeature.LOCK_METRICS;
   }
 
+  @Override
+  public boolean isThresholdAdjustable() {
+    return true;
+  }
+
   @Override
   public Consumer<RecordedEvent> createPerThreadSummarizer(String threadName) {
     return new PerThreadLongLockHandler(histogram, threadName);
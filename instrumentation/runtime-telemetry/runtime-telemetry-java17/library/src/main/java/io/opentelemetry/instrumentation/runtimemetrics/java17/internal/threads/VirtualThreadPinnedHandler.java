@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17.internal.threads;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.JfrFeature;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.Constants;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.DurationUtil;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.RecordedEventHandler;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Records how long virtual threads waited while pinned to their carrier thread (e.g. blocking
+ * inside a {@code synchronized} block). Only waits longer than the JDK's default threshold of 20ms
+ * are reported. The event only exists on JDK 21+, on older JDKs nothing is recorded.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class VirtualThreadPinnedHandler implements RecordedEventHandler {
+  private static final String METRIC_NAME = "process.runtime.jvm.virtual_threads.pinned.duration";
+  private static final String METRIC_DESCRIPTION =
+      "Time virtual threads were blocked while pinned to their carrier thread";
+  private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+  private final DoubleHistogram histogram;
+
+  public VirtualThreadPinnedHandler(Meter meter) {
+    histogram =
+        meter
+            .histogramBuilder(METRIC_NAME)
+            .setDescription(METRIC_DESCRIPTION)
+            .setUnit(Constants.MILLISECONDS)
+            .build();
+  }
+
+  @Override
+  public void accept(RecordedEvent ev) {
+    histogram.record(DurationUtil.toMillis(ev.getDuration()), Attributes.empty());
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public JfrFeature getFeature() {
+    return JfrFeature.VIRTUAL_THREAD_METRICS;
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17.internal.threads;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.JfrFeature;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.Constants;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.RecordedEventHandler;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Counts virtual threads that could not be started or unparked because their scheduler rejected
+ * the task. The event only exists on JDK 21+, on older JDKs nothing is recorded.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class VirtualThreadSubmitFailedHandler implements RecordedEventHandler {
+  private static final String METRIC_NAME = "process.runtime.jvm.virtual_threads.submit_failed";
+  private static final String METRIC_DESCRIPTION =
+      "Number of times a virtual thread could not be scheduled on a carrier thread";
+  private static final String EVENT_NAME = "jdk.VirtualThreadSubmitFailed";
+
+  private final LongCounter counter;
+
+  public VirtualThreadSubmitFailedHandler(Meter meter) {
+    counter =
+        meter
+            .counterBuilder(METRIC_NAME)
+            .setDescription(METRIC_DESCRIPTION)
+            .setUnit(Constants.UNIT_THREADS)
+            .build();
+  }
+
+  @Override
+  public void accept(RecordedEvent ev) {
+    counter.add(1, Attributes.empty());
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public JfrFeature getFeature() {
+    return JfrFeature.VIRTUAL_THREAD_METRICS;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.internal.RecordedEventHandler;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+
+class EventOverheadControllerTest {
+
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final Map<String, Duration> appliedThresholds = new HashMap<>();
+  private final EventOverheadController controller =
+      new EventOverheadController(
+          OpenTelemetry.noop().getMeter("test"), 0.001, appliedThresholds::put);
+
+  @Test
+  void raisesThresholdOfMostExpensiveEvent() {
+    TestHandler cheap = new TestHandler("test.Cheap", true);
+    TestHandler expensive = new TestHandler("test.Expensive", true);
+    Consumer<RecordedEvent> cheapConsumer = controller.measure(cheap);
+    Consumer<RecordedEvent> expensiveConsumer = controller.measure(expensive);
+
+    cheapConsumer.accept(null);
+    expensiveConsumer.accept(null);
+    expensiveConsumer.accept(null);
+    expensive.busyNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    expensiveConsumer.accept(null);
+    controller.evaluate(ONE_SECOND);
+
+    assertThat(controller.getThreshold(expensive)).isEqualTo(Duration.ofMillis(1));
+    assertThat(controller.getThreshold(cheap)).isEqualTo(Duration.ZERO);
+    assertThat(appliedThresholds).containsOnly(Map.entry("test.Expensive", Duration.ofMillis(1)));
+
+    expensiveConsumer.accept(null);
+    controller.evaluate(ONE_SECOND);
+    assertThat(controller.getThreshold(expensive)).isEqualTo(Duration.ofMillis(2));
+
+    // under budget, the threshold goes back to its initial value
+    controller.evaluate(ONE_SECOND);
+    assertThat(controller.getThreshold(expensive)).isEqualTo(Duration.ofMillis(1));
+    controller.evaluate(ONE_SECOND);
+    assertThat(controller.getThreshold(expensive)).isEqualTo(Duration.ZERO);
+    assertThat(appliedThresholds).containsOnly(Map.entry("test.Expensive", Duration.ZERO));
+  }
+
+  @Test
+  void doesNotRegulateEventsWithoutThreshold() {
+    TestHandler handler = new TestHandler("test.Allocation", false);
+    handler.busyNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    controller.measure(handler).accept(null);
+    controller.evaluate(ONE_SECOND);
+
+    assertThat(controller.getThreshold(handler)).isEqualTo(Duration.ZERO);
+    assertThat(appliedThresholds).isEmpty();
+  }
+
+  private static class TestHandler implements RecordedEventHandler {
+    private final String eventName;
+    private final boolean thresholdAdjustable;
+    long busyNanos;
+
+    TestHandler(String eventName, boolean thresholdAdjustable) {
+      this.eventName = eventName;
+      this.thresholdAdjustable = thresholdAdjustable;
+    }
+
+    @Override
+    public String getEventName() {
+      return eventName;
+    }
+
+    @Override
+    public JfrFeature getFeature() {
+      return JfrFeature.LOCK_METRICS;
+    }
+
+    @Override
+    public boolean isThresholdAdjustable() {
+      return thresholdAdjustable;
+    }
+
+    @Override
+    public void accept(RecordedEvent event) {
+      long end = System.nanoTime() + busyNanos;
+      while (System.nanoTime() < end) {
+        // simulate an expensive handler
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.runtimemetrics.java17;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.opentelemetry.api.OpenTelemetry;
 import java.util.Arrays;
@@ -71,4 +72,19 @@ class RuntimeMetricsBuilderTest {
           .allSatisfy(handler -> assertThat(handler.getFeature().isDefaultEnabled()).isTrue());
     }
   }
+
+  @Test
+  void overheadBudget() {
+    assertThatThrownBy(
+            () -> new RuntimeMetricsBuilder(OpenTelemetry.noop()).setExperimentalOverheadBudget(0))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    var builder = new RuntimeMetricsBuilder(OpenTelemetry.noop());
+    try (var jfrTelemetry = builder.setExperimentalOverheadBudget(0.01).build()) {
+      assertThat(jfrTelemetry.getJfrRuntimeMetrics().getOverheadController()).isNotNull();
+    }
+    try (var jfrTelemetry = new RuntimeMetricsBuilder(OpenTelemetry.noop()).build()) {
+      assertThat(jfrTelemetry.getJfrRuntimeMetrics().getOverheadController()).isNull();
+    }
+  }
 }
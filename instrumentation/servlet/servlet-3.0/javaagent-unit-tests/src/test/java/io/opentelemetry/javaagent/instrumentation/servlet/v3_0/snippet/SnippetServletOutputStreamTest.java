@@ -144,6 +144,49 @@ class SnippetServletOutputStreamTest {
     assertThat(out.getBytes()).isEqualTo(expectedHtml);
   }
 
+  @Test
+  void testInjectionWithOffset() throws IOException {
+    String snippet = "\n  <script type=\"text/javascript\"> Test </script>";
+    byte[] html = readFileAsBytes("beforeSnippetInjection.html");
+    byte[] extraBytes = "this buffer should not be written".getBytes(UTF_8);
+    byte[] buffer = new byte[extraBytes.length + html.length + extraBytes.length];
+    System.arraycopy(extraBytes, 0, buffer, 0, extraBytes.length);
+    System.arraycopy(html, 0, buffer, extraBytes.length, html.length);
+    System.arraycopy(extraBytes, 0, buffer, extraBytes.length + html.length, extraBytes.length);
+
+    InjectionState obj = createInjectionStateForTesting(snippet, UTF_8);
+    InMemoryServletOutputStream out = new InMemoryServletOutputStream();
+
+    Supplier<String> stringSupplier = snippet::toString;
+    OutputStreamSnippetInjectionHelper helper =
+        new OutputStreamSnippetInjectionHelper(stringSupplier);
+    boolean injected = helper.handleWrite(obj, out, buffer, extraBytes.length, html.length);
+    assertThat(obj.getHeadTagBytesSeen()).isEqualTo(-1);
+    assertThat(injected).isEqualTo(true);
+
+    byte[] expectedHtml = readFileAsBytes("afterSnippetInjection.html");
+    assertThat(out.getBytes()).isEqualTo(expectedHtml);
+  }
+
+  @Test
+  void testNoInjectionForContentThatIsNotMarkup() throws IOException {
+    String snippet = "\n  <script type=\"text/javascript\"> Test </script>";
+    byte[] json = "  {\"html\": \"<html><head></head></html>\"}".getBytes(UTF_8);
+
+    InjectionState obj = createInjectionStateForTesting(snippet, UTF_8);
+    InMemoryServletOutputStream out = new InMemoryServletOutputStream();
+
+    Supplier<String> stringSupplier = snippet::toString;
+    OutputStreamSnippetInjectionHelper helper =
+        new OutputStreamSnippetInjectionHelper(stringSupplier);
+    boolean injected = helper.handleWrite(obj, out, json, 0, json.length);
+
+    assertThat(injected).isFalse();
+    assertThat(obj.isDone()).isTrue();
+    assertThat(obj.isHeadTagWritten()).isFalse();
+    assertThat(out.getBytes()).isEmpty();
+  }
+
   private static InjectionState createInjectionStateForTesting(String snippet, Charset charset) {
     HttpServletResponse response = mock(HttpServletResponse.class);
     when(response.isCommitted()).thenReturn(false);
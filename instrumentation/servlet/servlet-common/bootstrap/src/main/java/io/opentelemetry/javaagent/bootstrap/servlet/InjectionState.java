@@ -5,12 +5,22 @@
 
 package io.opentelemetry.javaagent.bootstrap.servlet;
 
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+
 // this is shared by both ServletOutputStream and PrintWriter injection
 public class InjectionState {
   private static final int HEAD_TAG_WRITTEN_FAKE_VALUE = -1;
+  private static final int HEAD_TAG_NOT_FOUND_FAKE_VALUE = -2;
   private static final int HEAD_TAG_PREFIX_LENGTH = "<head".length();
+  // the head tag is expected at the start of the document, stop looking for it after this many
+  // bytes (or chars) outside a tag candidate
+  private static final long MAX_SCAN_LENGTH =
+      ConfigPropertiesUtil.getInt("otel.experimental.javascript-snippet.max-scan-length", 65536);
   private final SnippetInjectingResponseWrapper wrapper;
   private int headTagBytesSeen = 0;
+  // whether the first character that is not whitespace or a byte order mark was seen
+  private boolean markupStarted;
+  private long remainingScanLength = MAX_SCAN_LENGTH > 0 ? MAX_SCAN_LENGTH : Long.MAX_VALUE;
 
   public InjectionState(SnippetInjectingResponseWrapper wrapper) {
     this.wrapper = wrapper;
@@ -32,14 +42,27 @@ public class InjectionState {
     return headTagBytesSeen == HEAD_TAG_WRITTEN_FAKE_VALUE;
   }
 
+  /**
+   * Returns true when nothing needs to be scanned anymore, either because the head tag was already
+   * found or because the response does not look like it has one.
+   */
+  public boolean isDone() {
+    return headTagBytesSeen < 0;
+  }
+
   /**
    * Returns true when the byte is the last character of "<head>" and now is the right time to
    * inject. Otherwise, returns false.
    */
   public boolean processByte(int b) {
-    if (isHeadTagWritten()) {
+    if (isDone()) {
+      return false;
+    }
+    if (headTagBytesSeen == 0 && b != '<') {
+      skip(b);
       return false;
     }
+    markupStarted = true;
     if (inHeadTag(b)) {
       headTagBytesSeen++;
     } else {
@@ -53,6 +76,103 @@ public class InjectionState {
     }
   }
 
+  /**
+   * Scans the given region and returns the index of the last character of "<head>" when it is
+   * found in the region and now is the right time to inject. Otherwise, returns -1.
+   */
+  public int processBytes(byte[] bytes, int off, int len) {
+    int end = off + len;
+    int i = off;
+    while (i < end && !isDone()) {
+      if (headTagBytesSeen == 0 && markupStarted) {
+        // fast path: skip everything up to the next '<'
+        int limit = scanLimit(i, end);
+        int start = i;
+        while (i < limit && bytes[i] != '<') {
+          i++;
+        }
+        remainingScanLength -= i - start;
+        if (i == end) {
+          break;
+        }
+      }
+      if (processByte(bytes[i])) {
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  /** Same as {@link #processBytes(byte[], int, int)} for chars. */
+  public int processChars(char[] chars, int off, int len) {
+    int end = off + len;
+    int i = off;
+    while (i < end && !isDone()) {
+      if (headTagBytesSeen == 0 && markupStarted) {
+        int limit = scanLimit(i, end);
+        int start = i;
+        while (i < limit && chars[i] != '<') {
+          i++;
+        }
+        remainingScanLength -= i - start;
+        if (i == end) {
+          break;
+        }
+      }
+      if (processByte(chars[i])) {
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  /** Same as {@link #processBytes(byte[], int, int)} for a string. */
+  public int processChars(String s, int off, int len) {
+    int end = off + len;
+    int i = off;
+    while (i < end && !isDone()) {
+      if (headTagBytesSeen == 0 && markupStarted) {
+        int limit = scanLimit(i, end);
+        int start = i;
+        int index = s.indexOf('<', i);
+        i = index < 0 || index > limit ? limit : index;
+        remainingScanLength -= i - start;
+        if (i == end) {
+          break;
+        }
+      }
+      if (processByte(s.charAt(i))) {
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  private int scanLimit(int from, int end) {
+    return end - from > remainingScanLength ? from + (int) remainingScanLength : end;
+  }
+
+  private void skip(int b) {
+    if (!markupStarted && !isIgnorableBeforeMarkup(b)) {
+      // not html markup, e.g. json sent with an html content type
+      headTagBytesSeen = HEAD_TAG_NOT_FOUND_FAKE_VALUE;
+    } else if (--remainingScanLength < 0) {
+      headTagBytesSeen = HEAD_TAG_NOT_FOUND_FAKE_VALUE;
+    }
+  }
+
+  private static boolean isIgnorableBeforeMarkup(int b) {
+    if (Character.isWhitespace(b) || b == '\uFEFF') {
+      return true;
+    }
+    // bytes of the utf-8 byte order mark, which may be passed as signed or unsigned values
+    int unsigned = b & 0xFF;
+    return b <= 0xFF && (unsigned == 0xEF || unsigned == 0xBB || unsigned == 0xBF);
+  }
+
   private boolean inHeadTag(int b) {
     if (headTagBytesSeen == 0 && b == '<') {
       return true;
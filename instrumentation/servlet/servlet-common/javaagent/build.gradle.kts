@@ -1,5 +1,8 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.javaagent-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 // This module is only used as a dependency for other javaagent modules and does not contain any
@@ -7,4 +10,15 @@ plugins {
 
 dependencies {
   compileOnly(project(":instrumentation:servlet:servlet-common:bootstrap"))
+
+  jmhImplementation(project(":instrumentation:servlet:servlet-common:bootstrap"))
+}
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.servlet.snippet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.opentelemetry.javaagent.bootstrap.servlet.InjectionState;
+import io.opentelemetry.javaagent.bootstrap.servlet.SnippetInjectingResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a 1 MB response body in 8 KB chunks through the snippet injection of the servlet output
+ * stream and print writer. The {@code json} body is sent with an html content type, so that it is
+ * scanned as well.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class SnippetInjectionBenchmark {
+
+  private static final int BODY_SIZE = 1024 * 1024;
+  private static final int CHUNK_SIZE = 8 * 1024;
+  private static final String SNIPPET = "<script type=\"text/javascript\">benchmark()</script>";
+
+  @Param({"html", "json"})
+  public String body;
+
+  private final OutputStreamSnippetInjectionHelper helper =
+      new OutputStreamSnippetInjectionHelper(() -> SNIPPET);
+  private final OutputStream outputStream = new NullOutputStream();
+  private final PrintWriter writer = new PrintWriter(new NullWriter());
+  private final SnippetInjectingResponseWrapper wrapper = new TextHtmlResponseWrapper();
+  private byte[] bytes;
+  private char[] chars;
+
+  @Setup
+  public void setup() {
+    StringBuilder sb = new StringBuilder(BODY_SIZE + 1024);
+    if (body.equals("html")) {
+      sb.append("<!DOCTYPE html>\n<html lang=\"en\">\n");
+      sb.append("<head>\n  <title>Benchmark</title>\n</head>\n<body>\n");
+      while (sb.length() < BODY_SIZE) {
+        sb.append("  <div class=\"row\"><span>item</span><a href=\"/items/1\">link</a></div>\n");
+      }
+      sb.append("</body>\n</html>\n");
+    } else {
+      sb.append("[\n");
+      while (sb.length() < BODY_SIZE) {
+        sb.append("  {\"id\": 1, \"name\": \"item\", \"tags\": [\"a\", \"b\"]},\n");
+      }
+      sb.append("  {}\n]\n");
+    }
+    chars = sb.toString().toCharArray();
+    bytes = sb.toString().getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public InjectionState outputStream() throws IOException {
+    InjectionState state = new InjectionState(wrapper);
+    for (int off = 0; off < bytes.length; off += CHUNK_SIZE) {
+      int len = Math.min(CHUNK_SIZE, bytes.length - off);
+      if (!helper.handleWrite(state, outputStream, bytes, off, len)) {
+        outputStream.write(bytes, off, len);
+      }
+    }
+    return state;
+  }
+
+  @Benchmark
+  public PrintWriter printWriter() {
+    SnippetInjectingPrintWriter printWriter =
+        new SnippetInjectingPrintWriter(writer, SNIPPET, wrapper);
+    for (int off = 0; off < chars.length; off += CHUNK_SIZE) {
+      printWriter.write(chars, off, Math.min(CHUNK_SIZE, chars.length - off));
+    }
+    return printWriter;
+  }
+
+  private static class TextHtmlResponseWrapper implements SnippetInjectingResponseWrapper {
+
+    @Override
+    public boolean isContentTypeTextHtml() {
+      return true;
+    }
+
+    @Override
+    public void updateContentLengthIfPreviouslySet() {}
+
+    @Override
+    public boolean isNotSafeToInject() {
+      return false;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+      return UTF_8.name();
+    }
+  }
+
+  private static class NullOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+
+  private static class NullWriter extends Writer {
+
+    @Override
+    public void write(char[] buf, int off, int len) {}
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+}
@@ -13,6 +13,7 @@ dependencies {
   implementation(project(":javaagent-extension-api"))
   implementation(project(":javaagent-tooling:javaagent-tooling-java9"))
   implementation(project(":instrumentation-api"))
+  implementation(project(":instrumentation-api-semconv"))
   implementation(project(":instrumentation-annotations-support"))
   implementation(project(":muzzle"))
 
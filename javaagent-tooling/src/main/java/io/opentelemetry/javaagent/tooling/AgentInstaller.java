@@ -13,6 +13,7 @@ import static java.util.Arrays.asList;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.none;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
@@ -38,6 +39,7 @@ import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
+import io.opentelemetry.javaagent.tooling.ignore.TypeMatcherCache;
 import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
 import io.opentelemetry.javaagent.tooling.util.Trie;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
@@ -268,8 +270,17 @@ public class AgentInstaller {
     Trie<Boolean> ignoredTasksTrie = builder.buildIgnoredTasksTrie();
     InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(ignoredTasksTrie::contains);
 
-    return agentBuilder
-        .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
+    AgentBuilder.Ignored ignored;
+    // classes that didn't match any instrumentation in a previous run skip all other matchers
+    TypeMatcherCache typeMatcherCache = TypeMatcherCache.create(config);
+    if (typeMatcherCache != null) {
+      ignored = agentBuilder.with(typeMatcherCache.listener()).ignore(typeMatcherCache);
+    } else {
+      ignored = agentBuilder.ignore(none());
+    }
+
+    return ignored
+        .or(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
         .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
         .or((typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
           return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
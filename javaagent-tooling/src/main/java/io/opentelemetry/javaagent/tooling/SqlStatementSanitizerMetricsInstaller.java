@@ -0,0 +1,30 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.instrumentation.api.db.internal.SqlStatementSanitizerMetrics;
+import io.opentelemetry.javaagent.extension.AgentListener;
+import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
+import io.opentelemetry.sdk.autoconfigure.internal.AutoConfigureUtil;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+
+/**
+ * An {@link AgentListener} that exports the lookup, miss and eviction counts of the SQL statement
+ * sanitizer cache as metrics, when enabled.
+ */
+@AutoService(AgentListener.class)
+public class SqlStatementSanitizerMetricsInstaller implements AgentListener {
+
+  @Override
+  public void afterAgent(AutoConfiguredOpenTelemetrySdk autoConfiguredSdk) {
+    ConfigProperties config = AutoConfigureUtil.getConfig(autoConfiguredSdk);
+    if (config.getBoolean(
+        "otel.instrumentation.common.db-statement-sanitizer.cache.metrics.enabled", false)) {
+      SqlStatementSanitizerMetrics.registerObservers(autoConfiguredSdk.getOpenTelemetrySdk());
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.javaagent.tooling.muzzle.AgentCachingPoolStrategy;
+import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the name and super type prefilter that decides which transformations are evaluated
+ * for a class, see {@code net.bytebuddy.agent.builder.AgentBuilderUtil}, and of the type pool cache
+ * used by the type matchers, see {@link AgentCachingPoolStrategy}.
+ */
+public final class TypeMatchingMetrics {
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.javaagent.type-matching";
+
+  private static final LongAdder prefilterRejects = new LongAdder();
+  private static final LongAdder prefilterPasses = new LongAdder();
+
+  /** Only the transformations whose matchers could not be decomposed are evaluated. */
+  public static void recordPrefilterReject() {
+    prefilterRejects.increment();
+  }
+
+  /** All transformations are evaluated. */
+  public static void recordPrefilterPass() {
+    prefilterPasses.increment();
+  }
+
+  /** Registers observable counters reporting the prefilter and type pool cache statistics. */
+  public static void registerObservers(OpenTelemetry openTelemetry) {
+    Meter meter = openTelemetry.getMeter(INSTRUMENTATION_NAME);
+    meter
+        .counterBuilder("otel.javaagent.type_matching.prefilter.rejected")
+        .setUnit("{classes}")
+        .setDescription(
+            "Number of classes that skipped all type matchers the prefilter knows about.")
+        .buildWithCallback(measurement -> measurement.record(prefilterRejects.sum()));
+    meter
+        .counterBuilder("otel.javaagent.type_matching.prefilter.passed")
+        .setUnit("{classes}")
+        .setDescription("Number of classes for which all type matchers were evaluated.")
+        .buildWithCallback(measurement -> measurement.record(prefilterPasses.sum()));
+
+    if (!(AgentTooling.poolStrategy() instanceof AgentCachingPoolStrategy)) {
+      return;
+    }
+    AgentCachingPoolStrategy poolStrategy = (AgentCachingPoolStrategy) AgentTooling.poolStrategy();
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.hits")
+        .setUnit("{lookups}")
+        .setDescription("Number of type resolutions found in the type pool cache.")
+        .buildWithCallback(measurement -> measurement.record(poolStrategy.getCacheHits()));
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.misses")
+        .setUnit("{lookups}")
+        .setDescription("Number of type resolutions not found in the type pool cache.")
+        .buildWithCallback(measurement -> measurement.record(poolStrategy.getCacheMisses()));
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.evictions")
+        .setUnit("{entries}")
+        .setDescription(
+            "Number of type resolutions evicted because their class loader exceeded its quota.")
+        .buildWithCallback(measurement -> measurement.record(poolStrategy.getCacheEvictions()));
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.capacity_evictions")
+        .setUnit("{entries}")
+        .setDescription(
+            "Number of type resolutions evicted because the total capacity was exceeded.")
+        .buildWithCallback(
+            measurement -> measurement.record(poolStrategy.getCacheCapacityEvictions()));
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.dropped_partitions")
+        .setUnit("{class_loaders}")
+        .setDescription(
+            "Number of collected class loaders whose cached type resolutions were dropped.")
+        .buildWithCallback(measurement -> measurement.record(poolStrategy.getDroppedPartitions()));
+    meter
+        .upDownCounterBuilder("otel.javaagent.type_pool.cache.size")
+        .setUnit("{entries}")
+        .setDescription("Number of type resolutions in the type pool cache.")
+        .buildWithCallback(measurement -> measurement.record(poolStrategy.getCachedTypes()));
+  }
+
+  private TypeMatchingMetrics() {}
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.javaagent.extension.AgentListener;
+import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
+import io.opentelemetry.sdk.autoconfigure.internal.AutoConfigureUtil;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+
+/**
+ * An {@link AgentListener} that exports the number of classes accepted and rejected by the type
+ * matching prefilter, and the type pool cache statistics as metrics, when enabled.
+ */
+@AutoService(AgentListener.class)
+public class TypeMatchingMetricsInstaller implements AgentListener {
+
+  @Override
+  public void afterAgent(AutoConfiguredOpenTelemetrySdk autoConfiguredSdk) {
+    ConfigProperties config = AutoConfigureUtil.getConfig(autoConfiguredSdk);
+    if (config.getBoolean("otel.javaagent.experimental.type-matching.metrics.enabled", false)) {
+      TypeMatchingMetrics.registerObservers(autoConfiguredSdk.getOpenTelemetrySdk());
+    }
+  }
+}
@@ -77,6 +77,9 @@ public class GlobalIgnoredTypesConfigurer implements IgnoredTypesConfigurer {
         // when SecurityManager is enabled. ClassLoader$1 is used in ClassLoader.checkPackageAccess
         .ignoreClass("java.lang.ClassLoader$")
         .allowClass("java.lang.invoke.InnerClassLambdaMetafactory")
+        // virtual threads carry the context from start() into the task, see the executors module
+        .allowClass("java.lang.VirtualThread")
+        .ignoreClass("java.lang.VirtualThread$")
         // Concurrent instrumentation modifies the structure of
         // Cleaner class incompatibly with java9+ modules.
         // Working around until a long-term fix for modules can be
@@ -149,6 +152,12 @@ public class GlobalIgnoredTypesConfigurer implements IgnoredTypesConfigurer {
     // we should not propagate onto this management thread.
     builder.ignoreTaskClass("java.util.concurrent.ThreadPoolExecutor$Worker");
 
+    // The continuation that mounts a virtual thread on its carrier thread is submitted to the
+    // scheduler on start and on every unpark, from whatever thread happens to unpark it. The
+    // virtual thread gets its context when it is started, propagating onto the carrier thread
+    // would only leak the context of the unparking thread.
+    builder.ignoreTaskClass("java.lang.VirtualThread$");
+
     // TODO Workaround for
     // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/787
     builder.ignoreTaskClass("org.apache.tomcat.util.net.NioEndpoint$SocketProcessor");
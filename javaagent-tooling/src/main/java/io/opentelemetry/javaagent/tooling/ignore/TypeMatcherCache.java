@@ -0,0 +1,463 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Remembers, across restarts, which classes were not transformed by any instrumentation, so that
+ * on the next start all type and class loader matchers can be skipped for them. Only classes loaded
+ * from jar files are cached: the entries of a jar are keyed by its location, size and modification
+ * time, together with a fingerprint of all jars visible to the class loader that loads it. Class
+ * loader matchers (e.g. {@code hasClassesNamed()} or muzzle) depend on what else the loader sees,
+ * so a jar in {@code WEB-INF/lib} is cached separately for every set of libraries deployed next to
+ * it. Classes of loaders whose class path can't be determined (anything that isn't a {@link
+ * URLClassLoader} over jar files, e.g. OSGi bundles) are never cached. The whole cache is discarded
+ * when the agent, its configuration or the application class path changes, since all of them
+ * affect the outcome of the matchers.
+ *
+ * <p>Used as the first ignore matcher of the agent: it ignores the classes that are known to not
+ * match anything and records the outcome of matching for all others, the recorded results are
+ * written when the JVM shuts down.
+ */
+public final class TypeMatcherCache implements AgentBuilder.RawMatcher {
+
+  private static final Logger logger = Logger.getLogger(TypeMatcherCache.class.getName());
+
+  static final String CACHE_DIRECTORY_CONFIG =
+      "otel.javaagent.experimental.type-matcher-cache.directory";
+
+  private static final String NOT_CACHEABLE = "";
+  // the class path of the system class loader and its parents is part of the fingerprint
+  private static final String SYSTEM_CLASS_PATH = "system";
+
+  // code source -> cache key, or NOT_CACHEABLE
+  private final Cache<CodeSource, String> codeSourceKeys = Cache.weak();
+  // class loader -> fingerprint of the jars it sees
+  private final Cache<ClassLoader, ClassLoaderKey> classLoaderKeys = Cache.weak();
+  // the type whose matching is currently in progress on this thread
+  private final ThreadLocal<PendingType> pendingType = new ThreadLocal<>();
+
+  private final Path cacheFile;
+  private final String fingerprint;
+  // cache key -> class names that did not match anything in a previous run
+  private final Map<String, Set<String>> knownNegatives;
+  private final Map<String, Set<String>> negatives = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> positives = new ConcurrentHashMap<>();
+
+  /** Returns {@code null} when the cache is not enabled. */
+  @Nullable
+  public static TypeMatcherCache create(ConfigProperties config) {
+    String directory = config.getString(CACHE_DIRECTORY_CONFIG);
+    if (directory == null || directory.isEmpty()) {
+      return null;
+    }
+    String fingerprint = fingerprint(config);
+    Path cacheFile =
+        Paths.get(directory)
+            .resolve("type-matcher-cache-" + Integer.toHexString(fingerprint.hashCode()) + ".txt");
+    TypeMatcherCache cache = new TypeMatcherCache(cacheFile, fingerprint);
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(cache::save, "otel-javaagent-type-matcher-cache"));
+    return cache;
+  }
+
+  TypeMatcherCache(Path cacheFile, String fingerprint) {
+    this.cacheFile = cacheFile;
+    this.fingerprint = fingerprint;
+    this.knownNegatives = load(cacheFile, fingerprint);
+  }
+
+  /** Returns the listener that records the outcome of matching. */
+  public AgentBuilder.Listener listener() {
+    return new RecordingListener();
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      ClassLoader classLoader,
+      JavaModule module,
+      Class<?> classBeingRedefined,
+      ProtectionDomain protectionDomain) {
+    if (classLoader == null || protectionDomain == null) {
+      return false;
+    }
+    CodeSource codeSource = protectionDomain.getCodeSource();
+    if (codeSource == null) {
+      return false;
+    }
+    String codeSourceKey =
+        codeSourceKeys.computeIfAbsent(codeSource, TypeMatcherCache::codeSourceKey);
+    if (codeSourceKey.isEmpty()) {
+      return false;
+    }
+    ClassLoaderKey classLoaderKey = classLoaderKeys.get(classLoader);
+    if (classLoaderKey == null) {
+      classLoaderKey = newClassLoaderKey(classLoader);
+    }
+    if (classLoaderKey.key.isEmpty()) {
+      return false;
+    }
+    String key = codeSourceKey + '|' + classLoaderKey.key;
+    String name = typeDescription.getName();
+    if (isKnownNegative(key, name)) {
+      // URLs can be added to a loader after it was created, e.g. by web servers. getURLs() copies
+      // the URL array, so the count is only compared before the matchers are skipped; a result
+      // recorded under an outdated key is only found again for a loader seeing the same jars
+      if (classLoaderKey.urlCount == urlCount(classLoader)) {
+        return true;
+      }
+      classLoaderKey = newClassLoaderKey(classLoader);
+      if (classLoaderKey.key.isEmpty()) {
+        return false;
+      }
+      key = codeSourceKey + '|' + classLoaderKey.key;
+      if (isKnownNegative(key, name)) {
+        return true;
+      }
+    }
+    // lambdas get a new name in every run
+    if (!name.contains("$$Lambda")) {
+      pendingType.set(new PendingType(name, key));
+    }
+    return false;
+  }
+
+  private boolean isKnownNegative(String key, String name) {
+    Set<String> knownNegativeNames = knownNegatives.get(key);
+    return knownNegativeNames != null && knownNegativeNames.contains(name);
+  }
+
+  private ClassLoaderKey newClassLoaderKey(ClassLoader classLoader) {
+    ClassLoaderKey key =
+        new ClassLoaderKey(urlCount(classLoader), classLoaderKey(classLoader, systemClassLoader()));
+    classLoaderKeys.put(classLoader, key);
+    return key;
+  }
+
+  private static int urlCount(ClassLoader classLoader) {
+    return classLoader instanceof URLClassLoader
+        ? ((URLClassLoader) classLoader).getURLs().length
+        : -1;
+  }
+
+  @Nullable
+  private static ClassLoader systemClassLoader() {
+    try {
+      return ClassLoader.getSystemClassLoader();
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a digest of all jars visible to {@code classLoader} and its parents up to the system
+   * class loader, or {@link #NOT_CACHEABLE} if any of them can't be determined.
+   */
+  static String classLoaderKey(ClassLoader classLoader, @Nullable ClassLoader systemClassLoader) {
+    StringBuilder sb = new StringBuilder();
+    for (ClassLoader loader = classLoader;
+        !isSystemClassLoaderOrParent(loader, systemClassLoader);
+        loader = loader.getParent()) {
+      if (!(loader instanceof URLClassLoader)) {
+        return NOT_CACHEABLE;
+      }
+      for (URL url : ((URLClassLoader) loader).getURLs()) {
+        String location = url.toString();
+        File jarFile = jarFile(location);
+        if (jarFile == null) {
+          return NOT_CACHEABLE;
+        }
+        sb.append(fileKey(location, jarFile)).append(';');
+      }
+      sb.append('/');
+    }
+    if (sb.length() == 0) {
+      return SYSTEM_CLASS_PATH;
+    }
+    return digest(sb.toString());
+  }
+
+  private static boolean isSystemClassLoaderOrParent(
+      @Nullable ClassLoader classLoader, @Nullable ClassLoader systemClassLoader) {
+    if (classLoader == null) {
+      return true;
+    }
+    for (ClassLoader loader = systemClassLoader; loader != null; loader = loader.getParent()) {
+      if (loader == classLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String digest(String value) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      return NOT_CACHEABLE;
+    }
+    StringBuilder sb = new StringBuilder();
+    for (byte b : digest.digest(value.getBytes(UTF_8))) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
+  private void record(Map<String, Set<String>> results, String typeName) {
+    PendingType pending = pendingType.get();
+    // a class loaded while matching another one replaces the pending type, the outer class just
+    // isn't recorded then
+    if (pending != null && pending.name.equals(typeName)) {
+      results
+          .computeIfAbsent(pending.cacheKey, k -> ConcurrentHashMap.newKeySet())
+          .add(pending.name);
+    }
+  }
+
+  void save() {
+    Map<String, Set<String>> result = new TreeMap<>();
+    merge(result, knownNegatives);
+    merge(result, negatives);
+    for (Map.Entry<String, Set<String>> entry : positives.entrySet()) {
+      Set<String> names = result.get(entry.getKey());
+      if (names != null) {
+        names.removeAll(entry.getValue());
+      }
+    }
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tempFile = Files.createTempFile(cacheFile.getParent(), "type-matcher-cache", ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+        writer.write(fingerprint);
+        writer.newLine();
+        for (Map.Entry<String, Set<String>> entry : result.entrySet()) {
+          if (entry.getValue().isEmpty()) {
+            continue;
+          }
+          writer.write(entry.getKey());
+          writer.newLine();
+          for (String name : entry.getValue()) {
+            writer.write('\t');
+            writer.write(name);
+            writer.newLine();
+          }
+        }
+      }
+      Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to write type matcher cache " + cacheFile, e);
+    }
+  }
+
+  private static void merge(Map<String, Set<String>> target, Map<String, Set<String>> source) {
+    for (Map.Entry<String, Set<String>> entry : source.entrySet()) {
+      target.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+    }
+  }
+
+  private static Map<String, Set<String>> load(Path cacheFile, String fingerprint) {
+    Map<String, Set<String>> result = new HashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(cacheFile, UTF_8)) {
+      if (!fingerprint.equals(reader.readLine())) {
+        return Collections.emptyMap();
+      }
+      Set<String> names = null;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("\t")) {
+          if (names != null) {
+            names.add(line.substring(1));
+          }
+        } else {
+          names = result.computeIfAbsent(line, k -> new HashSet<>());
+        }
+      }
+    } catch (NoSuchFileException e) {
+      return Collections.emptyMap();
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to read type matcher cache " + cacheFile, e);
+      return Collections.emptyMap();
+    }
+    logger.log(FINE, "Loaded type matcher cache {0}", cacheFile);
+    return result;
+  }
+
+  /**
+   * Returns a key that changes whenever the jar the code source points to changes, or {@link
+   * #NOT_CACHEABLE}. Class directories change on every build and are not cached.
+   */
+  static String codeSourceKey(CodeSource codeSource) {
+    URL location = codeSource.getLocation();
+    if (location == null) {
+      return NOT_CACHEABLE;
+    }
+    String url = location.toString();
+    File jarFile = jarFile(url);
+    if (jarFile == null) {
+      return NOT_CACHEABLE;
+    }
+    return fileKey(url, jarFile);
+  }
+
+  private static String fileKey(String name, File file) {
+    return name + '|' + file.length() + '|' + file.lastModified();
+  }
+
+  /**
+   * Returns the outermost jar file of {@code file:/app.jar}, {@code jar:file:/app.jar!/lib/x.jar!/}
+   * or {@code nested:/app.jar/!lib/x.jar} style locations.
+   */
+  @Nullable
+  static File jarFile(String url) {
+    String path = url;
+    if (path.startsWith("jar:")) {
+      path = path.substring("jar:".length());
+    }
+    int separator = path.indexOf('!');
+    if (separator != -1) {
+      path = path.substring(0, separator);
+    }
+    if (path.endsWith("/")) {
+      path = path.substring(0, path.length() - 1);
+    }
+    if (path.startsWith("nested:")) {
+      path = "file:" + path.substring("nested:".length());
+    }
+    if (!path.startsWith("file:") || !path.endsWith(".jar")) {
+      return null;
+    }
+    try {
+      File file = new File(new URI(path));
+      return file.isFile() ? file : null;
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String fingerprint(ConfigProperties config) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(AgentVersion.VERSION).append(';');
+    sb.append(System.getProperty("java.version")).append(';');
+    CodeSource agentCodeSource = TypeMatcherCache.class.getProtectionDomain().getCodeSource();
+    if (agentCodeSource != null) {
+      sb.append(codeSourceKey(agentCodeSource)).append(';');
+    }
+    String classPath = System.getProperty("java.class.path", "");
+    for (String entry : classPath.split(File.pathSeparator)) {
+      File file = new File(entry);
+      sb.append(fileKey(entry, file)).append(';');
+    }
+    // everything that configures the agent, e.g. which instrumentations are enabled
+    Map<String, String> agentConfig = new TreeMap<>();
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (name.startsWith("otel.")) {
+        agentConfig.put(name, System.getProperty(name));
+      }
+    }
+    for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+      if (entry.getKey().startsWith("OTEL_")) {
+        agentConfig.put(entry.getKey(), entry.getValue());
+      }
+    }
+    sb.append(agentConfig).append(';');
+    String configurationFile = config.getString("otel.javaagent.configuration-file");
+    if (configurationFile != null) {
+      sb.append(fileKey(configurationFile, new File(configurationFile)));
+    }
+    // the fingerprint is the first line of the cache file
+    return sb.toString().replace('\n', ' ').replace('\r', ' ');
+  }
+
+  private static final class ClassLoaderKey {
+    final int urlCount;
+    final String key;
+
+    ClassLoaderKey(int urlCount, String key) {
+      this.urlCount = urlCount;
+      this.key = key;
+    }
+  }
+
+  private static final class PendingType {
+    final String name;
+    final String cacheKey;
+
+    PendingType(String name, String cacheKey) {
+      this.name = name;
+      this.cacheKey = cacheKey;
+    }
+  }
+
+  private final class RecordingListener extends AgentBuilder.Listener.Adapter {
+
+    @Override
+    public void onIgnored(
+        TypeDescription typeDescription,
+        ClassLoader classLoader,
+        JavaModule module,
+        boolean loaded) {
+      record(negatives, typeDescription.getName());
+    }
+
+    @Override
+    public void onTransformation(
+        TypeDescription typeDescription,
+        ClassLoader classLoader,
+        JavaModule module,
+        boolean loaded,
+        DynamicType dynamicType) {
+      record(positives, typeDescription.getName());
+    }
+
+    @Override
+    public void onComplete(
+        String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+      PendingType pending = pendingType.get();
+      if (pending != null && pending.name.equals(typeName)) {
+        pendingType.remove();
+      }
+    }
+  }
+}
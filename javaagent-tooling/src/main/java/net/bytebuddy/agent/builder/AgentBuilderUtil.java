@@ -10,6 +10,8 @@ import static java.util.logging.Level.FINE;
 import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
 import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingSuperTypeMatcher;
 import io.opentelemetry.javaagent.tooling.DefineClassHandler;
+import io.opentelemetry.javaagent.tooling.TypeMatchingMetrics;
+import io.opentelemetry.javaagent.tooling.util.Trie;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
@@ -45,6 +47,8 @@ public class AgentBuilderUtil {
   private static final Field erasureMatcherField = getField(ErasureMatcher.class, "matcher");
   private static final Field conjunctionMatchersField =
       getField(ElementMatcher.Junction.Conjunction.class, "matchers");
+  private static final Field disjunctionMatchersField =
+      getField(ElementMatcher.Junction.Disjunction.class, "matchers");
   private static final Field stringMatcherValueField = getField(StringMatcher.class, "value");
   private static final Field stringMatcherModeField = getField(StringMatcher.class, "mode");
   private static final Field stringSetMatcherValuesField =
@@ -68,10 +72,7 @@ public class AgentBuilderUtil {
   }
 
   private static void optimize(AgentBuilder.Default agentBuilder) throws Exception {
-    // class names that have a matcher that matches by name
-    Set<String> classNames = new HashSet<>();
-    // class names that have a matcher that matches subtypes
-    Set<String> superTypeNames = new HashSet<>();
+    List<Result> results = new ArrayList<>();
     List<Transformation> unoptimizedTransformations = new ArrayList<>();
     List<Transformation> transformations = agentBuilder.transformations;
     for (Transformation transformation : transformations) {
@@ -81,12 +82,11 @@ public class AgentBuilderUtil {
       if (result == null) {
         // we were not able to decompose the matcher
         unoptimizedTransformations.add(transformation);
-      } else if (result.subtype) {
-        superTypeNames.addAll(result.names);
       } else {
-        classNames.addAll(result.names);
+        results.add(result);
       }
     }
+    Prefilter prefilter = new Prefilter(results);
 
     List<?> list = (List<?>) Proxy.newProxyInstance(AgentBuilderUtil.class.getClassLoader(),
                 new Class<?>[] {List.class}, (proxy, method, args) -> {
@@ -94,28 +94,33 @@ public class AgentBuilderUtil {
                   // iterator() is the only method we expect to be called on this List
                   if (name != null && "iterator".equals(method.getName())) {
                     // we know that this class is going to be transformed
-                    if (classNames.contains(name) || superTypeNames.contains(name)) {
+                    if (prefilter.matchesName(name)) {
+                      TypeMatchingMetrics.recordPrefilterPass();
                       return transformations.iterator();
                     }
                     // we already know that loading this class is going to fail, no need to
                     // transform it
                     if (DefineClassHandler.isFailedClass(name)) {
+                      TypeMatchingMetrics.recordPrefilterReject();
                       return Collections.emptyIterator();
                     }
                     Set<String> loadingSuperTypes = DefineClassHandler.getSuperTypes();
                     // super types set should contain at least java.lang.Object if this set is
                     // empty something unexpected has happened, run all transformations
                     if (loadingSuperTypes.isEmpty()) {
+                      TypeMatchingMetrics.recordPrefilterPass();
                       return transformations.iterator();
                     }
                     for (String className : loadingSuperTypes) {
                       // we know that this class is going to be transformed
-                      if (superTypeNames.contains(className)) {
+                      if (prefilter.matchesSuperType(className)) {
+                        TypeMatchingMetrics.recordPrefilterPass();
                         return transformations.iterator();
                       }
                     }
 
                     // apply only the transformations that we can't decompose
+                    TypeMatchingMetrics.recordPrefilterReject();
                     return unoptimizedTransformations.iterator();
                   }
 
@@ -125,8 +130,9 @@ public class AgentBuilderUtil {
     agentBuilderTransformationsField.set(agentBuilder, list);
   }
 
+  // visible for testing
   @Nullable
-  private static Result inspect(AgentBuilder.RawMatcher matcher) throws Exception {
+  static Result inspect(AgentBuilder.RawMatcher matcher) throws Exception {
     if (matcher instanceof AgentBuilder.RawMatcher.Conjunction) {
       List<AgentBuilder.RawMatcher> matchers = getDelegateMatchers(matcher);
       if (!matchers.isEmpty()) {
@@ -168,6 +174,18 @@ public class AgentBuilderUtil {
           return result;
         }
       }
+    } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+      // a disjunction can only be decomposed when all of its parts can be
+      List<ElementMatcher<?>> matchers =
+          getDelegateMatchers((ElementMatcher.Junction.Disjunction<?>) matcher);
+      Result combined = null;
+      for (ElementMatcher<?> elementMatcher : matchers) {
+        combined = Result.union(combined, inspect(elementMatcher));
+        if (combined == null) {
+          return null;
+        }
+      }
+      return combined;
     }
 
     return null;
@@ -177,8 +195,14 @@ public class AgentBuilderUtil {
   private static Result inspectNameMatcher(NameMatcher<?> nameMatcher) throws Exception {
     ElementMatcher<?> matcher = getDelegateMatcher(nameMatcher);
     if (matcher instanceof StringMatcher) {
-      String value = getStringMatcherValue((StringMatcher) matcher);
-      return Result.named(value);
+      StringMatcher stringMatcher = (StringMatcher) matcher;
+      StringMatcher.Mode mode = getStringMatcherMode(stringMatcher);
+      if (mode == StringMatcher.Mode.EQUALS_FULLY) {
+        return Result.named(getStringMatcherValue(stringMatcher));
+      } else if (mode == StringMatcher.Mode.STARTS_WITH) {
+        return Result.prefixed(getStringMatcherValue(stringMatcher));
+      }
+      return null;
     } else if (matcher instanceof StringSetMatcher) {
       Set<String> value = getStringSetMatcherValue((StringSetMatcher) matcher);
       return Result.named(value);
@@ -187,8 +211,56 @@ public class AgentBuilderUtil {
     return null;
   }
 
-  private static class Result {
+  /** The class names and name prefixes of all transformations that could be decomposed. */
+  // visible for testing
+  static final class Prefilter {
+    // class names that have a matcher that matches by name
+    private final Set<String> classNames = new HashSet<>();
+    // class names that have a matcher that matches subtypes
+    private final Set<String> superTypeNames = new HashSet<>();
+    // class name prefixes that have a matcher that matches by name, or that matches subtypes
+    private final Trie<Boolean> classNamePrefixes;
+    private final Trie<Boolean> superTypeNamePrefixes;
+
+    Prefilter(List<Result> results) {
+      Trie.Builder<Boolean> classNamePrefixesBuilder = Trie.builder();
+      Trie.Builder<Boolean> superTypeNamePrefixesBuilder = Trie.builder();
+      for (Result result : results) {
+        if (result.subtype) {
+          superTypeNames.addAll(result.names);
+          for (String prefix : result.prefixes) {
+            superTypeNamePrefixesBuilder.put(prefix, Boolean.TRUE);
+          }
+        } else {
+          classNames.addAll(result.names);
+          for (String prefix : result.prefixes) {
+            classNamePrefixesBuilder.put(prefix, Boolean.TRUE);
+          }
+        }
+      }
+      classNamePrefixes = classNamePrefixesBuilder.build();
+      superTypeNamePrefixes = superTypeNamePrefixesBuilder.build();
+    }
+
+    /** Returns true if some transformation may apply to the class with the given name. */
+    boolean matchesName(String className) {
+      return classNames.contains(className)
+          || superTypeNames.contains(className)
+          || classNamePrefixes.contains(className)
+          || superTypeNamePrefixes.contains(className);
+    }
+
+    /** Returns true if some transformation may apply to subtypes of the given class. */
+    boolean matchesSuperType(String superTypeName) {
+      return superTypeNames.contains(superTypeName)
+          || superTypeNamePrefixes.contains(superTypeName);
+    }
+  }
+
+  // visible for testing
+  static class Result {
     final Set<String> names = new HashSet<>();
+    final Set<String> prefixes = new HashSet<>();
     // true if matcher matches based on type hierarchy
     // false if matcher matches based on type name
     final boolean subtype;
@@ -209,6 +281,38 @@ public class AgentBuilderUtil {
 
       Result result = new Result(true);
       result.names.addAll(value.names);
+      result.prefixes.addAll(value.prefixes);
+      return result;
+    }
+
+    @Nullable
+    static Result prefixed(String value) {
+      // an empty prefix would match every class
+      if (value.isEmpty()) {
+        return null;
+      }
+      Result result = new Result();
+      result.prefixes.add(value);
+      return result;
+    }
+
+    /**
+     * Returns a result that matches everything that either of the results matches, or null when
+     * one of them can't be decomposed, or they don't match the same way.
+     */
+    @Nullable
+    static Result union(@Nullable Result first, @Nullable Result second) {
+      if (first == null) {
+        return second;
+      }
+      if (second == null || first.subtype != second.subtype) {
+        return null;
+      }
+      Result result = new Result(first.subtype);
+      result.names.addAll(first.names);
+      result.names.addAll(second.names);
+      result.prefixes.addAll(first.prefixes);
+      result.prefixes.addAll(second.prefixes);
       return result;
     }
 
@@ -234,7 +338,7 @@ public class AgentBuilderUtil {
 
     @Override
     public String toString() {
-      return (subtype ? "subtype of " : "named ") + names;
+      return (subtype ? "subtype of " : "named ") + names + " or prefixed with " + prefixes;
     }
   }
 
@@ -268,15 +372,18 @@ public class AgentBuilderUtil {
     return (List<ElementMatcher<?>>) conjunctionMatchersField.get(matcher);
   }
 
-  /**
-   * @return the value given string matcher matches when matcher mode is
-   *     StringMatcher.Mode.EQUALS_FULLY, null otherwise
-   */
-  @Nullable
+  @SuppressWarnings("unchecked")
+  private static List<ElementMatcher<?>> getDelegateMatchers(
+      ElementMatcher.Junction.Disjunction<?> matcher) throws Exception {
+    return (List<ElementMatcher<?>>) disjunctionMatchersField.get(matcher);
+  }
+
   private static String getStringMatcherValue(StringMatcher matcher) throws Exception {
-    String value = (String) stringMatcherValueField.get(matcher);
-    StringMatcher.Mode mode = (StringMatcher.Mode) stringMatcherModeField.get(matcher);
-    return mode == StringMatcher.Mode.EQUALS_FULLY ? value : null;
+    return (String) stringMatcherValueField.get(matcher);
+  }
+
+  private static StringMatcher.Mode getStringMatcherMode(StringMatcher matcher) throws Exception {
+    return (StringMatcher.Mode) stringMatcherModeField.get(matcher);
   }
 
   @SuppressWarnings("unchecked")
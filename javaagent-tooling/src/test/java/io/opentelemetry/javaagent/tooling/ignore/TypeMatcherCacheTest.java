@@ -0,0 +1,181 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TypeMatcherCacheTest {
+
+  private static final TypeDescription IGNORED_TYPE =
+      TypeDescription.ForLoadedType.of(TypeMatcherCacheTest.class);
+  private static final TypeDescription TRANSFORMED_TYPE =
+      TypeDescription.ForLoadedType.of(TypeMatcherCache.class);
+
+  @TempDir Path tempDir;
+
+  Path cacheFile;
+  ProtectionDomain jarDomain;
+  URL jarUrl;
+  URL libraryUrl;
+  ClassLoader classLoader;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cacheFile = tempDir.resolve("cache").resolve("type-matcher-cache.txt");
+    jarUrl = Files.write(tempDir.resolve("app.jar"), new byte[] {1, 2, 3}).toUri().toURL();
+    libraryUrl = Files.write(tempDir.resolve("library.jar"), new byte[] {4}).toUri().toURL();
+    jarDomain = new ProtectionDomain(new CodeSource(jarUrl, (Certificate[]) null), null);
+    classLoader = new URLClassLoader(new URL[] {jarUrl}, null);
+  }
+
+  @Test
+  void shouldSkipTypesThatDidNotMatchInPreviousRun() {
+    TypeMatcherCache firstRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    assertThat(match(firstRun, IGNORED_TYPE, jarDomain)).isFalse();
+    assertThat(match(firstRun, TRANSFORMED_TYPE, jarDomain)).isFalse();
+    firstRun.save();
+
+    TypeMatcherCache secondRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain)).isTrue();
+    assertThat(match(secondRun, TRANSFORMED_TYPE, jarDomain)).isFalse();
+  }
+
+  @Test
+  void shouldDiscardCacheWhenFingerprintChanges() {
+    TypeMatcherCache firstRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    match(firstRun, IGNORED_TYPE, jarDomain);
+    firstRun.save();
+
+    TypeMatcherCache secondRun = new TypeMatcherCache(cacheFile, "other fingerprint");
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain)).isFalse();
+  }
+
+  @Test
+  void shouldNotCacheClassDirectories() throws Exception {
+    ProtectionDomain directoryDomain =
+        new ProtectionDomain(
+            new CodeSource(tempDir.toUri().toURL(), (Certificate[]) null), null);
+    TypeMatcherCache firstRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    match(firstRun, IGNORED_TYPE, directoryDomain);
+    firstRun.save();
+
+    TypeMatcherCache secondRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    assertThat(match(secondRun, IGNORED_TYPE, directoryDomain)).isFalse();
+  }
+
+  @Test
+  void shouldNotSkipTypesWhenClassLoaderSeesOtherJars() {
+    TypeMatcherCache firstRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    match(firstRun, IGNORED_TYPE, jarDomain);
+    firstRun.save();
+
+    // e.g. the same jar deployed in another web application, next to a library that is instrumented
+    ClassLoader otherClassLoader = new URLClassLoader(new URL[] {jarUrl, libraryUrl}, null);
+    TypeMatcherCache secondRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain, otherClassLoader)).isFalse();
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain)).isTrue();
+  }
+
+  @Test
+  void shouldNotSkipTypesAfterUrlsWereAdded() {
+    TypeMatcherCache firstRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    match(firstRun, IGNORED_TYPE, jarDomain);
+    firstRun.save();
+
+    ExtensibleClassLoader extensibleClassLoader = new ExtensibleClassLoader(jarUrl);
+    TypeMatcherCache secondRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain, extensibleClassLoader)).isTrue();
+
+    // e.g. a web server adding the libraries of an application after creating its class loader
+    extensibleClassLoader.addURL(libraryUrl);
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain, extensibleClassLoader)).isFalse();
+  }
+
+  @Test
+  void shouldNotCacheWhenClassPathIsUnknown() {
+    ClassLoader opaqueClassLoader = new ClassLoader(null) {};
+    TypeMatcherCache firstRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    match(firstRun, IGNORED_TYPE, jarDomain, opaqueClassLoader);
+    firstRun.save();
+
+    TypeMatcherCache secondRun = new TypeMatcherCache(cacheFile, "fingerprint");
+    assertThat(match(secondRun, IGNORED_TYPE, jarDomain, opaqueClassLoader)).isFalse();
+  }
+
+  @Test
+  void shouldIncludeParentsInClassLoaderKey() {
+    ClassLoader parent = new URLClassLoader(new URL[] {libraryUrl}, null);
+    ClassLoader child = new URLClassLoader(new URL[] {jarUrl}, parent);
+
+    assertThat(TypeMatcherCache.classLoaderKey(child, null))
+        .isNotEmpty()
+        .isNotEqualTo(TypeMatcherCache.classLoaderKey(classLoader, null));
+    assertThat(TypeMatcherCache.classLoaderKey(child, parent))
+        .isEqualTo(TypeMatcherCache.classLoaderKey(classLoader, null));
+    assertThat(TypeMatcherCache.classLoaderKey(parent, parent)).isEqualTo("system");
+  }
+
+  @Test
+  void shouldResolveOutermostJar() throws Exception {
+    File jar = tempDir.resolve("app.jar").toFile();
+    String url = jar.toURI().toString();
+
+    assertThat(TypeMatcherCache.jarFile(url)).isEqualTo(jar);
+    assertThat(TypeMatcherCache.jarFile("jar:" + url + "!/BOOT-INF/lib/lib.jar!/")).isEqualTo(jar);
+    assertThat(TypeMatcherCache.jarFile("nested:" + jar.getPath() + "/!BOOT-INF/lib/lib.jar"))
+        .isEqualTo(jar);
+    assertThat(TypeMatcherCache.jarFile(tempDir.toUri().toString())).isNull();
+    assertThat(TypeMatcherCache.jarFile("http://example.com/app.jar")).isNull();
+  }
+
+  /** Simulates the agent matching a type, only TRANSFORMED_TYPE is transformed. */
+  private boolean match(
+      TypeMatcherCache cache, TypeDescription type, ProtectionDomain protectionDomain) {
+    return match(cache, type, protectionDomain, classLoader);
+  }
+
+  private static boolean match(
+      TypeMatcherCache cache,
+      TypeDescription type,
+      ProtectionDomain protectionDomain,
+      ClassLoader classLoader) {
+    AgentBuilder.Listener listener = cache.listener();
+    boolean ignored = cache.matches(type, classLoader, null, null, protectionDomain);
+    if (!ignored && type == TRANSFORMED_TYPE) {
+      listener.onTransformation(type, classLoader, null, false, null);
+    } else {
+      listener.onIgnored(type, classLoader, null, false);
+    }
+    listener.onComplete(type.getName(), classLoader, null, false);
+    return ignored;
+  }
+
+  private static class ExtensibleClassLoader extends URLClassLoader {
+
+    ExtensibleClassLoader(URL url) {
+      super(new URL[] {url}, null);
+    }
+
+    @Override
+    public void addURL(URL url) {
+      super.addURL(url);
+    }
+  }
+}
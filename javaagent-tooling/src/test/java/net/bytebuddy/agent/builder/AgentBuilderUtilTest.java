@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.bytebuddy.agent.builder;
+
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.extendsClass;
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface;
+import static java.util.Arrays.asList;
+import static net.bytebuddy.matcher.ElementMatchers.isInterface;
+import static net.bytebuddy.matcher.ElementMatchers.nameEndsWith;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class AgentBuilderUtilTest {
+
+  @Test
+  void namePrefix() throws Exception {
+    AgentBuilderUtil.Result result = inspect(nameStartsWith("com.example."));
+
+    assertThat(result).isNotNull();
+    assertThat(result.subtype).isFalse();
+    assertThat(result.names).isEmpty();
+    assertThat(result.prefixes).containsExactly("com.example.");
+  }
+
+  @Test
+  void emptyNamePrefix() throws Exception {
+    assertThat(inspect(nameStartsWith(""))).isNull();
+  }
+
+  @Test
+  void otherStringMatcherModes() throws Exception {
+    assertThat(inspect(nameEndsWith("Servlet"))).isNull();
+  }
+
+  @Test
+  void disjunctionOfNames() throws Exception {
+    AgentBuilderUtil.Result result =
+        inspect(
+            named("com.example.A")
+                .or(nameStartsWith("com.example.b."))
+                .or(namedOneOf("com.example.C", "com.example.D")));
+
+    assertThat(result).isNotNull();
+    assertThat(result.subtype).isFalse();
+    assertThat(result.names)
+        .containsExactlyInAnyOrder("com.example.A", "com.example.C", "com.example.D");
+    assertThat(result.prefixes).containsExactly("com.example.b.");
+  }
+
+  @Test
+  void disjunctionOfSubtypes() throws Exception {
+    AgentBuilderUtil.Result result =
+        inspect(
+            implementsInterface(named("com.example.Handler"))
+                .or(extendsClass(nameStartsWith("com.example.base."))));
+
+    assertThat(result).isNotNull();
+    assertThat(result.subtype).isTrue();
+    assertThat(result.names).containsExactly("com.example.Handler");
+    assertThat(result.prefixes).containsExactly("com.example.base.");
+  }
+
+  @Test
+  void disjunctionOfNameAndSubtypeIsNotDecomposed() throws Exception {
+    assertThat(inspect(named("com.example.A").or(implementsInterface(named("com.example.I")))))
+        .isNull();
+  }
+
+  @Test
+  void disjunctionWithNonDecomposablePartIsNotDecomposed() throws Exception {
+    assertThat(inspect(named("com.example.A").or(isInterface()))).isNull();
+    assertThat(inspect(isInterface().or(named("com.example.A")))).isNull();
+    assertThat(inspect(named("com.example.A").or(nameEndsWith("Servlet")))).isNull();
+  }
+
+  @Test
+  void conjunctionUsesFirstDecomposablePart() throws Exception {
+    AgentBuilderUtil.Result result = inspect(isInterface().and(named("com.example.A")));
+
+    assertThat(result).isNotNull();
+    assertThat(result.names).containsExactly("com.example.A");
+  }
+
+  @Test
+  void prefilterMatchesSuperTypePrefix() throws Exception {
+    AgentBuilderUtil.Prefilter prefilter =
+        new AgentBuilderUtil.Prefilter(
+            asList(
+                inspect(implementsInterface(nameStartsWith("com.example.api."))),
+                inspect(nameStartsWith("com.example.impl."))));
+
+    assertThat(prefilter.matchesSuperType("com.example.api.Handler")).isTrue();
+    assertThat(prefilter.matchesSuperType("com.example.impl.HandlerImpl")).isFalse();
+    assertThat(prefilter.matchesSuperType("com.other.Handler")).isFalse();
+
+    assertThat(prefilter.matchesName("com.example.api.Handler")).isTrue();
+    assertThat(prefilter.matchesName("com.example.impl.HandlerImpl")).isTrue();
+    assertThat(prefilter.matchesName("com.other.HandlerImpl")).isFalse();
+  }
+
+  private static AgentBuilderUtil.Result inspect(ElementMatcher<? super TypeDescription> matcher)
+      throws Exception {
+    return AgentBuilderUtil.inspect(new AgentBuilder.RawMatcher.ForElementMatchers(matcher));
+  }
+}
@@ -7,15 +7,25 @@ package io.opentelemetry.javaagent.tooling.muzzle;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.bootstrap.VirtualFieldAccessorMarker;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
@@ -33,19 +43,17 @@ import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.JavaModule;
 
 /**
+ * A pool strategy that caches type resolutions per class loader. Every class loader gets its own
+ * partition with a quota of {@link #LOADER_TYPE_CAPACITY} entries, so that a burst of classes
+ * loaded by one class loader (e.g. a web application that is being deployed) can only evict its
+ * own entries, not the hot entries of the other class loaders. The total number of cached entries
+ * is bounded by {@link #TOTAL_TYPE_CAPACITY}, once it is exceeded the least recently used entry of
+ * the partitions is evicted in turn, so that new class loaders can still cache their resolutions.
  *
- *
- * <ul>
- *   There two core parts to the cache...
- *   <li>a cache of ClassLoader to WeakReference&lt;ClassLoader&gt;
- *   <li>a single cache of TypeResolutions for all ClassLoaders - keyed by a custom composite key of
- *       ClassLoader and class name
- * </ul>
- *
- * <p>This design was chosen to create a single limited size cache that can be adjusted for the
- * entire application -- without having to create a large number of WeakReference objects.
- *
- * <p>Eviction is handled through a size restriction
+ * <p>Partitions are only weakly referenced from their class loader, and are dropped as soon as the
+ * class loader is collected. The partition of the boot loader, which also holds the {@code java.*}
+ * types looked up through every other class loader, is a concurrent map, so that these lookups do
+ * not contend on a single lock.
  */
 public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
 
@@ -57,34 +65,40 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
           .getBoolean("otel.instrumentation.internal-reflection.enabled", true);
   private static final Method findLoadedClassMethod = getFindLoadedClassMethod();
 
-  static final int TYPE_CAPACITY = 64;
-
-  static final int BOOTSTRAP_HASH = 7236344; // Just a random number
-
-  /**
-   * Cache of recent ClassLoader WeakReferences; used to...
-   *
-   * <ul>
-   *   <li>Reduced number of WeakReferences created
-   *   <li>Allow for quick fast path equivalence check of composite keys
-   * </ul>
-   */
-  final Cache<ClassLoader, WeakReference<ClassLoader>> loaderRefCache = Cache.weak();
-
-  /**
-   * Single shared Type.Resolution cache -- uses a composite key -- conceptually of loader & name
-   */
-  final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
-      Cache.bounded(TYPE_CAPACITY);
-
-  // fast path for bootstrap
-  final SharedResolutionCacheAdapter bootstrapCacheProvider =
-      new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, sharedResolutionCache);
+  static final int LOADER_TYPE_CAPACITY =
+      InstrumentationConfig.get()
+          .getInt("otel.javaagent.experimental.type-pool-cache.loader-capacity", 16);
+  static final int TOTAL_TYPE_CAPACITY =
+      InstrumentationConfig.get()
+          .getInt("otel.javaagent.experimental.type-pool-cache.total-capacity", 64);
+
+  private static final String OBJECT_NAME = "java.lang.Object";
+  private static final TypePool.Resolution OBJECT_RESOLUTION =
+      new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class));
+
+  final Cache<ClassLoader, LoaderPartition> partitions = Cache.weak();
+  // partitions must stay reachable until their class loader is collected, so that they are
+  // enqueued in collectedLoaders
+  private final Set<LoaderPartition> livePartitions = ConcurrentHashMap.newKeySet();
+  private final ReferenceQueue<ClassLoader> collectedLoaders = new ReferenceQueue<>();
+  // the partitions in the order they give up an entry when the total capacity is exceeded
+  private final ConcurrentLinkedQueue<LoaderPartition> evictionOrder =
+      new ConcurrentLinkedQueue<>();
+
+  final LoaderPartition bootstrapPartition = new BootstrapPartition();
+
+  private final AtomicInteger cachedTypes = new AtomicInteger();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder capacityEvictions = new LongAdder();
+  private final LongAdder droppedPartitions = new LongAdder();
 
   private final AgentLocationStrategy locationStrategy;
 
   public AgentCachingPoolStrategy(AgentLocationStrategy locationStrategy) {
     this.locationStrategy = locationStrategy;
+    evictionOrder.add(bootstrapPartition);
   }
 
   private static Method getFindLoadedClassMethod() {
@@ -146,129 +160,94 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
     return typePool(classFileLocator, classLoader);
   }
 
-  private TypePool.CacheProvider getCacheProvider(ClassLoader classLoader) {
+  TypePool.CacheProvider getCacheProvider(ClassLoader classLoader) {
+    dropCollectedPartitions();
     if (classLoader == null) {
-      return bootstrapCacheProvider;
+      return bootstrapPartition;
     }
+    return partitions.computeIfAbsent(classLoader, this::newPartition);
+  }
 
-    WeakReference<ClassLoader> loaderRef =
-        loaderRefCache.computeIfAbsent(classLoader, WeakReference::new);
+  private LoaderPartition newPartition(ClassLoader classLoader) {
+    LoaderPartition partition = new ClassLoaderPartition(classLoader, collectedLoaders);
+    livePartitions.add(partition);
+    evictionOrder.add(partition);
+    return partition;
+  }
 
-    int loaderHash = System.identityHashCode(classLoader);
-    return new SharedResolutionCacheAdapter(loaderHash, loaderRef, sharedResolutionCache);
+  /** Drops the cached types of collected class loaders, without waiting for them to be evicted. */
+  private void dropCollectedPartitions() {
+    Reference<? extends ClassLoader> reference;
+    while ((reference = collectedLoaders.poll()) != null) {
+      LoaderPartition partition = (LoaderPartition) reference;
+      if (livePartitions.remove(partition)) {
+        evictionOrder.remove(partition);
+        cachedTypes.addAndGet(-partition.size());
+        droppedPartitions.increment();
+      }
+    }
   }
 
   /**
-   * TypeCacheKey is key for the sharedResolutionCache. Conceptually, it is a mix of ClassLoader &
-   * class name.
-   *
-   * <p>For efficiency & GC purposes, it is actually composed of loaderHash &
-   * WeakReference&lt;ClassLoader&gt;
-   *
-   * <p>The loaderHash exists to avoid calling get & strengthening the Reference.
+   * Evicts entries while the total capacity is exceeded, taking the least recently used entry of
+   * every partition in turn.
    */
-  private static final class TypeCacheKey {
-    private final int loaderHash;
-    @Nullable private final WeakReference<ClassLoader> loaderRef;
-    private final String className;
-
-    private final int hashCode;
-
-    TypeCacheKey(int loaderHash, WeakReference<ClassLoader> loaderRef, String className) {
-      // classes in java package are always loaded from boot loader
-      // set loader to boot loader to avoid creating multiple cache entries
-      this.loaderHash = className.startsWith("java.") ? BOOTSTRAP_HASH : loaderHash;
-      this.loaderRef = className.startsWith("java.") ? null : loaderRef;
-      this.className = className;
-
-      hashCode = 31 * this.loaderHash + className.hashCode();
-    }
-
-    @Override
-    public boolean equals(@Nullable Object obj) {
-      if (obj == this) {
-        return true;
-      }
-      if (!(obj instanceof TypeCacheKey)) {
-        return false;
-      }
-
-      TypeCacheKey other = (TypeCacheKey) obj;
-
-      if (loaderHash != other.loaderHash) {
-        return false;
+  private void enforceTotalCapacity() {
+    // every partition is visited at most twice, in case they are all empty
+    int attempts = 2 * (livePartitions.size() + 1);
+    while (cachedTypes.get() > TOTAL_TYPE_CAPACITY && attempts-- > 0) {
+      LoaderPartition partition = evictionOrder.poll();
+      if (partition == null) {
+        return;
       }
-
-      if (!className.equals(other.className)) {
-        return false;
+      if (partition != bootstrapPartition && !livePartitions.contains(partition)) {
+        // dropped concurrently
+        continue;
       }
-
-      // Fastpath loaderRef equivalence -- works because of WeakReference cache used
-      // Also covers the bootstrap null loaderRef case
-      if (loaderRef == other.loaderRef) {
-        return true;
-      } else if (loaderRef == null || other.loaderRef == null) {
-        return false;
+      evictionOrder.add(partition);
+      if (partition.evictEldest()) {
+        capacityEvictions.increment();
       }
+    }
+  }
 
-      // need to perform a deeper loader check -- requires calling Reference.get
-      // which can strengthen the Reference, so deliberately done last
-
-      // If either reference has gone null, they aren't considered equivalent
-      // Technically, this is a bit of violation of equals semantics, since
-      // two equivalent references can become not equivalent.
-
-      // In this case, it is fine because that means the ClassLoader is no
-      // longer live, so the entries will never match anyway and will fall
-      // out of the cache.
-      ClassLoader thisLoader = loaderRef.get();
-      if (thisLoader == null) {
-        return false;
-      }
+  /** Returns the number of resolutions found in the cache. */
+  public long getCacheHits() {
+    return hits.sum();
+  }
 
-      ClassLoader otherLoader = other.loaderRef.get();
-      if (otherLoader == null) {
-        return false;
-      }
+  /** Returns the number of resolutions that were not found in the cache. */
+  public long getCacheMisses() {
+    return misses.sum();
+  }
 
-      return thisLoader == otherLoader;
-    }
+  /** Returns the number of resolutions evicted because their class loader exceeded its quota. */
+  public long getCacheEvictions() {
+    return evictions.sum();
+  }
 
-    @Override
-    public int hashCode() {
-      return hashCode;
-    }
+  /** Returns the number of resolutions evicted because the total capacity was exceeded. */
+  public long getCacheCapacityEvictions() {
+    return capacityEvictions.sum();
+  }
 
-    @Override
-    public String toString() {
-      return "TypeCacheKey{"
-          + "loaderHash="
-          + loaderHash
-          + ", loaderRef="
-          + loaderRef
-          + ", className='"
-          + className
-          + '\''
-          + '}';
-    }
+  /** Returns the number of class loaders whose cached resolutions were dropped after collection. */
+  public long getDroppedPartitions() {
+    return droppedPartitions.sum();
   }
 
-  private static final class SharedResolutionCacheAdapter implements TypePool.CacheProvider {
-    private static final String OBJECT_NAME = "java.lang.Object";
-    private static final TypePool.Resolution OBJECT_RESOLUTION =
-        new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class));
+  /** Returns the number of currently cached resolutions. */
+  public int getCachedTypes() {
+    return cachedTypes.get();
+  }
 
-    private final int loaderHash;
-    private final WeakReference<ClassLoader> loaderRef;
-    private final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache;
+  /** The cached type resolutions of a single class loader. */
+  abstract class LoaderPartition extends WeakReference<ClassLoader>
+      implements TypePool.CacheProvider {
 
-    SharedResolutionCacheAdapter(
-        int loaderHash,
-        WeakReference<ClassLoader> loaderRef,
-        Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache) {
-      this.loaderHash = loaderHash;
-      this.loaderRef = loaderRef;
-      this.sharedResolutionCache = sharedResolutionCache;
+    LoaderPartition(
+        @Nullable ClassLoader classLoader, @Nullable ReferenceQueue<ClassLoader> queue) {
+      super(classLoader, queue);
     }
 
     @Override
@@ -282,17 +261,17 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
       // being defined. For example if another agent adds an interface to the class then returning
       // the cached description that does not have that interface would result in bytebuddy removing
       // that interface.
-      if (AgentTooling.isTransforming(loaderRef != null ? loaderRef.get() : null, className)) {
+      if (AgentTooling.isTransforming(get(), className)) {
         return null;
       }
 
-      TypePool.Resolution existingResolution =
-          sharedResolutionCache.get(new TypeCacheKey(loaderHash, loaderRef, className));
+      TypePool.Resolution existingResolution = partitionFor(className).get(className);
       if (existingResolution != null) {
-        return existingResolution;
+        hits.increment();
+      } else {
+        misses.increment();
       }
-
-      return null;
+      return existingResolution;
     }
 
     @Override
@@ -301,9 +280,22 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
       if (OBJECT_NAME.equals(className)) {
         return resolution;
       }
+      return partitionFor(className).putIfAbsent(className, resolution);
+    }
 
-      sharedResolutionCache.put(new TypeCacheKey(loaderHash, loaderRef, className), resolution);
-      return resolution;
+    abstract TypePool.Resolution get(String className);
+
+    abstract TypePool.Resolution putIfAbsent(String className, TypePool.Resolution resolution);
+
+    /** Evicts the least recently used entry, returns false if the partition is empty. */
+    abstract boolean evictEldest();
+
+    abstract int size();
+
+    private LoaderPartition partitionFor(String className) {
+      // classes in java package are always loaded from boot loader
+      // use the boot loader partition to avoid creating multiple cache entries
+      return className.startsWith("java.") ? bootstrapPartition : this;
     }
 
     @Override
@@ -312,6 +304,129 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
     }
   }
 
+  /**
+   * The partition of an application class loader. The resolutions are kept in a small access
+   * ordered map guarded by its own lock, which is cheap to create for every class loader.
+   */
+  final class ClassLoaderPartition extends LoaderPartition {
+    private final LinkedHashMap<String, TypePool.Resolution> resolutions =
+        new LinkedHashMap<>(16, 0.75f, /* accessOrder= */ true);
+
+    ClassLoaderPartition(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+      super(classLoader, queue);
+    }
+
+    @Override
+    TypePool.Resolution get(String className) {
+      synchronized (resolutions) {
+        return resolutions.get(className);
+      }
+    }
+
+    @Override
+    TypePool.Resolution putIfAbsent(String className, TypePool.Resolution resolution) {
+      boolean evicted = false;
+      synchronized (resolutions) {
+        TypePool.Resolution existingResolution = resolutions.get(className);
+        if (existingResolution != null) {
+          return existingResolution;
+        }
+        resolutions.put(className, resolution);
+        if (resolutions.size() > LOADER_TYPE_CAPACITY) {
+          removeEldest();
+          evicted = true;
+        }
+      }
+      if (evicted) {
+        evictions.increment();
+      } else {
+        cachedTypes.incrementAndGet();
+        enforceTotalCapacity();
+      }
+      return resolution;
+    }
+
+    @Override
+    boolean evictEldest() {
+      synchronized (resolutions) {
+        if (resolutions.isEmpty()) {
+          return false;
+        }
+        removeEldest();
+      }
+      cachedTypes.decrementAndGet();
+      return true;
+    }
+
+    // must be called while holding the lock
+    private void removeEldest() {
+      Iterator<TypePool.Resolution> iterator = resolutions.values().iterator();
+      iterator.next();
+      iterator.remove();
+    }
+
+    @Override
+    int size() {
+      synchronized (resolutions) {
+        return resolutions.size();
+      }
+    }
+  }
+
+  /**
+   * The partition of the boot loader. Unlike the partitions of the other class loaders it is
+   * looked up by all threads that load classes, so the resolutions are kept in a concurrent map
+   * whose reads do not take a lock.
+   */
+  final class BootstrapPartition extends LoaderPartition {
+    private final ConcurrentLinkedHashMap<String, TypePool.Resolution> resolutions =
+        new ConcurrentLinkedHashMap.Builder<String, TypePool.Resolution>()
+            .maximumWeightedCapacity(LOADER_TYPE_CAPACITY)
+            .listener(
+                (className, resolution) -> {
+                  cachedTypes.decrementAndGet();
+                  evictions.increment();
+                })
+            .build();
+
+    BootstrapPartition() {
+      super(null, null);
+    }
+
+    @Override
+    TypePool.Resolution get(String className) {
+      return resolutions.get(className);
+    }
+
+    @Override
+    TypePool.Resolution putIfAbsent(String className, TypePool.Resolution resolution) {
+      TypePool.Resolution existingResolution = resolutions.putIfAbsent(className, resolution);
+      if (existingResolution != null) {
+        return existingResolution;
+      }
+      cachedTypes.incrementAndGet();
+      enforceTotalCapacity();
+      return resolution;
+    }
+
+    @Override
+    boolean evictEldest() {
+      // only called when the total capacity is exceeded, walking the map in order is acceptable
+      for (String className : resolutions.ascendingKeySetWithLimit(1)) {
+        if (resolutions.remove(className) != null) {
+          cachedTypes.decrementAndGet();
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    int size() {
+      return resolutions.size();
+    }
+  }
+
   /** Based on TypePool.Default.WithLazyResolution */
   private class AgentTypePool extends TypePool.Default {
     // ThreadLocal used for detecting loading of annotation types
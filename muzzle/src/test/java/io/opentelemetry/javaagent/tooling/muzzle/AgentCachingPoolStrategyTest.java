@@ -7,13 +7,19 @@ package io.opentelemetry.javaagent.tooling.muzzle;
 
 import static net.bytebuddy.matcher.ElementMatchers.declaresMethod;
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.opentelemetry.instrumentation.test.utils.GcUtils;
 import io.opentelemetry.test.AnnotatedTestClass;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.pool.TypePool;
@@ -61,4 +67,95 @@ class AgentCachingPoolStrategyTest {
         declaresMethod(isAnnotatedWith(AnnotatedTestClass.TestAnnotation.class))
             .matches(typeDescription));
   }
+
+  @Test
+  void burstInOneClassLoaderDoesNotEvictOtherClassLoaders() {
+    AgentCachingPoolStrategy poolStrategy = new AgentCachingPoolStrategy(null);
+    ClassLoader hotLoader = newClassLoader();
+    ClassLoader burstLoader = newClassLoader();
+
+    TypePool.CacheProvider hotCache = poolStrategy.getCacheProvider(hotLoader);
+    hotCache.register("hot.Type", newResolution());
+    TypePool.CacheProvider burstCache = poolStrategy.getCacheProvider(burstLoader);
+    for (int i = 0; i < AgentCachingPoolStrategy.LOADER_TYPE_CAPACITY * 2; i++) {
+      burstCache.register("burst.Type" + i, newResolution());
+    }
+
+    assertThat(hotCache.find("hot.Type")).isNotNull();
+    assertThat(poolStrategy.getCacheEvictions()).isGreaterThan(0);
+    assertThat(poolStrategy.getCachedTypes())
+        .isLessThanOrEqualTo(AgentCachingPoolStrategy.LOADER_TYPE_CAPACITY + 1);
+  }
+
+  @Test
+  void newClassLoaderCanCacheWhenTotalCapacityIsExceeded() {
+    AgentCachingPoolStrategy poolStrategy = new AgentCachingPoolStrategy(null);
+    int loaders =
+        AgentCachingPoolStrategy.TOTAL_TYPE_CAPACITY / AgentCachingPoolStrategy.LOADER_TYPE_CAPACITY
+            + 4;
+    // keep the class loaders reachable until the end of the test
+    List<ClassLoader> classLoaders = new ArrayList<>();
+    for (int i = 0; i < loaders; i++) {
+      ClassLoader loader = newClassLoader();
+      classLoaders.add(loader);
+      TypePool.CacheProvider cache = poolStrategy.getCacheProvider(loader);
+      for (int j = 0; j < AgentCachingPoolStrategy.LOADER_TYPE_CAPACITY; j++) {
+        cache.register("loader" + i + ".Type" + j, newResolution());
+      }
+    }
+
+    ClassLoader newLoader = newClassLoader();
+    TypePool.CacheProvider newCache = poolStrategy.getCacheProvider(newLoader);
+    newCache.register("new.Type", newResolution());
+
+    assertThat(newCache.find("new.Type")).isNotNull();
+    assertThat(poolStrategy.getCacheCapacityEvictions()).isGreaterThan(0);
+    assertThat(poolStrategy.getCachedTypes())
+        .isLessThanOrEqualTo(AgentCachingPoolStrategy.TOTAL_TYPE_CAPACITY);
+    assertThat(classLoaders).hasSize(loaders);
+  }
+
+  @Test
+  void javaTypesAreCachedInBootstrapPartition() {
+    AgentCachingPoolStrategy poolStrategy = new AgentCachingPoolStrategy(null);
+    TypePool.CacheProvider cache = poolStrategy.getCacheProvider(newClassLoader());
+    cache.register("java.util.List", newResolution());
+
+    assertThat(poolStrategy.getCacheProvider(newClassLoader()).find("java.util.List")).isNotNull();
+    assertThat(poolStrategy.getCacheProvider(null).find("java.util.List")).isNotNull();
+    assertThat(poolStrategy.getCachedTypes()).isEqualTo(1);
+
+    for (int i = 0; i < AgentCachingPoolStrategy.TOTAL_TYPE_CAPACITY * 2; i++) {
+      poolStrategy.getCacheProvider(null).register("java.Type" + i, newResolution());
+    }
+    assertThat(poolStrategy.getCacheEvictions()).isGreaterThan(0);
+  }
+
+  @Test
+  void dropsPartitionOfCollectedClassLoader() throws InterruptedException {
+    AgentCachingPoolStrategy poolStrategy = new AgentCachingPoolStrategy(null);
+    ClassLoader loader = newClassLoader();
+    poolStrategy.getCacheProvider(loader).register("foo.Bar", newResolution());
+    assertThat(poolStrategy.getCachedTypes()).isEqualTo(1);
+
+    WeakReference<ClassLoader> loaderRef = new WeakReference<>(loader);
+    loader = null;
+    GcUtils.awaitGc(loaderRef);
+    // collected partitions are dropped on the next lookup
+    for (int i = 0; i < 100 && poolStrategy.getDroppedPartitions() == 0; i++) {
+      poolStrategy.getCacheProvider(null);
+      Thread.sleep(10);
+    }
+
+    assertThat(poolStrategy.getDroppedPartitions()).isEqualTo(1);
+    assertThat(poolStrategy.getCachedTypes()).isEqualTo(0);
+  }
+
+  private static TypePool.Resolution newResolution() {
+    return new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(void.class));
+  }
+
+  private static ClassLoader newClassLoader() {
+    return new URLClassLoader(new URL[0], null);
+  }
 }